@@ -0,0 +1,102 @@
+package graph.benchmark;
+
+import graph.GraphKind;
+import graph.graphImpl.ConcurrentGraph;
+import graph.graphImpl.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并发图的基准测试（JMH）
+ * 多个线程同时加入弧/边，衡量条带锁下的吞吐量随线程数的伸缩；混合组在加入弧/边的同时查询连通性，
+ * 衡量并查集查询对写入的影响。每轮迭代前由GraphGenerator重新建图，各线程的弧/边端点由各自的随机数生成。
+ *
+ * 用法：mvn -P jmh package，然后 java -jar target/benchmarks.jar ConcurrentGraphBenchmark [JMH参数]
+ * <pre>
+ * ConcurrentGraphBenchmark.addEdgeByIndex            以@Threads指定的线程数加入弧/边，-t 1,2,4,8分别运行即可比较伸缩性
+ * ConcurrentGraphBenchmark.addEdgeByIndexAlone       单线程基准
+ * ConcurrentGraphBenchmark.mixed                     3个线程加入弧/边、1个线程查询isConnected与getComponentNum（有向图的isConnected另需搜索路径）
+ * -p size=4096,65536 -p kind=UDG -p stripes=64       顶点数、图类型、条带数
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+    @Param({"4096", "65536"})
+    public int size;
+    @Param({"DG", "UDG"})
+    public GraphKind kind;
+    @Param("64")
+    public int stripes;
+    @Param("2")
+    public int degree;
+    @Param("42")
+    public long seed;
+
+    private ConcurrentGraph<Integer, Integer, Object> graph;
+    private final AtomicInteger threadSeeds = new AtomicInteger();
+
+    /**
+     * 每轮迭代重新建图，使弧/边数不随测试时间无限增长；先查询一次分量数，使并查集在写入开始前已经建立
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        GraphBuilder<Integer, Integer, Object> builder = GraphGenerator.random(kind, size, degree, seed);
+        graph = new ConcurrentGraph<>(kind, stripes);
+        for (int i = 0; i < size; i++)
+            graph.addVertex(i);
+        builder.buildAdjacencyList().getEdges().forEach(edge -> graph.addEdgeByIndex(edge.getTailIndex(), edge.getHeadIndex()));
+        graph.getComponentNum();
+    }
+
+    /**
+     * 每个线程各自的随机数，避免线程之间共享Random
+     */
+    @State(Scope.Thread)
+    public static class Endpoints {
+        Random random;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrentGraphBenchmark fixture) {
+            random = new Random(fixture.seed + fixture.threadSeeds.incrementAndGet());
+        }
+    }
+
+    private Object addEdge(Endpoints endpoints) {
+        return graph.addEdgeByIndex(endpoints.random.nextInt(size), endpoints.random.nextInt(size));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object addEdgeByIndex(Endpoints endpoints) {
+        return addEdge(endpoints);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object addEdgeByIndexAlone(Endpoints endpoints) {
+        return addEdge(endpoints);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Object mixedAddEdge(Endpoints endpoints) {
+        return addEdge(endpoints);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public int mixedQuery(Endpoints endpoints) {
+        boolean connected = graph.isConnected(endpoints.random.nextInt(size), endpoints.random.nextInt(size));
+        return graph.getComponentNum() + (connected ? 1 : 0);
+    }
+}
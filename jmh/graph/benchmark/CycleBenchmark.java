@@ -0,0 +1,47 @@
+package graph.benchmark;
+
+import graph.Graph;
+import graph.GraphKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 求所有简单回路的基准测试（JMH）
+ * 简单回路的数量随规模指数增长，getCycles只在很小的图上测试，其余参数与GraphBenchmark相同。
+ *
+ * 用法：mvn -P jmh package，然后 java -jar target/benchmarks.jar CycleBenchmark [JMH参数]
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CycleBenchmark {
+    @Param({"RANDOM", "POWER_LAW", "GRID"})
+    public GraphBenchmark.Shape shape;
+    @Param({"8", "16"})
+    public int size;
+    @Param({"MATRIX", "BIT_MATRIX", "CSR", "ADJACENCY_LIST"})
+    public GraphBenchmark.Implementation impl;
+    @Param("DG")
+    public GraphKind kind;
+    @Param("3")
+    public int degree;
+    @Param("42")
+    public long seed;
+
+    private Graph<Integer, Integer, Object> graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        impl.check(kind, size);
+        graph = impl.build(shape.generate(kind, size, degree, seed));
+    }
+
+    @Benchmark
+    public int getCycles() {
+        return graph.getCycles().size();
+    }
+}
@@ -0,0 +1,229 @@
+package graph.benchmark;
+
+import graph.Graph;
+import graph.GraphKind;
+import graph.graphImpl.GraphBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 图操作的基准测试（JMH）
+ * 在随机图、幂律图、网格图的若干规模上，分别对各个Graph实现测量常用操作的平均耗时（ns/op）。
+ * 每组参数由GraphGenerator生成一次图，只读操作共用这张图；
+ * 修改性操作在每次调用前由Fresh重新建图，建图时间不计入结果。
+ * 成批执行的操作按@OperationsPerInvocation折算为单次操作的耗时。
+ *
+ * 用法：mvn -P jmh package，然后 java -jar target/benchmarks.jar GraphBenchmark [JMH参数]
+ * <pre>
+ * -p shape=RANDOM,POWER_LAW,GRID                     图的形状
+ * -p size=16,1024,4096                               顶点数（网格图取不超过size的完全平方数）
+ * -p impl=MATRIX,BIT_MATRIX,CSR,ADJACENCY_LIST       参与测试的实现（BIT_MATRIX只支持DG/UDG）
+ * -p kind=DG -p degree=3 -p seed=42                  图类型、平均每个顶点登记的弧/边数、随机种子
+ * GraphBenchmark.hasPath                             只测试指定的操作
+ * -rf csv -rff result.csv                            输出结果
+ * </pre>
+ * 超出实现所支持规模或类型的参数组合在建图时失败，JMH跳过该组合继续测试其余组合。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+    private static final int ADD_VERTEX_BATCH = 100;
+    private static final int ADD_EDGE_BATCH = 1000;
+    private static final int DELETE_VERTEX_BATCH = 10;
+    private static final int ADJACENT_BATCH = 1000;
+    private static final int PATH_BATCH = 10;
+
+    public enum Shape {
+        RANDOM, POWER_LAW, GRID;
+
+        GraphBuilder<Integer, Integer, Object> generate(GraphKind graphKind, int vertexNum, int degree, long seed) {
+            switch (this) {
+                case RANDOM:
+                    return GraphGenerator.random(graphKind, vertexNum, degree, seed);
+                case POWER_LAW:
+                    return GraphGenerator.powerLaw(graphKind, vertexNum, degree, seed);
+                default:
+                    return GraphGenerator.grid(graphKind, Math.max(1, (int) Math.sqrt(vertexNum)), seed);
+            }
+        }
+    }
+
+    public enum Implementation {
+        /**
+         * 邻接矩阵的空间为O(V²)，只在较小的规模上测试
+         */
+        MATRIX(4096), BIT_MATRIX(65536), CSR(Integer.MAX_VALUE), ADJACENCY_LIST(Integer.MAX_VALUE);
+
+        final int maxVertexNum;
+
+        Implementation(int maxVertexNum) {
+            this.maxVertexNum = maxVertexNum;
+        }
+
+        void check(GraphKind graphKind, int vertexNum) {
+            if (vertexNum > maxVertexNum)
+                throw new IllegalArgumentException(this + "只在不超过" + maxVertexNum + "个顶点的规模上测试：" + vertexNum);
+            if (this == BIT_MATRIX && (graphKind == GraphKind.DN || graphKind == GraphKind.UDN))
+                throw new IllegalArgumentException("位矩阵只支持DG/UDG：" + graphKind);
+        }
+
+        Graph<Integer, Integer, Object> build(GraphBuilder<Integer, Integer, Object> builder) {
+            switch (this) {
+                case MATRIX:
+                    return builder.buildAdjacentMatrix();
+                case BIT_MATRIX:
+                    return builder.buildBitMatrix();
+                case CSR:
+                    return builder.buildCSR();
+                default:
+                    return builder.buildAdjacencyList();
+            }
+        }
+    }
+
+    @Param({"RANDOM", "POWER_LAW", "GRID"})
+    public Shape shape;
+    @Param({"16", "1024", "4096"})
+    public int size;
+    @Param({"MATRIX", "BIT_MATRIX", "CSR", "ADJACENCY_LIST"})
+    public Implementation impl;
+    @Param("DG")
+    public GraphKind kind;
+    @Param("3")
+    public int degree;
+    @Param("42")
+    public long seed;
+
+    private GraphBuilder<Integer, Integer, Object> builder;
+    private Graph<Integer, Integer, Object> graph;
+    /**
+     * 预先生成的随机顶点索引值，第k次操作的参数为a[k]、b[k]
+     */
+    private int[] a, b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        impl.check(kind, size);
+        builder = shape.generate(kind, size, degree, seed);
+        graph = impl.build(builder);
+        int n = graph.getVertexNum();
+        Random random = new Random(seed);
+        a = new int[ADD_EDGE_BATCH];
+        b = new int[ADD_EDGE_BATCH];
+        for (int k = 0; k < ADD_EDGE_BATCH; k++) {
+            a[k] = random.nextInt(n);
+            b[k] = random.nextInt(n);
+        }
+    }
+
+    /**
+     * 修改性操作所用的图，每次调用前重新建立
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        Graph<Integer, Integer, Object> graph;
+
+        @Setup(Level.Invocation)
+        public void build(GraphBenchmark fixture) {
+            graph = fixture.impl.build(fixture.builder);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADD_VERTEX_BATCH)
+    public long addVertex(Fresh fresh) {
+        long sum = 0;
+        for (int k = 0; k < ADD_VERTEX_BATCH; k++)
+            sum += fresh.graph.addVertex(a[k]) ? 1 : 0;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADD_EDGE_BATCH)
+    public long addEdgeByIndex(Fresh fresh) {
+        Graph<Integer, Integer, Object> graph = fresh.graph;
+        long sum = 0;
+        for (int k = 0; k < ADD_EDGE_BATCH; k++)
+            sum += graph.addEdgeByIndex(a[k], b[k], graph.isNetwork() ? k : null, null) == null ? 0 : 1;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADD_EDGE_BATCH)
+    public int addEdgesByIndexes(Fresh fresh) {
+        Set<int[]> indexes = new HashSet<>();
+        for (int k = 0; k < ADD_EDGE_BATCH; k++)
+            indexes.add(new int[]{a[k], b[k]});
+        return fresh.graph.addEdgesByIndexes(indexes).size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DELETE_VERTEX_BATCH)
+    public long deleteVertex(Fresh fresh) {
+        Graph<Integer, Integer, Object> graph = fresh.graph;
+        long sum = 0;
+        for (int k = 0; k < DELETE_VERTEX_BATCH && graph.getVertexNum() > 0; k++)
+            sum += graph.deleteVertex(a[k] % graph.getVertexNum());
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ADJACENT_BATCH)
+    public long getOutAdjacentVertexIndexes() {
+        long sum = 0;
+        for (int k = 0; k < ADJACENT_BATCH; k++)
+            sum += graph.getOutAdjacentVertexIndexes(a[k]).size();
+        return sum;
+    }
+
+    @Benchmark
+    public int DFSTraverse() {
+        return graph.DFSTraverse().size();
+    }
+
+    @Benchmark
+    public int BFSTraverse() {
+        return graph.BFSTraverse().size();
+    }
+
+    @Benchmark
+    public int directionOptimizingBFSTraverse() {
+        return graph.directionOptimizingBFSTraverse().size();
+    }
+
+    @Benchmark
+    public int parallelBFSTraverse() {
+        return graph.parallelBFSTraverse().size();
+    }
+
+    @Benchmark
+    public int getBFSLevels() {
+        return graph.getBFSLevels(a[0]).length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PATH_BATCH)
+    public long hasPath() {
+        long sum = 0;
+        for (int k = 0; k < PATH_BATCH; k++)
+            sum += graph.hasPath(a[k], b[k]) ? 1 : 0;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PATH_BATCH)
+    public long isConnected() {
+        long sum = 0;
+        for (int k = 0; k < PATH_BATCH; k++)
+            sum += graph.isConnected(a[k], b[k]) ? 1 : 0;
+        return sum;
+    }
+}
@@ -2,6 +2,9 @@ package graph;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 /**
  * 数据结构-图
@@ -100,16 +103,153 @@ public interface Graph<E, T, V> {
 
     Set<Integer> getAdjacentVertexIndexes(int index);
 
+    /**
+     * 依次处理顶点的出邻接点索引值（不含自身，无向图即为全部邻接点），
+     * 与getOutAdjacentVertexIndexes不同，该方法不创建任何集合，也不装箱
+     *
+     * @param index  顶点索引值
+     * @param action 对每个出邻接点索引值执行的操作
+     */
+    void forEachOutAdjacentVertexIndex(int index, IntConsumer action);
+
+    /**
+     * 依次处理顶点的入邻接点索引值（不含自身，无向图即为全部邻接点）
+     *
+     * @param index  顶点索引值
+     * @param action 对每个入邻接点索引值执行的操作
+     */
+    void forEachInAdjacentVertexIndex(int index, IntConsumer action);
+
+    /**
+     * 以游标的方式遍历出邻接点，游标只是一个int，遍历过程中不产生任何对象：
+     * <pre>
+     * for (int c = graph.nextOutAdjacentCursor(v, -1); c != -1; c = graph.nextOutAdjacentCursor(v, c))
+     *     int w = graph.getOutAdjacentVertexIndexAt(v, c);
+     * </pre>
+     * 游标的具体含义由实现类决定，遍历期间不允许修改图
+     *
+     * @param index  顶点索引值
+     * @param cursor 当前游标，-1表示从头开始
+     * @return 下一个出邻接点的游标，-1表示遍历结束
+     */
+    int nextOutAdjacentCursor(int index, int cursor);
+
+    /**
+     * @param index  顶点索引值
+     * @param cursor 由nextOutAdjacentCursor返回的游标
+     * @return 游标对应的出邻接点索引值
+     */
+    int getOutAdjacentVertexIndexAt(int index, int cursor);
+
+    /**
+     * 以游标的方式遍历入邻接点，用法与nextOutAdjacentCursor相同
+     *
+     * @param index  顶点索引值
+     * @param cursor 当前游标，-1表示从头开始
+     * @return 下一个入邻接点的游标，-1表示遍历结束
+     */
+    int nextInAdjacentCursor(int index, int cursor);
+
+    /**
+     * @param index  顶点索引值
+     * @param cursor 由nextInAdjacentCursor返回的游标
+     * @return 游标对应的入邻接点索引值
+     */
+    int getInAdjacentVertexIndexAt(int index, int cursor);
+
+    /**
+     * 以double的形式返回弧/边的权值，供与权值有关的算法使用，
+     * 以原始类型存放权值的实现类读取时既不装箱也不生成Edge对象
+     *
+     * @param index1 弧尾索引值
+     * @param index2 弧头索引值
+     * @return 网返回权值（null权值为NaN），非网返回1
+     */
+    double getWeightAsDouble(int index1, int index2);
+
+    /**
+     * 游标对应的出弧/边的权值，与getOutAdjacentVertexIndexAt配合使用
+     *
+     * @param index  顶点索引值
+     * @param cursor 由nextOutAdjacentCursor返回的游标
+     * @return 网返回权值（null权值为NaN），非网返回1
+     */
+    double getOutAdjacentWeightAt(int index, int cursor);
+
     List<List<Integer>> DFSTraverse();
 
     List<List<Integer>> BFSTraverse();
 
+    /**
+     * 方向优化的广度优先遍历，前沿较大时由未访问的顶点反向检查入弧，
+     * 分组与BFSTraverse相同，同一分组内的顺序可能不同
+     */
+    List<List<Integer>> directionOptimizingBFSTraverse();
+
+    /**
+     * 在公共ForkJoinPool上以其并行度执行的parallelBFSTraverse
+     */
+    List<List<Integer>> parallelBFSTraverse();
+
+    /**
+     * 逐层同步的并行广度优先遍历，分组与BFSTraverse相同，同一层内的顺序不确定
+     * 遍历期间不能修改图
+     *
+     * @param pool        执行扩展任务的线程池
+     * @param parallelism 每一层至多切分的任务数
+     */
+    List<List<Integer>> parallelBFSTraverse(ForkJoinPool pool, int parallelism);
+
+    /**
+     * 从index出发按层广度优先搜索（方向优化），在有向图中具有方向性
+     *
+     * @param index 起点索引值
+     * @return 各顶点所在的层，即到index的最少弧/边数，不可达为-1
+     */
+    int[] getBFSLevels(int index);
+
     boolean isDirectedGraph();
 
     boolean isCompletedGraph();
 
     boolean isConnectedGraph();
 
+    /**
+     * @return 连通分量数（有向图为弱连通分量数）
+     */
+    int getComponentNum();
+
+    /**
+     * 连通性由并查集跟踪：首次查询时建立，新增弧/边、追加顶点时增量合并，
+     * 删除弧/边或顶点后在下一次查询时重新建立；
+     * 编号缓存到下一次修改为止，每次调用返回缓存的副本，调用者可以任意修改
+     *
+     * @return 各顶点所在的连通分量（有向图为弱连通分量）的编号，从0开始连续编号
+     */
+    int[] getComponentLabels();
+
+    /**
+     * 拓扑排序，只用于有向图，存在环时抛出异常
+     *
+     * @return 拓扑序列：若存在弧<u,v>，则u排在v之前
+     */
+    int[] getTopologicalOrder();
+
+    /**
+     * @return 各顶点所在强连通分量的编号，按缩点DAG的拓扑顺序从0开始连续编号
+     */
+    int[] getStronglyConnectedComponents();
+
+    /**
+     * @return true表示任意两个顶点之间互相可达（只有一个强连通分量）
+     */
+    boolean isStronglyConnectedGraph();
+
+    /**
+     * @return 缩点DAG，顶点值为强连通分量的编号
+     */
+    Graph<Integer, Object, Object> getCondensation();
+
     boolean isEmptyGraph();
 
     boolean isNetwork();
@@ -134,6 +274,26 @@ public interface Graph<E, T, V> {
 
     List<List<Integer>> getCycles();
 
+    /**
+     * 惰性枚举index1到index2的简单路径，顺序与getPaths相同，每条路径在被消费时才搜索出来，
+     * 占用的空间只与当前路径的长度有关，与结果的数量无关。枚举期间不能修改图
+     *
+     * @param maxCount  至多返回的路径数，<=0表示不限
+     * @param maxLength 路径至多包含的弧/边数，<=0表示不限
+     * @param timeout   时间预算（毫秒），超时后枚举结束，<=0表示不限
+     */
+    Stream<List<Integer>> getPathStream(int index1, int index2, long maxCount, int maxLength, long timeout);
+
+    /**
+     * 惰性枚举经过index的简单回路，顺序与getCycles(index)相同，参数同getPathStream
+     */
+    Stream<List<Integer>> getCycleStream(int index, long maxCount, int maxLength, long timeout);
+
+    /**
+     * 惰性枚举以每个顶点为起点的简单回路，顺序与getCycles()相同，参数同getPathStream
+     */
+    Stream<List<Integer>> getCycleStream(long maxCount, int maxLength, long timeout);
+
     Edge<T, V> getLoop(int index);
 
     boolean hasLoop(int index);
@@ -142,4 +302,46 @@ public interface Graph<E, T, V> {
 
     boolean isConnected(int index1, int index2);
 
+    /**
+     * 单源最短路径（Dijkstra）：网按权值计算，非网按弧/边数计算，权值必须为非负数
+     *
+     * @param index 源点索引值
+     * @return 源点到各顶点的最短距离，不可达的顶点为Double.POSITIVE_INFINITY
+     */
+    double[] getShortestDistances(int index);
+
+    /**
+     * 两点间的最短距离，到达终点后即停止搜索
+     *
+     * @param index1 起点索引值
+     * @param index2 终点索引值
+     * @return 最短距离，不可达为Double.POSITIVE_INFINITY
+     */
+    double getShortestDistance(int index1, int index2);
+
+    /**
+     * 两点间的最短路径，到达终点后即停止搜索
+     *
+     * @param index1 起点索引值
+     * @param index2 终点索引值
+     * @return 路径经过的顶点索引值（起点与终点相同时只含起点），不可达返回空集合
+     */
+    List<Integer> getShortestPath(int index1, int index2);
+
+    /**
+     * 只读快照：与当前版本的内容相同，之后对图的修改不会反映到快照中
+     * 快照可以被任意多个线程不加锁地并发查询；生成快照需要与对图的修改串行（通常由写线程在一批修改之后调用），
+     * 生成的快照同时作为最新版本原子地发布，读线程通过latestSnapshot取得
+     *
+     * @return 不可变的图，修改它的方法抛出UnsupportedOperationException
+     */
+    Graph<E, T, V> snapshot();
+
+    /**
+     * 最近一次由snapshot发布的快照，任何线程都可以不加锁地调用，不会读取图本身
+     *
+     * @return 不可变的图，尚未发布过快照时返回null
+     */
+    Graph<E, T, V> latestSnapshot();
+
 }
@@ -0,0 +1,1274 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 图-骨架实现类
+ * 与存储结构无关的遍历、路径、最短路径、回路/环、连通性等算法统一放在这里，
+ * 具体的存储结构（邻接矩阵、CSR等）只需实现顶点与弧/边的增删改查。
+ *
+ * 线程安全：只读查询可以被多个线程同时调用，修改图与查询之间需要外部同步（或使用ConcurrentGraph）。
+ * 遍历所需的辅助空间从TraversalContext借出；并查集、强连通分量编号、拓扑顺序等缓存在首次查询时建立，
+ * 以volatile字段发布，并发的首次查询可能各自建立一份（结果相同，以最后写入的为准），建立后的查询不写入共享状态。
+ * snapshot会更新快照的版本跟踪，不属于只读查询；它发布的快照由latestSnapshot以volatile字段交给任意线程。
+ *
+ * @param <E> 顶点类型
+ * @param <T> 弧/边权值类型
+ * @param <V> 弧/边信息类型
+ */
+public abstract class AbstractGraph<E, T, V> implements Graph<E, T, V> {
+    /**
+     * 图的种类标志
+     * （遍历所需的辅助空间由每次查询从TraversalContext借出，图对象上不保存任何遍历状态）
+     */
+    protected final GraphKind graphKind;
+    /**
+     * 顶点值到索引值的哈希索引（可选，为null时按顺序查找）
+     */
+    private VertexIndex<E> vertexIndex;
+    /**
+     * 连通性跟踪（首次查询时建立，随新增弧/边、追加顶点增量更新，为null表示需要重新建立）
+     */
+    private volatile ConnectivityTracker connectivity;
+    /**
+     * 有向图强连通分量的编号（按缩点DAG的拓扑顺序，供isConnected使用），为null表示需要重新求出
+     * 新增的弧若从编号较小（或相同）的分量指向编号较大的分量，则分量与编号都不变，其余修改丢弃后重新求出
+     */
+    private volatile int[] strongComponents;
+    /**
+     * 是否维护拓扑顺序（可选，只用于有向图）
+     */
+    private boolean topologicalOrderMaintained;
+    /**
+     * 维护中的拓扑顺序，为null表示需要重新建立
+     */
+    private volatile TopologicalOrder topologicalOrder;
+    /**
+     * 快照的版本跟踪（首次生成快照时建立，为null表示下一次需要重新读出整个图）
+     */
+    private SnapshotTracker<E, T, V> snapshots;
+    /**
+     * 最近一次发布的快照（版本跟踪被丢弃时仍然保留，直到下一次发布）
+     */
+    private volatile Graph<E, T, V> latestSnapshot;
+
+    protected AbstractGraph(@NotNull GraphKind graphKind) {
+        this.graphKind = graphKind;
+    }
+
+    /**
+     * 判断顶点索引值是否越界;
+     * 越界抛出运行时异常
+     *
+     * @param index 顶点索引值
+     */
+    protected void rangeCheck(int index) {
+        if (index < 0 || index > getVertexNum() - 1)
+            throw new IndexOutOfBoundsException("顶点下标必须<" + (getVertexNum() - 1) + "并且>=0！");
+    }
+
+    @Override
+    public GraphKind getKind() {
+        return graphKind;
+    }
+
+    /**
+     * 开启/关闭顶点值到索引值的哈希索引
+     * 开启后findVertex、findLastVertex、findVertexIndexes均为O(1)，代价是额外的O(V)空间，
+     * 且按位置插入/删除顶点时需要O(V)重建索引。
+     * 注意：若通过构造方法传入的顶点集合在图外被修改，索引将失效
+     *
+     * @param enabled true表示开启
+     */
+    public void setVertexIndexEnabled(boolean enabled) {
+        vertexIndex = enabled ? new VertexIndex<>(this) : null;
+    }
+
+    public boolean isVertexIndexEnabled() {
+        return vertexIndex != null;
+    }
+
+    /**
+     * 开启/关闭拓扑顺序的增量维护（只用于有向图）
+     * 开启后每次新增弧都会按Pearce–Kelly算法调整拓扑顺序，会形成环的弧在加入之前即被拒绝（抛出异常，图保持不变），
+     * getTopologicalOrder直接返回维护的顺序。
+     * 注意：addEdgesByIndexes中途遇到被拒绝的弧时，之前的弧已经加入
+     *
+     * @param maintained true表示开启
+     */
+    public void setTopologicalOrderMaintained(boolean maintained) {
+        topologicalOrder = maintained ? TopologicalOrder.build(this) : null;
+        topologicalOrderMaintained = maintained;
+    }
+
+    public boolean isTopologicalOrderMaintained() {
+        return topologicalOrderMaintained;
+    }
+
+    private TopologicalOrder topologicalOrder() {
+        TopologicalOrder topologicalOrder = this.topologicalOrder;
+        if (topologicalOrder == null)
+            this.topologicalOrder = topologicalOrder = TopologicalOrder.build(this);
+        return topologicalOrder;
+    }
+
+    /**
+     * 顶点已添加到index处（实现类在更新顶点向量后调用）
+     */
+    protected void vertexAdded(int index, E vertex) {
+        boolean appended = index == getVertexNum() - 1;
+        strongComponents = null;
+        TopologicalOrder topologicalOrder = this.topologicalOrder;
+        if (topologicalOrder != null)
+            if (appended)
+                topologicalOrder.append();
+            else
+                this.topologicalOrder = null;
+        ConnectivityTracker connectivity = this.connectivity;
+        if (connectivity != null)
+            if (appended)
+                connectivity.append();
+            else
+                this.connectivity = null;
+        if (snapshots != null)
+            if (appended)
+                snapshots.append();
+            else
+                snapshots = null;
+        if (vertexIndex == null)
+            return;
+        if (appended)
+            vertexIndex.add(index, vertex);
+        else
+            vertexIndex.rebuild(this);
+    }
+
+    /**
+     * index处的顶点由oldVertex替换为vertex（实现类在更新顶点向量后调用）
+     */
+    protected void vertexReplaced(int index, E oldVertex, E vertex) {
+        if (snapshots != null)
+            snapshots.vertexChanged(index);
+        if (vertexIndex == null)
+            return;
+        vertexIndex.remove(index, oldVertex);
+        vertexIndex.add(index, vertex);
+    }
+
+    /**
+     * index处的顶点已被删除（实现类在更新顶点向量后调用）
+     */
+    protected void vertexDeleted(int index, E vertex) {
+        connectivity = null;
+        strongComponents = null;
+        topologicalOrder = null;
+        snapshots = null;
+        if (vertexIndex == null)
+            return;
+        if (index == getVertexNum())
+            vertexIndex.remove(index, vertex);
+        else
+            vertexIndex.rebuild(this);
+    }
+
+    /**
+     * 即将新增弧/边<index1,index2>（实现类在写入新的弧/边之前调用，替换已有的弧/边时不调用）
+     * 维护拓扑顺序时先调整顺序，会形成环则抛出异常，此时实现类不应写入该弧；
+     * 之后在并查集中合并两端所在的分量
+     */
+    protected void edgeAdded(int index1, int index2) {
+        if (topologicalOrderMaintained)
+            topologicalOrder().add(this, index1, index2);
+        ConnectivityTracker connectivity = this.connectivity;
+        if (connectivity != null)
+            connectivity.union(index1, index2);
+        int[] strongComponents = this.strongComponents;
+        if (strongComponents != null && strongComponents[index1] > strongComponents[index2])
+            this.strongComponents = null;
+        if (snapshots != null)
+            snapshots.edgeChanged(index1, index2);
+    }
+
+    /**
+     * 删除了弧/边<index1,index2>（实现类在删除弧/边后调用）
+     * 并查集不支持拆分，丢弃后在下一次查询时重新建立；拓扑顺序对删除后的图仍然有效
+     */
+    protected void edgeDeleted(int index1, int index2) {
+        connectivity = null;
+        strongComponents = null;
+        if (snapshots != null)
+            snapshots.edgeChanged(index1, index2);
+    }
+
+    /**
+     * 弧/边<index1,index2>的权值或信息被修改（实现类在替换已有的弧/边、修改其权值或信息时调用）
+     */
+    protected void edgeUpdated(int index1, int index2) {
+        if (snapshots != null)
+            snapshots.edgeChanged(index1, index2);
+    }
+
+    private ConnectivityTracker connectivity() {
+        ConnectivityTracker connectivity = this.connectivity;
+        if (connectivity == null)
+            this.connectivity = connectivity = ConnectivityTracker.build(this);
+        return connectivity;
+    }
+
+    private int[] strongComponents() {
+        int[] strongComponents = this.strongComponents;
+        if (strongComponents == null)
+            this.strongComponents = strongComponents = getStronglyConnectedComponents();
+        return strongComponents;
+    }
+
+    /**
+     * 第一次调用时读出整个图，之后只重新读出自上一个快照以来受影响的顶点的行，其余部分与上一个快照共享；
+     * 没有修改时直接返回上一个快照。
+     * 注意：直接修改getEdge等方法返回的Edge对象（而不是通过updateEdge系列方法）不会被察觉
+     */
+    @Override
+    public Graph<E, T, V> snapshot() {
+        if (snapshots == null)
+            snapshots = SnapshotTracker.build(this);
+        Graph<E, T, V> snapshot = snapshots.publish(this);
+        latestSnapshot = snapshot;
+        return snapshot;
+    }
+
+    @Override
+    public Graph<E, T, V> latestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * 由实现类自行生成快照时（如ConcurrentGraph）发布
+     */
+    protected void publishSnapshot(Graph<E, T, V> snapshot) {
+        latestSnapshot = snapshot;
+    }
+
+    /**
+     * 无向图为连通分量数，有向图为弱连通分量数
+     */
+    @Override
+    public int getComponentNum() {
+        return connectivity().getComponentNum();
+    }
+
+    /**
+     * @return 各顶点所在（弱）连通分量的编号，按分量中最小的索引值从0开始连续编号；
+     * 编号缓存到下一次修改为止，返回其副本（O(V)），缓存的数组由多个线程共享，不交给调用者
+     */
+    @Override
+    public int[] getComponentLabels() {
+        return connectivity().labels().clone();
+    }
+
+    /**
+     * 获取第一个顶点是vertex的索引值
+     *
+     * @param vertex 顶点
+     * @return 索引值
+     */
+    @Override
+    public int findVertex(E vertex) {
+        if (vertexIndex != null)
+            return vertexIndex.first(vertex);
+        for (int i = 0; i < getVertexNum(); i++)
+            if (Objects.equals(getVertex(i), vertex))
+                return i;
+        return -1;
+    }
+
+    /**
+     * 获取最后一个顶点是vertex的索引值
+     *
+     * @param vertex 顶点
+     * @return 索引值
+     */
+    @Override
+    public int findLastVertex(E vertex) {
+        if (vertexIndex != null)
+            return vertexIndex.last(vertex);
+        for (int i = getVertexNum() - 1; i >= 0; i--)
+            if (Objects.equals(getVertex(i), vertex))
+                return i;
+        return -1;
+    }
+
+    @Override
+    public Set<Integer> findVertexIndexes(E vertex) {
+        if (vertexIndex != null)
+            return vertexIndex.all(vertex);
+        Set<Integer> indexes = new HashSet<>();
+        for (int i = 0; i < getVertexNum(); i++)
+            if (Objects.equals(getVertex(i), vertex))
+                indexes.add(i);
+        return indexes;
+    }
+
+    @Override
+    public boolean addVertexes(List<E> vertexes) {
+        if (vertexes != null) {
+            vertexes.forEach(this::addVertex);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int deleteFirstVertex(E vertex) {
+        int index = findVertex(vertex);
+        if (index != -1)
+            deleteVertex(index);
+        return index;
+    }
+
+    @Override
+    public List<E> deleteVertexes(int[] vertexIndexes) {
+        List<E> vertexes = new ArrayList<>();
+        if (vertexIndexes == null)
+            return vertexes;
+        for (int vertexIndex : vertexIndexes)
+            vertexes.add(deleteVertex(vertexIndex));
+        return vertexes;
+    }
+
+    /**
+     * 通过索引值添加一条边
+     *
+     * @return 旧的边
+     */
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2) {
+        return addEdgeByIndex(index1, index2, null, null);
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        return getEdge(index1, index2) != null;
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        Edge<T, V> edge = getEdge(index1, index2);
+        if (edge == null)
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+        return isNetwork() ? WeightColumn.toDouble(edge.getWeight()) : 1;
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return getWeightAsDouble(index, getOutAdjacentVertexIndexAt(index, cursor));
+    }
+
+    @Override
+    public Edge<T, V> getFirstAdjacentEdge(int index) {
+        Edge<T, V> firstOutEdge = getFirstOutEdge(index);
+        if (firstOutEdge != null)
+            return firstOutEdge;
+        return getFirstInEdge(index);
+    }
+
+    @Override
+    public int getDegree(int index) {
+        int degree = getOutDegree(index);
+        if (isDirectedGraph()) {
+            degree += getInDegree(index);
+            if (hasEdge(index, index))
+                return degree - 1;
+            return degree;
+        }
+        return degree;
+    }
+
+    @Override
+    public int getFirstInAdjacentVertexIndex(int index) {
+        Edge<T, V> firstInEdge = getFirstInEdge(index);
+        if (firstInEdge == null)
+            return -1;
+        return firstInEdge.getTailIndex();
+    }
+
+    /**
+     * 不能用返回值来作为衡量顶点存在的依据，因为顶点可以存入null
+     */
+    @Override
+    public E getFirstInAdjacentVertex(int index) {
+        int firstInAdjacentVertexIndex = getFirstInAdjacentVertexIndex(index);
+        if (firstInAdjacentVertexIndex == -1)
+            return null;
+        return getVertex(firstInAdjacentVertexIndex);
+    }
+
+    @Override
+    public int getFirstOutAdjacentVertexIndex(int index) {
+        Edge<T, V> firstOutEdge = getFirstOutEdge(index);
+        if (firstOutEdge == null)
+            return -1;
+        return firstOutEdge.getHeadIndex();
+    }
+
+    @Override
+    public E getFirstOutAdjacentVertex(int index) {
+        int firstOutAdjacentVertexIndex = getFirstOutAdjacentVertexIndex(index);
+        if (firstOutAdjacentVertexIndex == -1)
+            return null;
+        return getVertex(firstOutAdjacentVertexIndex);
+    }
+
+    @Override
+    public E getFirstAdjacentVertex(int index) {
+        return getFirstOutAdjacentVertex(index);
+    }
+
+    @Override
+    public int getFirstAdjacentVertexIndex(int index) {
+        return getFirstOutAdjacentVertexIndex(index);
+    }
+
+    @Override
+    public void forEachOutAdjacentVertexIndex(int index, IntConsumer action) {
+        for (int c = nextOutAdjacentCursor(index, -1); c != -1; c = nextOutAdjacentCursor(index, c))
+            action.accept(getOutAdjacentVertexIndexAt(index, c));
+    }
+
+    @Override
+    public void forEachInAdjacentVertexIndex(int index, IntConsumer action) {
+        for (int c = nextInAdjacentCursor(index, -1); c != -1; c = nextInAdjacentCursor(index, c))
+            action.accept(getInAdjacentVertexIndexAt(index, c));
+    }
+
+    /**
+     * 在有向图中具有方向性，对没有入边的顶点，遍历不在同一个连通分量中
+     */
+    @Override
+    public List<List<Integer>> DFSTraverse() {
+        List<List<Integer>> oneTraversal = new ArrayList<>();
+        int vertexNum = getVertexNum();
+        if (vertexNum == 0)
+            return oneTraversal;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            for (int i = 0; i < vertexNum; i++)
+                if (!context.isVisited(i))
+                    oneTraversal.add(DFS(context, new ArrayList<>(), i));
+        }
+
+        return oneTraversal;
+    }
+
+    /**
+     * 以下所有深度优先搜索均基于DFSStack迭代实现：
+     * next(this)推进栈顶顶点的游标，返回-1时弹出栈顶，相当于递归函数返回；
+     * 压入新帧相当于一次递归调用，访问顺序与递归实现完全一致
+     */
+    private List<Integer> DFS(TraversalContext context, List<Integer> path, int v) {
+        DFSStack stack = context.stack();
+        context.visit(v);
+        path.add(v);
+        stack.push(v, v);
+        while (!stack.isEmpty()) {
+            int index = stack.next(this);
+            if (index == -1)
+                stack.pop();
+            else if (!context.isVisited(index)) {
+                context.visit(index);
+                path.add(index);
+                stack.push(index, stack.top());
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 在有向图中具有方向性，对没有入边的顶点，遍历不在同一个连通分量中
+     */
+    @Override
+    public List<List<Integer>> BFSTraverse() {
+        List<List<Integer>> oneTraversal = new ArrayList<>();
+        int vertexNum = getVertexNum();
+        if (vertexNum == 0)
+            return oneTraversal;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            for (int i = 0; i < vertexNum; i++)
+                if (!context.isVisited(i))
+                    oneTraversal.add(BFS(context, new ArrayList<>(), i));
+        }
+
+        return oneTraversal;
+    }
+
+    private List<Integer> BFS(TraversalContext context, List<Integer> path, int v) {
+        //每个顶点至多入队一次，数组即可充当队列
+        int[] queue = context.queue();
+        int front = 0, rear = 0;
+        context.visit(v);
+        path.add(v);
+        queue[rear++] = v;
+        while (front < rear) {
+            int u = queue[front++];
+            for (int c = nextOutAdjacentCursor(u, -1); c != -1; c = nextOutAdjacentCursor(u, c)) {
+                int index = getOutAdjacentVertexIndexAt(u, c);
+                if (!context.isVisited(index)) {
+                    context.visit(index);
+                    path.add(index);
+                    queue[rear++] = index;
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 方向优化的广度优先遍历，分组与BFSTraverse相同
+     * 前沿较小时自顶向下扩展（扫描前沿顶点的出弧）；前沿较大时改为自底向上，
+     * 由每个未访问的顶点检查其入弧的弧尾是否在前沿位图中，找到一个即停止，
+     * 在直径较小的图上，中间几层的扫描量大大减少。
+     * 自底向上的一层按索引值顺序访问顶点，因此同一分组内的顺序可能与BFSTraverse不同
+     */
+    @Override
+    public List<List<Integer>> directionOptimizingBFSTraverse() {
+        List<List<Integer>> oneTraversal = new ArrayList<>();
+        int vertexNum = getVertexNum();
+        if (vertexNum == 0)
+            return oneTraversal;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            long[] visited = context.visitedBits();
+            int unvisited = vertexNum;
+            for (int i = 0; i < vertexNum; i++)
+                if ((visited[i >>> 6] & 1L << i) == 0) {
+                    List<Integer> path = new ArrayList<>();
+                    unvisited -= directionOptimizingBFS(context, visited, unvisited, i, i, path, null);
+                    oneTraversal.add(path);
+                }
+        }
+
+        return oneTraversal;
+    }
+
+    @Override
+    public List<List<Integer>> parallelBFSTraverse() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parallelBFSTraverse(pool, pool.getParallelism());
+    }
+
+    /**
+     * 逐层同步的并行广度优先遍历，分组与BFSTraverse相同，见ParallelBFS
+     */
+    @Override
+    public List<List<Integer>> parallelBFSTraverse(@NotNull ForkJoinPool pool, int parallelism) {
+        return new ParallelBFS(this, pool, parallelism).traverse();
+    }
+
+    @Override
+    public int[] getBFSLevels(int index) {
+        rangeCheck(index);
+        int vertexNum = getVertexNum();
+        int[] levels = new int[vertexNum];
+        Arrays.fill(levels, -1);
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            directionOptimizingBFS(context, context.visitedBits(), vertexNum, index, 0, null, levels);
+        }
+        return levels;
+    }
+
+    /**
+     * 前沿顶点数超过未访问顶点数的1/ALPHA时改为自底向上，
+     * 自底向上时前沿缩小且不足顶点数的1/BETA时改回自顶向下
+     * （按平均度数把弧数的比较近似为顶点数的比较）
+     */
+    private static final int ALPHA = 14, BETA = 24;
+
+    /**
+     * 从v出发的方向优化广度优先搜索，前沿与下一层都存放在int[]中，访问标记为位图
+     *
+     * @param visited   访问标记位图
+     * @param unvisited 尚未访问的顶点数
+     * @param from      索引值小于from的顶点均已访问，自底向上时从from开始扫描
+     * @param path      按访问顺序记录顶点，可为null
+     * @param levels    记录各顶点所在的层，可为null
+     * @return 本次访问的顶点数
+     */
+    private int directionOptimizingBFS(TraversalContext context, long[] visited, int unvisited, int v, int from,
+                                       List<Integer> path, int[] levels) {
+        int vertexNum = getVertexNum(), words = (vertexNum + 63) >>> 6;
+        int[] frontier = context.queue(), next = context.nextQueue();
+        visited[v >>> 6] |= 1L << v;
+        frontier[0] = v;
+        int size = 1, previousSize = 0, count = 0;
+        boolean bottomUp = false;
+        for (int level = 0; size > 0; level++) {
+            count += size;
+            unvisited -= size;
+            for (int k = 0; k < size; k++) {
+                if (path != null)
+                    path.add(frontier[k]);
+                if (levels != null)
+                    levels[frontier[k]] = level;
+            }
+            if (!bottomUp && size > unvisited / ALPHA)
+                bottomUp = true;
+            else if (bottomUp && size < previousSize && size < vertexNum / BETA)
+                bottomUp = false;
+            int nextSize = 0;
+            if (bottomUp) {
+                long[] frontierBits = context.frontierBits();
+                for (int k = 0; k < size; k++)
+                    frontierBits[frontier[k] >>> 6] |= 1L << frontier[k];
+                for (int w = from >>> 6; w < words; w++)
+                    for (long candidates = ~visited[w]; candidates != 0; candidates &= candidates - 1) {
+                        int u = w << 6 | Long.numberOfTrailingZeros(candidates);
+                        if (u >= vertexNum)
+                            break;
+                        for (int c = nextInAdjacentCursor(u, -1); c != -1; c = nextInAdjacentCursor(u, c)) {
+                            int t = getInAdjacentVertexIndexAt(u, c);
+                            if ((frontierBits[t >>> 6] & 1L << t) != 0) {
+                                visited[w] |= 1L << u;
+                                next[nextSize++] = u;
+                                break;
+                            }
+                        }
+                    }
+            } else
+                for (int k = 0; k < size; k++) {
+                    int u = frontier[k];
+                    for (int c = nextOutAdjacentCursor(u, -1); c != -1; c = nextOutAdjacentCursor(u, c)) {
+                        int h = getOutAdjacentVertexIndexAt(u, c);
+                        if ((visited[h >>> 6] & 1L << h) == 0) {
+                            visited[h >>> 6] |= 1L << h;
+                            next[nextSize++] = h;
+                        }
+                    }
+                }
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+            previousSize = size;
+            size = nextSize;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isDirectedGraph() {
+        return graphKind == GraphKind.DG || graphKind == GraphKind.DN;
+    }
+
+    @Override
+    public boolean isCompletedGraph() {
+        int vertexNum = getVertexNum(), edgeNum = getEdgeNum();
+        if ((isDirectedGraph() && edgeNum == vertexNum * (vertexNum - 1)) || (edgeNum == vertexNum * (vertexNum - 1) / 2)) {
+            for (int i = 0; i < vertexNum; i++)
+                if (hasEdge(i, i))
+                    return false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 无向图中所有顶点之间均可达；
+     * 有向图中所有顶点之间都有路径
+     * （该图只有一个联通分量）
+     * 无向图直接使用并查集维护的分量数
+     *
+     * @return true表示该图是连通图
+     */
+    @Override
+    public boolean isConnectedGraph() {
+        if (getEdgeNum() == 0) {
+            return false;
+        }
+        if (!isDirectedGraph())
+            return getComponentNum() == 1;
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            return isConnectedGraphByDFS(context, 0) == getVertexNum();
+        }
+    }
+
+    @Override
+    public boolean isEmptyGraph() {
+        return getVertexNum() == 0;
+    }
+
+    /**
+     * @return 从v出发可遍历到的顶点数
+     */
+    private int isConnectedGraphByDFS(TraversalContext context, int v) {
+        DFSStack stack = context.stack();
+        context.visit(v);
+        stack.push(v, v);
+        int traversableNum = 1;
+        while (!stack.isEmpty()) {
+            int index = stack.next(this);
+            if (index == -1)
+                stack.pop();
+            else if (!context.isVisited(index)) {
+                context.visit(index);
+                ++traversableNum;
+                stack.push(index, stack.top());
+            }
+        }
+        return traversableNum;
+    }
+
+    @Override
+    public boolean isNetwork() {
+        return graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+    }
+
+    /**
+     * 单源路径问题，在有向图中具有有方向性，
+     * 采用双向广度优先搜索，返回的是弧/边数最少的路径（不考虑权值）
+     *
+     * @param index1 顶点1索引值
+     * @param index2 顶点2索引值
+     * @return 路径经过的顶点索引值的集合
+     */
+    @Override
+    public List<Integer> getFirstPath(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        List<Integer> path = new ArrayList<>();
+        if (getEdgeNum() == 0)
+            return path;
+        if (index1 == index2) {
+            if (hasEdge(index1, index2)) {
+                path.add(index1);
+                path.add(index2);
+            }
+            return path;
+        }
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            int meet = bidirectionalBFS(context, index1, index2);
+            if (meet == -1)
+                return path;
+            int[] predecessors = context.predecessors(), successors = context.successors();
+            //沿前驱链追加后整体反转一次，避免在表头逐个插入
+            for (int i = meet; i != -1; i = predecessors[i])
+                path.add(i);
+            Collections.reverse(path);
+            for (int i = successors[meet]; i != -1; i = successors[i])
+                path.add(i);
+        }
+        return path;
+    }
+
+    /**
+     * 双向广度优先搜索：从index1沿出弧、从index2沿入弧逐层扩展，每次扩展当前层较小的一侧，
+     * 两侧首次相遇时，经过相遇点的路径即为弧/边数最少的路径。
+     * index1的前驱链记录在predecessors中，index2的后继链记录在successors中
+     *
+     * @return 相遇的顶点索引值，-1表示不存在路径
+     */
+    private int bidirectionalBFS(TraversalContext context, int index1, int index2) {
+        int[] forward = context.queue(), backward = context.nextQueue();
+        int[] predecessors = context.predecessors(), successors = context.successors();
+        context.visit(index1);
+        predecessors[index1] = -1;
+        context.visitBackward(index2);
+        successors[index2] = -1;
+        if (index1 == index2)
+            return index1;
+        int forwardHead = 0, forwardTail = 0, backwardHead = 0, backwardTail = 0;
+        forward[forwardTail++] = index1;
+        backward[backwardTail++] = index2;
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead)
+                for (int end = forwardTail; forwardHead < end; forwardHead++) {
+                    int u = forward[forwardHead];
+                    for (int c = nextOutAdjacentCursor(u, -1); c != -1; c = nextOutAdjacentCursor(u, c)) {
+                        int v = getOutAdjacentVertexIndexAt(u, c);
+                        if (context.isVisited(v))
+                            continue;
+                        context.visit(v);
+                        predecessors[v] = u;
+                        if (context.isVisitedBackward(v))
+                            return v;
+                        forward[forwardTail++] = v;
+                    }
+                }
+            else
+                for (int end = backwardTail; backwardHead < end; backwardHead++) {
+                    int u = backward[backwardHead];
+                    for (int c = nextInAdjacentCursor(u, -1); c != -1; c = nextInAdjacentCursor(u, c)) {
+                        int v = getInAdjacentVertexIndexAt(u, c);
+                        if (context.isVisitedBackward(v))
+                            continue;
+                        context.visitBackward(v);
+                        successors[v] = u;
+                        if (context.isVisited(v))
+                            return v;
+                        backward[backwardTail++] = v;
+                    }
+                }
+        }
+        return -1;
+    }
+
+    @Override
+    public List<List<Integer>> getPaths(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        List<List<Integer>> paths = new ArrayList<>();
+        if (getEdgeNum() == 0)
+            return paths;
+        PathEnumerator.paths(this, index1, index2, 0, 0, 0).forEachRemaining(paths::add);
+        return paths;
+    }
+
+    /**
+     * 惰性的getPaths，见PathEnumerator
+     */
+    @Override
+    public Stream<List<Integer>> getPathStream(int index1, int index2, long maxCount, int maxLength, long timeout) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        return toStream(PathEnumerator.paths(this, index1, index2, maxCount, maxLength, timeout));
+    }
+
+    /**
+     * 惰性的getCycles(index)，见PathEnumerator
+     */
+    @Override
+    public Stream<List<Integer>> getCycleStream(int index, long maxCount, int maxLength, long timeout) {
+        rangeCheck(index);
+        return toStream(PathEnumerator.cycles(this, index, index, maxCount, maxLength, timeout));
+    }
+
+    /**
+     * 惰性的getCycles()，见PathEnumerator
+     */
+    @Override
+    public Stream<List<Integer>> getCycleStream(long maxCount, int maxLength, long timeout) {
+        if (getVertexNum() == 0)
+            return Stream.empty();
+        return toStream(PathEnumerator.cycles(this, 0, getVertexNum() - 1, maxCount, maxLength, timeout));
+    }
+
+    private static Stream<List<Integer>> toStream(Iterator<List<Integer>> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+
+    /**
+     * 在有向图中该方法具有方向性，采用双向广度优先搜索
+     *
+     * @param index1 索引值1
+     * @param index2 索引值2
+     * @return true表示两点之间存在路径
+     */
+    @Override
+    public boolean hasPath(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        if (index1 == index2)
+            if (hasEdge(index1, index2))
+                return true;
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            return bidirectionalBFS(context, index1, index2) != -1;
+        }
+    }
+
+    /**
+     * 这是我写的最后一个方法，不想优化了，写吐了，就这样吧。。。
+     */
+    @Override
+    public List<Integer> getFirstCycle(int index) {
+        List<List<Integer>> cycles = getCycles(index);
+        if (cycles.size() > 0) {
+            return cycles.get(0);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * 在有向图中具有方向性，自环也算作环，O(V+E)
+     *
+     * @param index 顶点索引值
+     * @return true表示该顶点存在回路/环
+     */
+    @Override
+    public boolean hasCycle(int index) {
+        if (getEdgeNum() == 0)
+            return false;
+        if (hasLoop(index))
+            return true;
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            return hasCycleByDFS(context, index);
+        }
+    }
+
+    /**
+     * 从v出发深度优先搜索，每个顶点只进入一次，存在弧/边回到v即存在经过v的环
+     * （无向图中沿刚走过的边返回前驱不算环，有向图中<u,v>、<v,u>两条弧构成环）
+     */
+    private boolean hasCycleByDFS(TraversalContext context, int v) {
+        boolean directed = isDirectedGraph();
+        DFSStack stack = context.stack();
+        context.visit(v);
+        stack.push(v, v);
+        while (!stack.isEmpty()) {
+            int index = stack.next(this);
+            if (index == -1)
+                stack.pop();
+            else if (index == v) {
+                if (directed || stack.pre() != v)
+                    return true;
+            } else if (!context.isVisited(index)) {
+                context.visit(index);
+                stack.push(index, stack.top());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 在有向图中具有方向性，自环也算作环，O(V+E)
+     * 有向图采用三色标记：进入时为灰色、出栈时为黑色，遇到灰色顶点即存在环；
+     * 无向图记录前驱：遇到已访问且不是前驱的顶点即存在环
+     *
+     * @return true表示该图存在环
+     */
+    @Override
+    public boolean hasCycle() {
+        if (getEdgeNum() == 0)
+            return false;
+        if (hasLoop())
+            return true;
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            return isDirectedGraph() ? hasCycleByColoring(context) : hasCycleByParent(context);
+        }
+    }
+
+    private boolean hasCycleByColoring(TraversalContext context) {
+        DFSStack stack = context.stack();
+        for (int s = 0; s < getVertexNum(); s++) {
+            if (context.isVisited(s))
+                continue;
+            context.visit(s);
+            stack.push(s, s);
+            while (!stack.isEmpty()) {
+                int index = stack.next(this);
+                if (index == -1)
+                    context.finish(stack.pop());
+                else if (!context.isVisited(index)) {
+                    context.visit(index);
+                    stack.push(index, stack.top());
+                } else if (!context.isFinished(index))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasCycleByParent(TraversalContext context) {
+        DFSStack stack = context.stack();
+        for (int s = 0; s < getVertexNum(); s++) {
+            if (context.isVisited(s))
+                continue;
+            context.visit(s);
+            stack.push(s, s);
+            while (!stack.isEmpty()) {
+                int index = stack.next(this);
+                if (index == -1)
+                    stack.pop();
+                else if (index == stack.pre())
+                    continue;
+                else if (context.isVisited(index))
+                    return true;
+                else {
+                    context.visit(index);
+                    stack.push(index, stack.top());
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<List<Integer>> getCycles(int index) {
+        rangeCheck(index);
+        List<List<Integer>> cycles = new ArrayList<>();
+        if (getEdgeNum() == 0)
+            return cycles;
+        PathEnumerator.cycles(this, index, index, 0, 0, 0).forEachRemaining(cycles::add);
+        return cycles;
+    }
+
+    @Override
+    public List<List<Integer>> getCycles() {
+        List<List<Integer>> cycles = new ArrayList<>();
+        if (getEdgeNum() == 0)
+            return cycles;
+        PathEnumerator.cycles(this, 0, getVertexNum() - 1, 0, 0, 0).forEachRemaining(cycles::add);
+        return cycles;
+    }
+
+
+    @Override
+    public Edge<T, V> getLoop(int index) {
+        return getEdge(index, index);
+    }
+
+    @Override
+    public boolean hasLoop(int index) {
+        return getLoop(index) != null;
+    }
+
+    @Override
+    public boolean hasLoop() {
+        for (int i = 0; i < getVertexNum(); i++)
+            if (hasEdge(i, i))
+                return true;
+        return false;
+    }
+
+    /**
+     * 判断索引值对应的顶点是否连通
+     * index1==index2：检查索引值是否有自环边
+     * 无环图中无方向性
+     * 有环图中具有方向性
+     * 无向图由并查集判断，为近似O(1)；
+     * 有向图即index1到index2是否存在路径：不在同一弱连通分量中则不连通，
+     * 再由缓存的强连通分量判断——同一分量中则连通，index1所在分量的拓扑编号大于index2的则不连通，
+     * 其余情况采用双向广度优先搜索
+     *
+     * @param index1 索引值1
+     * @param index2 索引值2
+     * @return true表示两点连通
+     */
+    @Override
+    public boolean isConnected(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        if (index1 == index2)
+            return hasEdge(index1, index1);
+        if (!isDirectedGraph()) {
+            return connectivity().isConnected(index1, index2);
+        }
+        if (!connectivity().isConnected(index1, index2))
+            return false;
+        int[] strongComponents = strongComponents();
+        if (strongComponents[index1] == strongComponents[index2])
+            return true;
+        if (strongComponents[index1] > strongComponents[index2])
+            return false;
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            return bidirectionalBFS(context, index1, index2) != -1;
+        }
+    }
+
+    @Override
+    public double[] getShortestDistances(int index) {
+        rangeCheck(index);
+        int vertexNum = getVertexNum();
+        double[] distances = new double[vertexNum];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            IndexedMinHeap heap = dijkstra(context, index, -1);
+            for (int i = 0; i < vertexNum; i++)
+                if (context.isVisited(i))
+                    distances[i] = heap.key(i);
+        }
+        return distances;
+    }
+
+    @Override
+    public double getShortestDistance(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            IndexedMinHeap heap = dijkstra(context, index1, index2);
+            return context.isVisited(index2) ? heap.key(index2) : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    @Override
+    public List<Integer> getShortestPath(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        LinkedList<Integer> path = new LinkedList<>();
+        try (TraversalContext context = TraversalContext.acquire(getVertexNum())) {
+            dijkstra(context, index1, index2);
+            if (!context.isVisited(index2))
+                return path;
+            int[] predecessors = context.predecessors();
+            for (int i = index2; i != -1; i = predecessors[i])
+                path.addFirst(i);
+        }
+        return path;
+    }
+
+    /**
+     * Dijkstra算法：距离、前驱与堆均来自上下文，被访问标记的顶点即已到达的顶点，
+     * 弧/边与权值通过游标读取，搜索过程中不创建任何对象
+     *
+     * @param source 源点
+     * @param target 终点，出堆后立即停止；-1表示求出所有顶点的最短距离
+     * @return 堆，其中已到达顶点的键即为最短距离
+     */
+    private IndexedMinHeap dijkstra(TraversalContext context, int source, int target) {
+        IndexedMinHeap heap = context.heap();
+        int[] predecessors = context.predecessors();
+        context.visit(source);
+        predecessors[source] = -1;
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            if (u == target)
+                break;
+            double distance = heap.key(u);
+            for (int c = nextOutAdjacentCursor(u, -1); c != -1; c = nextOutAdjacentCursor(u, c)) {
+                int v = getOutAdjacentVertexIndexAt(u, c);
+                double weight = getOutAdjacentWeightAt(u, c);
+                if (!(weight >= 0))
+                    throw new RuntimeException("<" + u + "," + v + ">" + "的权值必须为非负数！");
+                if (!context.isVisited(v)) {
+                    context.visit(v);
+                    predecessors[v] = u;
+                    heap.insert(v, distance + weight);
+                } else if (heap.isQueued(v) && distance + weight < heap.key(v)) {
+                    predecessors[v] = u;
+                    heap.decreaseKey(v, distance + weight);
+                }
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * 拓扑排序（Kahn算法，入度以int[]存放，O(V+E)），只用于有向图，存在环时抛出异常
+     * 维护拓扑顺序时直接返回维护的顺序，O(V)
+     *
+     * @return 拓扑序列：若存在弧<u,v>，则u排在v之前
+     */
+    @Override
+    public int[] getTopologicalOrder() {
+        if (topologicalOrderMaintained)
+            return topologicalOrder().toArray();
+        return TopologicalOrder.kahn(this);
+    }
+
+    /**
+     * 强连通分量（Tarjan算法，基于DFSStack迭代实现，O(V+E)），无向图中即连通分量
+     * 分量按缩点DAG的拓扑顺序编号：若存在从分量a到分量b的弧，则a<b
+     *
+     * @return 各顶点所在强连通分量的编号，从0开始连续编号
+     */
+    @Override
+    public int[] getStronglyConnectedComponents() {
+        int vertexNum = getVertexNum();
+        int[] components = new int[vertexNum];
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            tarjan(context, components, null);
+        }
+        return components;
+    }
+
+    @Override
+    public boolean isStronglyConnectedGraph() {
+        int vertexNum = getVertexNum();
+        if (vertexNum == 0)
+            return false;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            return tarjan(context, new int[vertexNum], null) == 1;
+        }
+    }
+
+    /**
+     * 缩点DAG：每个强连通分量缩为一个顶点，顶点值即getStronglyConnectedComponents中的编号，
+     * 分量之间存在弧时对应的顶点之间有且仅有一条弧，O(V+E)
+     *
+     * @return 压缩稀疏行存储的有向图
+     */
+    @Override
+    public Graph<Integer, Object, Object> getCondensation() {
+        int vertexNum = getVertexNum();
+        int[] components = new int[vertexNum], order = new int[vertexNum];
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            int componentNum = tarjan(context, components, order);
+            GraphBuilder<Integer, Object, Object> builder = new GraphBuilder<>(GraphKind.DG, componentNum, 0);
+            for (int i = 0; i < componentNum; i++)
+                builder.addVertex(i);
+            //同一分量的顶点在order中相邻，lastTails记录每个分量最近一次作为弧头时的弧尾分量，用于去重
+            int[] lastTails = context.predecessors();
+            Arrays.fill(lastTails, 0, componentNum, -1);
+            for (int u : order) {
+                int a = components[u];
+                for (int c = nextOutAdjacentCursor(u, -1); c != -1; c = nextOutAdjacentCursor(u, c)) {
+                    int b = components[getOutAdjacentVertexIndexAt(u, c)];
+                    if (a != b && lastTails[b] != a) {
+                        lastTails[b] = a;
+                        builder.addEdge(a, b);
+                    }
+                }
+            }
+            return builder.buildCSR();
+        }
+    }
+
+    /**
+     * 迭代的Tarjan算法：DFSStack保存搜索路径，queue充当Tarjan栈，
+     * 某帧出栈时用它的low更新新栈顶的low，相当于递归返回后的low[p]=min(low[p],low[v])
+     *
+     * @param components 写入各顶点所在分量的编号（按拓扑顺序）
+     * @param order      不为null时写入按分量分组的顶点序列
+     * @return 强连通分量数
+     */
+    private int tarjan(TraversalContext context, int[] components, int[] order) {
+        int vertexNum = getVertexNum();
+        int[] preorder = new int[vertexNum], low = new int[vertexNum];
+        int[] sccStack = context.queue();
+        DFSStack stack = context.stack();
+        Arrays.fill(components, -1);
+        int counter = 0, top = 0, componentNum = 0, ordered = 0;
+        for (int s = 0; s < vertexNum; s++) {
+            if (context.isVisited(s))
+                continue;
+            context.visit(s);
+            preorder[s] = low[s] = counter++;
+            sccStack[top++] = s;
+            stack.push(s, s);
+            while (!stack.isEmpty()) {
+                int v = stack.top();
+                int w = stack.next(this);
+                if (w == -1) {
+                    stack.pop();
+                    if (low[v] == preorder[v]) {
+                        int u;
+                        do {
+                            u = sccStack[--top];
+                            components[u] = componentNum;
+                            if (order != null)
+                                order[ordered++] = u;
+                        } while (u != v);
+                        componentNum++;
+                    }
+                    if (!stack.isEmpty() && low[v] < low[stack.top()])
+                        low[stack.top()] = low[v];
+                } else if (!context.isVisited(w)) {
+                    context.visit(w);
+                    preorder[w] = low[w] = counter++;
+                    sccStack[top++] = w;
+                    stack.push(w, v);
+                } else if (components[w] == -1 && preorder[w] < low[v])
+                    low[v] = preorder[w];
+            }
+        }
+        //Tarjan算法按逆拓扑顺序得到各分量，翻转编号
+        for (int i = 0; i < vertexNum; i++)
+            components[i] = componentNum - 1 - components[i];
+        return componentNum;
+    }
+}
@@ -0,0 +1,170 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static graph.graphImpl.SnapshotTracker.CHUNK_BITS;
+import static graph.graphImpl.SnapshotTracker.CHUNK_MASK;
+import static graph.graphImpl.SnapshotTracker.CHUNK_SIZE;
+
+/**
+ * 无锁的动态连通性跟踪（并查集），供ConcurrentGraph使用
+ * 无向图跟踪连通分量，有向图跟踪弱连通分量（忽略弧的方向）。
+ * parent存放在分块的AtomicIntegerArray中，块分配之后不再移动：
+ * 查找时以CAS做路径减半，合并时以CAS把索引值较大的根挂到较小的根下，失败（根已被其他线程改变）则重新查找，
+ * 因此任意多个写线程可以同时合并，查询也不需要任何锁。
+ * 分量数随合并与追加顶点原子地增减；分量编号按需求出，求出期间没有合并与追加顶点时才缓存。
+ * 并查集不支持拆分，删除弧/边或顶点后由ConcurrentGraph丢弃，下一次查询时按现有的弧/边重新建立。
+ * 追加顶点与重新建立由ConcurrentGraph在vertexLock中调用，彼此串行。
+ */
+final class ConcurrentConnectivity {
+    private volatile AtomicIntegerArray[] parent = new AtomicIntegerArray[1];
+    private volatile int vertexNum;
+    private final AtomicInteger componentNum = new AtomicInteger();
+    /**
+     * 合并与追加顶点的次数，用于判断缓存的分量编号是否过期
+     */
+    private final AtomicLong version = new AtomicLong();
+    private volatile VersionedLabels labels;
+    /**
+     * 重新建立时先发布再扫描弧/边，扫描完成之前不能用于查询
+     */
+    private volatile boolean complete;
+
+    ConcurrentConnectivity(int vertexNum) {
+        for (int i = 0; i < vertexNum; i++)
+            append();
+    }
+
+    /**
+     * 分量编号及求出它之前读到的版本
+     */
+    private static final class VersionedLabels {
+        private final long version;
+        private final int[] labels;
+
+        VersionedLabels(long version, int[] labels) {
+            this.version = version;
+            this.labels = labels;
+        }
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    void complete() {
+        complete = true;
+    }
+
+    private int get(int index) {
+        return parent[index >>> CHUNK_BITS].get(index & CHUNK_MASK);
+    }
+
+    private boolean compareAndSet(int index, int expect, int update) {
+        return parent[index >>> CHUNK_BITS].compareAndSet(index & CHUNK_MASK, expect, update);
+    }
+
+    /**
+     * 在末尾追加一个孤立顶点（在vertexLock中调用，新顶点发布给其他线程之前完成）
+     */
+    void append() {
+        int n = vertexNum;
+        int c = n >>> CHUNK_BITS;
+        if (c == parent.length)
+            parent = Arrays.copyOf(parent, c * 2);
+        if (parent[c] == null) {
+            AtomicIntegerArray chunk = new AtomicIntegerArray(CHUNK_SIZE);
+            for (int k = 0; k < CHUNK_SIZE; k++)
+                chunk.lazySet(k, (c << CHUNK_BITS) + k);
+            parent[c] = chunk;
+        }
+        vertexNum = n + 1;
+        componentNum.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 查找根结点，沿途以CAS做路径减半（CAS失败说明其他线程已经改写，不影响结果）
+     */
+    private int find(int index) {
+        while (true) {
+            int p = get(index);
+            if (p == index)
+                return index;
+            int grandparent = get(p);
+            if (p != grandparent)
+                compareAndSet(index, p, grandparent);
+            index = grandparent;
+        }
+    }
+
+    /**
+     * 合并index1与index2所在的分量
+     */
+    void union(int index1, int index2) {
+        while (true) {
+            int root1 = find(index1), root2 = find(index2);
+            if (root1 == root2)
+                return;
+            int child = Math.max(root1, root2), root = Math.min(root1, root2);
+            if (compareAndSet(child, child, root)) {
+                componentNum.decrementAndGet();
+                version.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 两次查找之间根可能被并发地挂到别处：只有index1的根仍是根时，两个根不同才说明不连通
+     */
+    boolean isConnected(int index1, int index2) {
+        while (true) {
+            int root1 = find(index1), root2 = find(index2);
+            if (root1 == root2)
+                return true;
+            if (get(root1) == root1)
+                return false;
+        }
+    }
+
+    int getComponentNum() {
+        return componentNum.get();
+    }
+
+    /**
+     * @return 各顶点所在分量的编号，按分量中最小的索引值从0开始连续编号；
+     * 在下一次合并或追加顶点之前重复返回同一个数组，不得修改
+     */
+    int[] labels() {
+        long before = version.get();
+        VersionedLabels cached = labels;
+        if (cached != null && cached.version == before)
+            return cached.labels;
+        int[] labels = computeLabels();
+        if (version.get() == before)
+            this.labels = new VersionedLabels(before, labels);
+        return labels;
+    }
+
+    /**
+     * 合并总是把索引值较大的根挂到较小的根下，因此根就是分量中最小的索引值
+     */
+    private int[] computeLabels() {
+        int n = vertexNum;
+        int[] labels = new int[n];
+        int[] rootLabels = new int[n];
+        Arrays.fill(rootLabels, -1);
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(i);
+            if (rootLabels[root] == -1)
+                rootLabels[root] = next++;
+            labels[i] = rootLabels[root];
+        }
+        return labels;
+    }
+}
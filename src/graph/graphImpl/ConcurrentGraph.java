@@ -0,0 +1,1033 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+
+import static graph.graphImpl.SnapshotTracker.CHUNK_BITS;
+import static graph.graphImpl.SnapshotTracker.CHUNK_MASK;
+import static graph.graphImpl.SnapshotTracker.CHUNK_SIZE;
+
+/**
+ * 图-实现类（并发图，条带锁）
+ * 特性：
+ * 1、具有自环边，不具备平行边；
+ * 2、有权值；
+ * 3、有方向；
+ * 4、每个顶点的出弧（有向图另有入弧）存放在各自的行中，按另一端点的索引值升序排列；
+ * 5、顶点按索引值映射到固定数量的条带锁上，读写一个顶点的行只需持有其所在条带的锁，弧/边数由LongAdder计数，
+ * 多个线程可以同时写入不同条带上的弧/边，不会在同一把锁或同一个计数器上竞争。
+ *
+ * 注意：
+ * 1、新增、删除、修改弧/边<i,j>时按条带序号从小到大持有i、j所在条带的写锁，同时修改两端的行，
+ * 而读一个顶点的行需要持有其所在条带的读锁，因此无向图的一条边在两个端点的行中总是同时出现、同时消失，
+ * 有向图的出弧与入弧也是如此；
+ * 2、在末尾添加顶点不阻塞弧/边的读写；在中间插入顶点与删除顶点会改变其后顶点的索引值，需要持有全部条带的写锁；
+ * 3、单个方法的调用是原子的，多次调用的组合（遍历、路径、最短路径等算法）在并发修改期间看到的是修改过程中的图，
+ * 需要一致的结果时先调用snapshot()取得只读快照再查询（其他线程随后可以通过latestSnapshot()取得该快照）；
+ * 连通分量数、分量编号与isConnected由无锁的并查集回答，新增弧/边时在持有条带锁期间即合并两端，
+ * 只在删除弧/边或顶点之后的下一次查询时重新建立（逐行持有读锁扫描，不阻塞其他条带的写入）；
+ * 4、游标即邻接点的索引值，行被并发修改时游标仍然有效（返回大于该索引值的下一个邻接点）；
+ * 5、不支持顶点的哈希索引与拓扑顺序的增量维护。
+ */
+public class ConcurrentGraph<E, T, V> extends AbstractGraph<E, T, V> {
+    private static final int[] NO_INDEXES = new int[0];
+    private static final Object[] NO_OBJECTS = new Object[0];
+
+    /**
+     * 条带锁（StampedLock不可重入，持有一个条带的锁时不再获取其他条带的读锁）
+     */
+    private final Lock[] readLocks, writeLocks;
+    private final int stripeMask;
+    /**
+     * 添加、插入、删除顶点之间互斥
+     */
+    private final Object vertexLock = new Object();
+    /**
+     * 顶点、出弧行、入弧行（仅有向图）的分块数组，块分配之后不再移动，扩容只复制外层数组
+     */
+    private volatile Object[][] vertexes = new Object[1][];
+    private volatile Row[][] outRows = new Row[1][], inRows;
+    private volatile int vertexNum;
+    private final LongAdder edgeNum = new LongAdder();
+    /**
+     * 连通性跟踪（首次查询时建立，随新增弧/边、追加顶点增量更新，为null表示需要重新建立）
+     */
+    private volatile ConcurrentConnectivity unionFind;
+
+    /**
+     * 条带数为处理器数的4倍（至少16）向上取整到2的幂
+     */
+    public ConcurrentGraph(@NotNull GraphKind graphKind) {
+        this(graphKind, Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    /**
+     * @param stripeNum 条带数，向上取整到2的幂
+     */
+    public ConcurrentGraph(@NotNull GraphKind graphKind, int stripeNum) {
+        super(graphKind);
+        if (stripeNum <= 0)
+            throw new IllegalArgumentException("条带数必须为正数：" + stripeNum);
+        int n = stripeNum == 1 ? 1 : Integer.highestOneBit(stripeNum - 1) << 1;
+        readLocks = new Lock[n];
+        writeLocks = new Lock[n];
+        for (int s = 0; s < n; s++) {
+            StampedLock lock = new StampedLock();
+            readLocks[s] = lock.asReadLock();
+            writeLocks[s] = lock.asWriteLock();
+        }
+        stripeMask = n - 1;
+        if (isDirectedGraph())
+            inRows = new Row[1][];
+    }
+
+    public ConcurrentGraph(@NotNull List<E> vertexes, @NotNull List<Edge<T, V>> edges, @NotNull GraphKind graphKind) {
+        this(graphKind);
+        vertexes.forEach(this::addVertex);
+        edges.forEach(edge -> putEdge(edge.getTailIndex(), edge.getHeadIndex(), isNetwork() ? edge.getWeight() : true, edge.getInfo()));
+    }
+
+    /**
+     * 一个顶点的全部出弧（或入弧），由所在条带的锁保护
+     */
+    private static final class Row {
+        private int size;
+        /**
+         * 另一端点的索引值（升序）
+         */
+        private int[] indexes = NO_INDEXES;
+        private Object[] weights = NO_OBJECTS;
+        /**
+         * 信息（首次存入非null信息时才分配）
+         */
+        private Object[] infos;
+
+        /**
+         * @return 另一端点index的位置，不存在时返回-(插入位置)-1
+         */
+        int find(int index) {
+            return Arrays.binarySearch(indexes, 0, size, index);
+        }
+
+        /**
+         * @return 第一个大于index的另一端点的位置
+         */
+        int after(int index) {
+            int pos = find(index);
+            return pos >= 0 ? pos + 1 : -pos - 1;
+        }
+
+        void insert(int pos, int index, Object weight, Object info) {
+            if (size == indexes.length) {
+                int capacity = Math.max(4, size + (size >> 1));
+                indexes = Arrays.copyOf(indexes, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                if (infos != null)
+                    infos = Arrays.copyOf(infos, capacity);
+            }
+            System.arraycopy(indexes, pos, indexes, pos + 1, size - pos);
+            System.arraycopy(weights, pos, weights, pos + 1, size - pos);
+            if (infos != null) {
+                System.arraycopy(infos, pos, infos, pos + 1, size - pos);
+                infos[pos] = null;
+            }
+            indexes[pos] = index;
+            ++size;
+            set(pos, weight, info);
+        }
+
+        void remove(int pos) {
+            --size;
+            System.arraycopy(indexes, pos + 1, indexes, pos, size - pos);
+            System.arraycopy(weights, pos + 1, weights, pos, size - pos);
+            weights[size] = null;
+            if (infos != null) {
+                System.arraycopy(infos, pos + 1, infos, pos, size - pos);
+                infos[size] = null;
+            }
+        }
+
+        void set(int pos, Object weight, Object info) {
+            weights[pos] = weight;
+            setInfo(pos, info);
+        }
+
+        void setInfo(int pos, Object info) {
+            if (info != null && infos == null)
+                infos = new Object[indexes.length];
+            if (infos != null)
+                infos[pos] = info;
+        }
+
+        /**
+         * 在index处插入了顶点，不小于index的索引值加1
+         */
+        void vertexInserted(int index) {
+            for (int p = after(index - 1); p < size; p++)
+                ++indexes[p];
+        }
+
+        /**
+         * 删除了顶点index，去掉以其为另一端点的弧，大于index的索引值减1
+         */
+        void vertexDeleted(int index) {
+            int pos = find(index);
+            if (pos >= 0)
+                remove(pos);
+            for (int p = pos >= 0 ? pos : -pos - 1; p < size; p++)
+                --indexes[p];
+        }
+
+        int[] copyIndexes() {
+            return Arrays.copyOf(indexes, size);
+        }
+
+        GraphSnapshot.Row freeze() {
+            return GraphSnapshot.Row.of(copyIndexes(), Arrays.copyOf(weights, size), infos == null ? null : Arrays.copyOf(infos, size));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentGraph{" +
+                "VertexNum=" + vertexNum +
+                ", EdgeNum=" + edgeNum.sum() +
+                ", stripeNum=" + readLocks.length +
+                ", graphKind=" + graphKind +
+                '}';
+    }
+
+    private Lock readLock(int index) {
+        return readLocks[index & stripeMask];
+    }
+
+    /**
+     * 按条带序号从小到大获取index1、index2所在条带的写锁（同一条带只获取一次）
+     */
+    private void lockPair(int index1, int index2) {
+        int s1 = index1 & stripeMask, s2 = index2 & stripeMask;
+        writeLocks[Math.min(s1, s2)].lock();
+        if (s1 != s2)
+            writeLocks[Math.max(s1, s2)].lock();
+    }
+
+    private void unlockPair(int index1, int index2) {
+        int s1 = index1 & stripeMask, s2 = index2 & stripeMask;
+        if (s1 != s2)
+            writeLocks[Math.max(s1, s2)].unlock();
+        writeLocks[Math.min(s1, s2)].unlock();
+    }
+
+    /**
+     * 按条带序号从小到大获取全部条带的锁
+     */
+    private static void lockAll(Lock[] locks) {
+        for (Lock lock : locks)
+            lock.lock();
+    }
+
+    private static void unlockAll(Lock[] locks) {
+        for (int s = locks.length - 1; s >= 0; s--)
+            locks[s].unlock();
+    }
+
+    private static <R> R get(R[][] chunks, int index) {
+        return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    private static <R> void set(R[][] chunks, int index, R value) {
+        chunks[index >>> CHUNK_BITS][index & CHUNK_MASK] = value;
+    }
+
+    private Row outRow(int index) {
+        return get(outRows, index);
+    }
+
+    /**
+     * 无向图的入边与出边相同
+     */
+    private Row inRow(int index) {
+        return isDirectedGraph() ? get(inRows, index) : outRow(index);
+    }
+
+    /**
+     * @return 弧/边<index1,index2>在index2一端所在的行：有向图为index2的入弧行，无向图为index2的行，自环边返回null
+     */
+    private Row mirrorRow(int index1, int index2) {
+        if (isDirectedGraph())
+            return inRow(index2);
+        return index1 == index2 ? null : outRow(index2);
+    }
+
+    /**
+     * 生成弧/边，出弧行中的弧以index为弧尾，入弧行中的弧以index为弧头
+     */
+    @SuppressWarnings("unchecked")
+    private Edge<T, V> edgeAt(Row row, int pos, int index, boolean out) {
+        int other = row.indexes[pos];
+        V info = row.infos == null ? null : (V) row.infos[pos];
+        return out ? new Edge<>(index, other, row.weights[pos], info) : new Edge<>(other, index, row.weights[pos], info);
+    }
+
+    /**
+     * 保证能容纳capacity个顶点（在vertexLock中调用），已有的块不移动
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureVertexCapacity(int capacity) {
+        int chunkNum = (capacity + CHUNK_MASK) >>> CHUNK_BITS;
+        if (chunkNum > outRows.length) {
+            int length = Math.max(chunkNum, outRows.length * 2);
+            vertexes = Arrays.copyOf(vertexes, length);
+            outRows = Arrays.copyOf(outRows, length);
+            if (isDirectedGraph())
+                inRows = Arrays.copyOf(inRows, length);
+        }
+        //顶点逐个增加，之前的块都已分配
+        int c = chunkNum - 1;
+        if (outRows[c] == null) {
+            vertexes[c] = new Object[CHUNK_SIZE];
+            outRows[c] = new Row[CHUNK_SIZE];
+            if (isDirectedGraph())
+                inRows[c] = new Row[CHUNK_SIZE];
+        }
+    }
+
+    /**
+     * 在index处放入一个没有弧/边的顶点
+     */
+    private void putVertex(int index, E vertex) {
+        set(vertexes, index, vertex);
+        set(outRows, index, new Row());
+        if (isDirectedGraph())
+            set(inRows, index, new Row());
+    }
+
+    /**
+     * 不支持
+     */
+    @Override
+    public void setVertexIndexEnabled(boolean enabled) {
+        if (enabled)
+            throw new UnsupportedOperationException("并发图不支持顶点的哈希索引！");
+    }
+
+    /**
+     * 不支持
+     */
+    @Override
+    public void setTopologicalOrderMaintained(boolean maintained) {
+        if (maintained)
+            throw new UnsupportedOperationException("并发图不支持拓扑顺序的增量维护！");
+    }
+
+    /**
+     * 按条带序号从小到大持有全部条带的读锁，复制出所有顶点与行：期间弧/边的写入被阻塞，读取不受影响
+     * 多个线程生成快照时由vertexLock串行（同时排除了顶点的增删），并在持有锁时发布，
+     * 因此latestSnapshot返回的版本不会倒退
+     */
+    @Override
+    public Graph<E, T, V> snapshot() {
+        synchronized (vertexLock) {
+            lockAll(readLocks);
+            try {
+                Graph<E, T, V> snapshot = copy();
+                publishSnapshot(snapshot);
+                return snapshot;
+            } finally {
+                unlockAll(readLocks);
+            }
+        }
+    }
+
+    /**
+     * 复制出所有顶点与行（持有全部条带的读锁时调用）
+     */
+    private Graph<E, T, V> copy() {
+        int n = vertexNum;
+        int chunkNum = (n + CHUNK_MASK) >>> CHUNK_BITS;
+        Object[][] vertexChunks = new Object[chunkNum][];
+        Object[][] outChunks = new Object[chunkNum][], inChunks = isDirectedGraph() ? new Object[chunkNum][] : null;
+        for (int c = 0; c < chunkNum; c++) {
+            int size = Math.min(CHUNK_SIZE, n - (c << CHUNK_BITS));
+            vertexChunks[c] = Arrays.copyOf(vertexes[c], size);
+            outChunks[c] = freeze(outRows[c], size);
+            if (inChunks != null)
+                inChunks[c] = freeze(inRows[c], size);
+        }
+        return new GraphSnapshot<>(graphKind, n, (int) edgeNum.sum(), vertexChunks, outChunks, inChunks);
+    }
+
+    private static Object[] freeze(Row[] rows, int size) {
+        Object[] frozen = new Object[size];
+        for (int k = 0; k < size; k++)
+            frozen[k] = rows[k].freeze();
+        return frozen;
+    }
+
+    /**
+     * 并查集完整时直接返回；否则在vertexLock中（与追加顶点串行）先发布新的并查集，再逐行持有读锁扫描现有的弧/边：
+     * 发布之后新增的弧/边由putEdge合并，发布之前新增的弧/边由扫描合并，不会遗漏；
+     * 扫描期间其他查询在vertexLock上等待扫描完成
+     */
+    private ConcurrentConnectivity unionFind() {
+        ConcurrentConnectivity unionFind = this.unionFind;
+        if (unionFind != null && unionFind.isComplete())
+            return unionFind;
+        synchronized (vertexLock) {
+            unionFind = this.unionFind;
+            if (unionFind != null && unionFind.isComplete())
+                return unionFind;
+            int n = vertexNum;
+            unionFind = new ConcurrentConnectivity(n);
+            this.unionFind = unionFind;
+            for (int u = 0; u < n; u++) {
+                Lock lock = readLock(u);
+                lock.lock();
+                try {
+                    Row row = outRow(u);
+                    for (int pos = 0; pos < row.size; pos++)
+                        unionFind.union(u, row.indexes[pos]);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            unionFind.complete();
+            return unionFind;
+        }
+    }
+
+    /**
+     * 无向图为连通分量数，有向图为弱连通分量数，O(1)
+     */
+    @Override
+    public int getComponentNum() {
+        return unionFind().getComponentNum();
+    }
+
+    /**
+     * 并发合并期间求出的编号反映求出过程中的图；没有并发修改时缓存，返回其副本
+     */
+    @Override
+    public int[] getComponentLabels() {
+        return unionFind().labels().clone();
+    }
+
+    /**
+     * 无向图由并查集判断；有向图不在同一弱连通分量中则不连通，否则在当前的图上搜索路径
+     */
+    @Override
+    public boolean isConnected(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        if (index1 == index2)
+            return hasEdge(index1, index1);
+        if (!unionFind().isConnected(index1, index2))
+            return false;
+        return !isDirectedGraph() || hasPath(index1, index2);
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return (int) edgeNum.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E getVertex(int index) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            return (E) get(vertexes, index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E setVertex(int index, E vertex) {
+        lockPair(index, index);
+        try {
+            rangeCheck(index);
+            E oldVertex = (E) get(vertexes, index);
+            set(vertexes, index, vertex);
+            return oldVertex;
+        } finally {
+            unlockPair(index, index);
+        }
+    }
+
+    /**
+     * 新顶点先写入各块，再发布新的顶点数，不需要条带锁
+     */
+    @Override
+    public boolean addVertex(E vertex) {
+        synchronized (vertexLock) {
+            int n = vertexNum;
+            ensureVertexCapacity(n + 1);
+            putVertex(n, vertex);
+            //新顶点发布之前先加入并查集，其他线程一旦能以n加入弧/边，并查集中就已有n
+            ConcurrentConnectivity unionFind = this.unionFind;
+            if (unionFind != null)
+                unionFind.append();
+            vertexNum = n + 1;
+        }
+        return true;
+    }
+
+    @Override
+    public void addVertex(int index, E vertex) {
+        synchronized (vertexLock) {
+            int n = vertexNum;
+            if (index < 0 || index > n)
+                throw new IndexOutOfBoundsException("顶点下标必须<=" + n + "并且>=0！");
+            if (index == n) {
+                addVertex(vertex);
+                return;
+            }
+            lockAll(writeLocks);
+            try {
+                ensureVertexCapacity(n + 1);
+                for (int i = n; i > index; i--) {
+                    set(vertexes, i, get(vertexes, i - 1));
+                    set(outRows, i, get(outRows, i - 1));
+                    if (isDirectedGraph())
+                        set(inRows, i, get(inRows, i - 1));
+                }
+                putVertex(index, vertex);
+                for (int i = 0; i <= n; i++) {
+                    outRow(i).vertexInserted(index);
+                    if (isDirectedGraph())
+                        inRow(i).vertexInserted(index);
+                }
+                vertexNum = n + 1;
+                unionFind = null;
+            } finally {
+                unlockAll(writeLocks);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E deleteVertex(int index) {
+        synchronized (vertexLock) {
+            lockAll(writeLocks);
+            try {
+                rangeCheck(index);
+                int n = vertexNum;
+                E vertex = (E) get(vertexes, index);
+                Row out = outRow(index);
+                int reducedEdgeNum = out.size;
+                if (isDirectedGraph())
+                    reducedEdgeNum += inRow(index).size - (out.find(index) >= 0 ? 1 : 0);
+                for (int i = 0; i < n; i++) {
+                    if (i == index)
+                        continue;
+                    outRow(i).vertexDeleted(index);
+                    if (isDirectedGraph())
+                        inRow(i).vertexDeleted(index);
+                }
+                for (int i = index; i < n - 1; i++) {
+                    set(vertexes, i, get(vertexes, i + 1));
+                    set(outRows, i, get(outRows, i + 1));
+                    if (isDirectedGraph())
+                        set(inRows, i, get(inRows, i + 1));
+                }
+                set(vertexes, n - 1, null);
+                set(outRows, n - 1, null);
+                if (isDirectedGraph())
+                    set(inRows, n - 1, null);
+                vertexNum = n - 1;
+                edgeNum.add(-reducedEdgeNum);
+                unionFind = null;
+                return vertex;
+            } finally {
+                unlockAll(writeLocks);
+            }
+        }
+    }
+
+    /**
+     * 通过索引值添加一条边
+     *
+     * @return 旧的边
+     */
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2, T weight, V info) {
+        return putEdge(index1, index2, isNetwork() ? weight : true, info);
+    }
+
+    private Edge<T, V> putEdge(int index1, int index2, Object weight, Object info) {
+        lockPair(index1, index2);
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            Row row = outRow(index1), mirror = mirrorRow(index1, index2);
+            int pos = row.find(index2);
+            if (pos >= 0) {
+                Edge<T, V> old = edgeAt(row, pos, index1, true);
+                row.set(pos, weight, info);
+                if (mirror != null)
+                    mirror.set(mirror.find(index1), weight, info);
+                return old;
+            }
+            row.insert(-pos - 1, index2, weight, info);
+            if (mirror != null)
+                mirror.insert(-mirror.find(index1) - 1, index1, weight, info);
+            edgeNum.increment();
+            //持有条带锁时合并：此时索引值不会被插入、删除顶点改变
+            ConcurrentConnectivity unionFind = this.unionFind;
+            if (unionFind != null)
+                unionFind.union(index1, index2);
+            return null;
+        } finally {
+            unlockPair(index1, index2);
+        }
+    }
+
+    /**
+     * 各弧/边分别原子地加入，整个集合的加入不是原子的
+     */
+    @Override
+    public Set<Edge<T, V>> addEdgesByIndexes(Set<int[]> indexes) {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        indexes.forEach(e -> {
+            if (e == null || e.length != 2)
+                throw new RuntimeException("生成弧/边有且仅有两个顶点的索引值");
+            else
+                edges.add(putEdge(e[0], e[1], isNetwork() ? null : true, null));
+        });
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> deleteEdge(int index1, int index2) {
+        lockPair(index1, index2);
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            Row row = outRow(index1), mirror = mirrorRow(index1, index2);
+            int pos = row.find(index2);
+            if (pos < 0)
+                return null;
+            Edge<T, V> old = edgeAt(row, pos, index1, true);
+            row.remove(pos);
+            if (mirror != null)
+                mirror.remove(mirror.find(index1));
+            edgeNum.decrement();
+            unionFind = null;
+            return old;
+        } finally {
+            unlockPair(index1, index2);
+        }
+    }
+
+    @Override
+    public Edge<T, V> updateEdge(int index1, int index2, T weight, V info) {
+        return update(index1, index2, true, isNetwork() ? weight : true, true, info);
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeWeight(int index1, int index2, T weight) {
+        return update(index1, index2, isNetwork(), weight, false, null);
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeInfo(int index1, int index2, V info) {
+        return update(index1, index2, false, null, true, info);
+    }
+
+    /**
+     * 修改已有的弧/边的权值和（或）信息
+     */
+    private Edge<T, V> update(int index1, int index2, boolean updateWeight, Object weight, boolean updateInfo, Object info) {
+        lockPair(index1, index2);
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            Row row = outRow(index1), mirror = mirrorRow(index1, index2);
+            int pos = row.find(index2);
+            if (pos < 0)
+                throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+            int mirrorPos = mirror == null ? -1 : mirror.find(index1);
+            if (updateWeight) {
+                row.weights[pos] = weight;
+                if (mirror != null)
+                    mirror.weights[mirrorPos] = weight;
+            }
+            if (updateInfo) {
+                row.setInfo(pos, info);
+                if (mirror != null)
+                    mirror.setInfo(mirrorPos, info);
+            }
+            return edgeAt(row, pos, index1, true);
+        } finally {
+            unlockPair(index1, index2);
+        }
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        Lock lock = readLock(index1);
+        lock.lock();
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            Row row = outRow(index1);
+            int pos = row.find(index2);
+            if (pos < 0)
+                throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+            return isNetwork() ? WeightColumn.toDouble(row.weights[pos]) : 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 游标即邻接点的索引值；取得游标之后该弧/边若已被并发删除，返回Double.POSITIVE_INFINITY，
+     * 即视为不存在（最短路径不会经由它得到有限的距离），而不抛出异常
+     */
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        if (!isNetwork())
+            return 1;
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Row row = outRow(index);
+            int pos = row.find(cursor);
+            return pos < 0 ? Double.POSITIVE_INFINITY : WeightColumn.toDouble(row.weights[pos]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        Lock lock = readLock(index1);
+        lock.lock();
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            return outRow(index1).find(index2) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Edge<T, V> getEdge(int index1, int index2) {
+        Lock lock = readLock(index1);
+        lock.lock();
+        try {
+            rangeCheck(index1);
+            rangeCheck(index2);
+            Row row = outRow(index1);
+            int pos = row.find(index2);
+            return pos < 0 ? null : edgeAt(row, pos, index1, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Edge<T, V>> getInEdges(int index) {
+        return edgesOf(index, false);
+    }
+
+    @Override
+    public Edge<T, V> getFirstInEdge(int index) {
+        return firstEdgeOf(index, false);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getOutEdges(int index) {
+        return edgesOf(index, true);
+    }
+
+    @Override
+    public Edge<T, V> getFirstOutEdge(int index) {
+        return firstEdgeOf(index, true);
+    }
+
+    private Set<Edge<T, V>> edgesOf(int index, boolean out) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Set<Edge<T, V>> edges = new HashSet<>();
+            Row row = out ? outRow(index) : inRow(index);
+            for (int pos = 0; pos < row.size; pos++)
+                edges.add(edgeAt(row, pos, index, out));
+            return edges;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Edge<T, V> firstEdgeOf(int index, boolean out) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Row row = out ? outRow(index) : inRow(index);
+            return row.size == 0 ? null : edgeAt(row, 0, index, out);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Edge<T, V>> getAdjacentEdges(int index) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Set<Edge<T, V>> edges = new HashSet<>();
+            Row in = inRow(index);
+            for (int pos = 0; pos < in.size; pos++)
+                edges.add(edgeAt(in, pos, index, false));
+            if (isDirectedGraph()) {
+                Row out = outRow(index);
+                for (int pos = 0; pos < out.size; pos++)
+                    //自环已作为入弧加入
+                    if (out.indexes[pos] != index)
+                        edges.add(edgeAt(out, pos, index, true));
+            }
+            return edges;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            return inRow(index).size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            return outRow(index).size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getDegree(int index) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Row out = outRow(index);
+            if (!isDirectedGraph())
+                return out.size;
+            return out.size + inRow(index).size - (out.find(index) >= 0 ? 1 : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在锁内复制出index的出弧行（或入弧行）中另一端点的索引值
+     */
+    private int[] adjacentIndexes(int index, boolean out) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            return (out ? outRow(index) : inRow(index)).copyIndexes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph())
+            return vertexesOf(adjacentIndexes(index, false), index);
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph())
+            return indexesOf(adjacentIndexes(index, false), index);
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph())
+            return vertexesOf(adjacentIndexes(index, true), index);
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph())
+            return indexesOf(adjacentIndexes(index, true), index);
+        return getAdjacentVertexIndexes(index);
+    }
+
+    /**
+     * 有向图中出邻接点与入邻接点均按索引值升序归并
+     */
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        if (!isDirectedGraph())
+            return vertexesOf(adjacentIndexes(index, true), index);
+        int[] out, in;
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            out = outRow(index).copyIndexes();
+            in = inRow(index).copyIndexes();
+        } finally {
+            lock.unlock();
+        }
+        List<E> vertexes = new ArrayList<>();
+        int p = 0, q = 0;
+        while (p < out.length || q < in.length) {
+            int i;
+            if (q == in.length || (p < out.length && out[p] <= in[q]))
+                i = out[p++];
+            else
+                i = in[q++];
+            if (i != index)
+                vertexes.add(getVertex(i));
+        }
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        Set<Integer> vertexIndexes = indexesOf(adjacentIndexes(index, true), index);
+        if (isDirectedGraph())
+            vertexIndexes.addAll(indexesOf(adjacentIndexes(index, false), index));
+        return vertexIndexes;
+    }
+
+    /**
+     * @return 除index本身以外的顶点（在锁外逐个读取）
+     */
+    private List<E> vertexesOf(int[] indexes, int index) {
+        List<E> vertexes = new ArrayList<>();
+        for (int i : indexes)
+            if (i != index)
+                vertexes.add(getVertex(i));
+        return vertexes;
+    }
+
+    private Set<Integer> indexesOf(int[] indexes, int index) {
+        Set<Integer> vertexIndexes = new HashSet<>();
+        for (int i : indexes)
+            if (i != index)
+                vertexIndexes.add(i);
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即邻接点的索引值，下一个游标是行中大于它的第一个邻接点
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        return nextCursor(index, cursor, true);
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
+    }
+
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        return nextCursor(index, cursor, !isDirectedGraph());
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
+    }
+
+    private int nextCursor(int index, int cursor, boolean out) {
+        Lock lock = readLock(index);
+        lock.lock();
+        try {
+            rangeCheck(index);
+            Row row = out ? outRow(index) : inRow(index);
+            int p = row.after(cursor);
+            if (p < row.size && row.indexes[p] == index)
+                ++p;
+            return p < row.size ? row.indexes[p] : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 持有全部条带的读锁，返回同一时刻的所有顶点
+     */
+    @Override
+    public Object[] getVertexes() {
+        lockAll(readLocks);
+        try {
+            Object[] vertexes = new Object[vertexNum];
+            for (int i = 0; i < vertexes.length; i++)
+                vertexes[i] = get(this.vertexes, i);
+            return vertexes;
+        } finally {
+            unlockAll(readLocks);
+        }
+    }
+
+    /**
+     * 逐个顶点在锁内读取其出弧/边，需要整个图同一时刻的弧/边时请使用snapshot().getEdges()
+     */
+    @Override
+    public Set<Edge<T, V>> getEdges() {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int u = 0; u < vertexNum; u++) {
+            Lock lock = readLock(u);
+            lock.lock();
+            try {
+                if (u >= vertexNum)
+                    break;
+                Row row = outRow(u);
+                for (int pos = 0; pos < row.size; pos++)
+                    if (isDirectedGraph() || u <= row.indexes[pos])
+                        edges.add(edgeAt(row, pos, u, true));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return edges;
+    }
+}
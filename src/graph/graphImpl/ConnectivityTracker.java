@@ -0,0 +1,137 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+
+/**
+ * 动态连通性跟踪（并查集）
+ * 无向图跟踪连通分量，有向图跟踪弱连通分量（忽略弧的方向）。
+ * 按秩合并并在合并时压缩路径，新增弧/边与追加顶点为近似O(1)，分量数查询为O(1)，连通性查询不超过O(log V)。
+ * 并查集不支持拆分，删除弧/边、删除顶点或在中间插入顶点后由AbstractGraph丢弃，
+ * 下一次查询时按现有的弧/边重新建立，为O(V+E)。
+ * 分量编号求出后缓存，直到下一次合并或追加顶点。
+ * 查询只沿parent向上查找，不压缩路径（按秩合并保证树高不超过log V），分量编号在缓存前求出再以volatile字段发布，
+ * 因此查询不写入任何共享的数组，可以被多个线程同时调用；合并与追加顶点由修改图的线程调用。
+ */
+final class ConnectivityTracker {
+    private int[] parent;
+    private byte[] rank;
+    private int vertexNum;
+    private int componentNum;
+    /**
+     * 缓存的分量编号，为null表示需要重新求出
+     */
+    private volatile int[] labels;
+
+    private ConnectivityTracker(int vertexNum) {
+        int capacity = Math.max(16, vertexNum);
+        parent = new int[capacity];
+        rank = new byte[capacity];
+        for (int i = 0; i < vertexNum; i++)
+            parent[i] = i;
+        this.vertexNum = vertexNum;
+        this.componentNum = vertexNum;
+    }
+
+    /**
+     * 按图中现有的弧/边建立
+     */
+    static ConnectivityTracker build(AbstractGraph<?, ?, ?> graph) {
+        int vertexNum = graph.getVertexNum();
+        ConnectivityTracker tracker = new ConnectivityTracker(vertexNum);
+        for (int u = 0; u < vertexNum; u++)
+            for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c))
+                tracker.union(u, graph.getOutAdjacentVertexIndexAt(u, c));
+        return tracker;
+    }
+
+    /**
+     * 查找根结点并压缩路径（只在合并时使用）
+     */
+    private int find(int index) {
+        int root = index;
+        while (parent[root] != root)
+            root = parent[root];
+        while (parent[index] != root) {
+            int next = parent[index];
+            parent[index] = root;
+            index = next;
+        }
+        return root;
+    }
+
+    /**
+     * 合并index1与index2所在的分量
+     */
+    void union(int index1, int index2) {
+        int root1 = find(index1), root2 = find(index2);
+        if (root1 == root2)
+            return;
+        if (rank[root1] < rank[root2])
+            parent[root1] = root2;
+        else if (rank[root1] > rank[root2])
+            parent[root2] = root1;
+        else {
+            parent[root2] = root1;
+            ++rank[root1];
+        }
+        --componentNum;
+        labels = null;
+    }
+
+    /**
+     * 只读地查找根结点，供查询使用
+     */
+    private int root(int index) {
+        while (parent[index] != index)
+            index = parent[index];
+        return index;
+    }
+
+    boolean isConnected(int index1, int index2) {
+        return root(index1) == root(index2);
+    }
+
+    int getComponentNum() {
+        return componentNum;
+    }
+
+    /**
+     * 在末尾追加一个孤立顶点，它单独成为一个分量
+     */
+    void append() {
+        if (vertexNum == parent.length) {
+            int capacity = vertexNum + (vertexNum >> 1);
+            parent = Arrays.copyOf(parent, capacity);
+            rank = Arrays.copyOf(rank, capacity);
+        }
+        parent[vertexNum] = vertexNum;
+        ++vertexNum;
+        ++componentNum;
+        labels = null;
+    }
+
+    /**
+     * @return 各顶点所在分量的编号，按分量中最小的索引值从0开始连续编号；
+     * 在下一次合并或追加顶点之前重复返回同一个数组，不得修改
+     */
+    int[] labels() {
+        int[] labels = this.labels;
+        if (labels == null)
+            this.labels = labels = computeLabels();
+        return labels;
+    }
+
+    private int[] computeLabels() {
+        int[] labels = new int[vertexNum];
+        int[] rootLabels = new int[vertexNum];
+        Arrays.fill(rootLabels, -1);
+        int next = 0;
+        for (int i = 0; i < vertexNum; i++) {
+            int root = root(i);
+            if (rootLabels[root] == -1)
+                rootLabels[root] = next++;
+            labels[i] = rootLabels[root];
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,93 @@
+package graph.graphImpl;
+
+import graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 迭代式深度优先搜索的显式栈
+ * 每一帧由三个int组成：顶点索引值、该顶点出邻接点的游标、进入该顶点时的前驱，
+ * 取代递归调用，使搜索深度不再受线程栈大小的限制。
+ * 栈中自底向上的顶点恰好是当前的搜索路径。
+ */
+final class DFSStack {
+    private int[] vertexes, cursors, pres;
+    private int size;
+
+    DFSStack(int capacity) {
+        vertexes = new int[capacity];
+        cursors = new int[capacity];
+        pres = new int[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return vertexes.length;
+    }
+
+    /**
+     * 压入一帧，游标从头开始
+     *
+     * @param v   顶点索引值
+     * @param pre 前驱顶点索引值
+     */
+    void push(int v, int pre) {
+        if (size == vertexes.length) {
+            int newCapacity = Math.max(8, size << 1);
+            vertexes = Arrays.copyOf(vertexes, newCapacity);
+            cursors = Arrays.copyOf(cursors, newCapacity);
+            pres = Arrays.copyOf(pres, newCapacity);
+        }
+        vertexes[size] = v;
+        cursors[size] = -1;
+        pres[size++] = pre;
+    }
+
+    int pop() {
+        return vertexes[--size];
+    }
+
+    int top() {
+        return vertexes[size - 1];
+    }
+
+    int pre() {
+        return pres[size - 1];
+    }
+
+    /**
+     * 推进栈顶顶点的出邻接点游标
+     *
+     * @param graph 被搜索的图
+     * @return 栈顶顶点的下一个出邻接点索引值，-1表示已遍历完（此时应弹出栈顶）
+     */
+    int next(Graph<?, ?, ?> graph) {
+        int top = size - 1;
+        int cursor = graph.nextOutAdjacentCursor(vertexes[top], cursors[top]);
+        cursors[top] = cursor;
+        return cursor == -1 ? -1 : graph.getOutAdjacentVertexIndexAt(vertexes[top], cursor);
+    }
+
+    /**
+     * @return 当前路径（栈底到栈顶的顶点索引值）
+     */
+    List<Integer> toPath() {
+        List<Integer> path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            path.add(vertexes[i]);
+        return path;
+    }
+}
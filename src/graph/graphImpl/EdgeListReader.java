@@ -0,0 +1,328 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.GraphKind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 边表文件的流式导入
+ * 每行一条弧/边：弧尾 弧头 [权值 [信息]]，字段之间以空格、制表符或逗号分隔，信息为权值之后的整行剩余部分；
+ * 权值为“-”或缺省表示null，非网忽略权值；空行与以#开头的行被跳过。
+ *
+ * 文件按行切分为若干段，每段单独映射到内存，由ForkJoinPool中的任务并行解析：
+ * 解析直接读取映射的缓冲区，不为每行生成String，名字先在段内的NameTable中换成段内编号，
+ * 弧尾、弧头、权值存放在原始类型的列中；每批段解析完成后由调用线程按文件中的顺序合并，
+ * 段内每个不同的名字只交给VertexInterner驻留一次，再把弧/边登记到GraphBuilder中。
+ * 因此结果与逐行顺序读取完全相同（包括顶点的编号与重复弧/边的取舍），同一时刻只有一批段的解析结果在内存中。
+ *
+ * @param <E> 顶点类型
+ */
+public class EdgeListReader<E> {
+    private static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+    /**
+     * 有效数字不超过15位时，尾数与10的幂都能用double精确表示，一次除法即得到正确舍入的结果
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int k = 1; k <= MAX_FAST_DIGITS; k++)
+            POWERS_OF_TEN[k] = POWERS_OF_TEN[k - 1] * 10;
+    }
+
+    private final VertexInterner<E> interner;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelism = pool.getParallelism();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * @param interner 顶点名字的驻留器，如VertexInterner.strings()、VertexInterner.indexes()
+     */
+    public EdgeListReader(@NotNull VertexInterner<E> interner) {
+        this.interner = interner;
+    }
+
+    /**
+     * @param pool        解析使用的线程池
+     * @param parallelism 每批并行解析的段数
+     * @return 导入器本身
+     */
+    public EdgeListReader<E> setPool(@NotNull ForkJoinPool pool, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("并行度必须为正数：" + parallelism);
+        this.pool = pool;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param chunkSize 每段的字节数（段在其后的第一个换行处结束）
+     * @return 导入器本身
+     */
+    public EdgeListReader<E> setChunkSize(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("分段大小必须为正数：" + chunkSize);
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * 导入边表文件
+     *
+     * @param path      边表文件
+     * @param graphKind 图类型
+     * @return 登记了所有顶点与弧/边的构建器，权值为Double，信息为String
+     */
+    public GraphBuilder<E, Double, String> read(@NotNull Path path, @NotNull GraphKind graphKind) throws IOException {
+        boolean network = graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+        GraphBuilder<E, Double, String> builder = new GraphBuilder<>(graphKind);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = split(channel);
+            int chunkNum = bounds.length - 1;
+            for (int first = 0; first < chunkNum; first += parallelism) {
+                Chunk[] chunks = new Chunk[Math.min(parallelism, chunkNum - first)];
+                for (int k = 0; k < chunks.length; k++)
+                    chunks[k] = new Chunk(channel, bounds[first + k], bounds[first + k + 1], network);
+                if (chunks.length == 1)
+                    chunks[0].invoke();
+                else
+                    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(chunks)));
+                for (Chunk chunk : chunks)
+                    merge(chunk, builder, network);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * 按chunkSize切分文件，每个分界点都移到其后第一个行首
+     *
+     * @return 各段的起止位置
+     */
+    private long[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        for (long position = chunkSize; position < size; ) {
+            long bound = nextLineStart(channel, position - 1, window);
+            bounds.add(bound);
+            position = bound + chunkSize;
+        }
+        if (bounds.get(bounds.size() - 1) < size)
+            bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int k = 0; k < result.length; k++)
+            result[k] = bounds.get(k);
+        return result;
+    }
+
+    /**
+     * @return from处或其后第一个换行符的下一个位置，没有换行符则为文件末尾
+     */
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer window) throws IOException {
+        for (; ; ) {
+            window.clear();
+            int n = channel.read(window, from);
+            if (n <= 0)
+                return channel.size();
+            for (int k = 0; k < n; k++)
+                if (window.get(k) == '\n')
+                    return from + k + 1;
+            from += n;
+        }
+    }
+
+    /**
+     * 把一段的解析结果换成全局的顶点索引值并登记到构建器中
+     */
+    private void merge(Chunk chunk, GraphBuilder<E, Double, String> builder, boolean network) {
+        NameTable names = chunk.names;
+        ByteBuffer bytes = ByteBuffer.wrap(names.getBytes());
+        int[] indexes = new int[names.size()];
+        int maxIndex = -1;
+        for (int id = 0; id < indexes.length; id++) {
+            indexes[id] = interner.intern(bytes, names.getStart(id), names.getLength(id));
+            maxIndex = Math.max(maxIndex, indexes[id]);
+        }
+        while (builder.getVertexNum() <= maxIndex)
+            builder.addVertex(interner.getVertex(builder.getVertexNum()));
+        for (int k = 0; k < chunk.size; k++) {
+            Double weight = network && !Double.isNaN(chunk.weights[k]) ? chunk.weights[k] : null;
+            builder.addEdge(indexes[chunk.tails[k]], indexes[chunk.heads[k]], weight, chunk.infos == null ? null : chunk.infos[k]);
+        }
+    }
+
+    /**
+     * 解析映射到内存的一段，名字换成段内编号
+     */
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MappedByteBuffer buffer;
+        /**
+         * 本段在文件中的起始位置，用于报告出错的位置
+         */
+        private final long start;
+        private final boolean network;
+        private final NameTable names = new NameTable();
+        private int[] tails = new int[16], heads = new int[16];
+        private double[] weights = new double[16];
+        /**
+         * 信息列（首次遇到信息时才分配）
+         */
+        private String[] infos;
+        private int size;
+
+        Chunk(FileChannel channel, long start, long end, boolean network) throws IOException {
+            if (end - start > Integer.MAX_VALUE)
+                throw new RuntimeException("位置" + start + "处的行超过2GB！");
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            this.start = start;
+            this.network = network;
+        }
+
+        @Override
+        protected void compute() {
+            int length = buffer.limit();
+            int p = 0;
+            while (p < length) {
+                p = skipSeparators(p, length);
+                if (p == length)
+                    break;
+                byte b = buffer.get(p);
+                if (b == '\n' || b == '#') {
+                    p = lineEnd(p, length) + 1;
+                    continue;
+                }
+                int tailEnd = tokenEnd(p, length);
+                int tail = names.intern(buffer, p, tailEnd - p);
+                p = skipSeparators(tailEnd, length);
+                int headEnd = tokenEnd(p, length);
+                if (headEnd == p)
+                    throw new RuntimeException("位置" + (start + p) + "处缺少弧头！");
+                int head = names.intern(buffer, p, headEnd - p);
+                p = skipSeparators(headEnd, length);
+                double weight = Double.NaN;
+                int weightEnd = tokenEnd(p, length);
+                if (weightEnd > p) {
+                    if (network)
+                        weight = parseWeight(p, weightEnd);
+                    p = skipSeparators(weightEnd, length);
+                }
+                int lineEnd = lineEnd(p, length), infoEnd = lineEnd;
+                while (infoEnd > p && isBlank(buffer.get(infoEnd - 1)))
+                    --infoEnd;
+                add(tail, head, weight, infoEnd > p ? decode(p, infoEnd) : null);
+                p = lineEnd + 1;
+            }
+        }
+
+        private void add(int tail, int head, double weight, String info) {
+            if (size == tails.length) {
+                int capacity = size + (size >> 1);
+                tails = Arrays.copyOf(tails, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                if (infos != null)
+                    infos = Arrays.copyOf(infos, capacity);
+            }
+            tails[size] = tail;
+            heads[size] = head;
+            weights[size] = weight;
+            if (info != null && infos == null)
+                infos = new String[tails.length];
+            if (infos != null)
+                infos[size] = info;
+            ++size;
+        }
+
+        /**
+         * 解析[from, to)中的权值：不超过15位有效数字且不带指数的小数直接由字节算出，其余交给Double.parseDouble
+         */
+        private double parseWeight(int from, int to) {
+            int p = from;
+            boolean negative = buffer.get(p) == '-';
+            if (negative || buffer.get(p) == '+')
+                ++p;
+            if (negative && p == to)
+                return Double.NaN;
+            long mantissa = 0;
+            int digits = 0, fractionDigits = 0;
+            boolean point = false, fast = p < to;
+            for (; p < to && fast; p++) {
+                byte b = buffer.get(p);
+                if (b == '.' && !point)
+                    point = true;
+                else if (b >= '0' && b <= '9' && digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    ++digits;
+                    if (point)
+                        ++fractionDigits;
+                } else
+                    fast = false;
+            }
+            if (fast && digits > 0) {
+                double weight = mantissa / POWERS_OF_TEN[fractionDigits];
+                return negative ? -weight : weight;
+            }
+            String token = decode(from, to);
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("位置" + (start + from) + "处的权值" + token + "不是数值！");
+            }
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            ByteBuffer view = buffer.duplicate();
+            view.position(from);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int skipSeparators(int p, int length) {
+            while (p < length && isSeparator(buffer.get(p)))
+                ++p;
+            return p;
+        }
+
+        private int tokenEnd(int p, int length) {
+            while (p < length && buffer.get(p) != '\n' && !isSeparator(buffer.get(p)))
+                ++p;
+            return p;
+        }
+
+        /**
+         * @return p处或其后第一个换行符的位置，没有换行符则为length
+         */
+        private int lineEnd(int p, int length) {
+            while (p < length && buffer.get(p) != '\n')
+                ++p;
+            return p;
+        }
+
+        private static boolean isSeparator(byte b) {
+            return b == ',' || isBlank(b);
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * 边表文件的流式导出，格式与EdgeListReader相同，字段以制表符分隔
+ * 与getEdges()导出的弧/边相同，但逐个顶点取出其出弧/边写入固定大小的缓冲区，不生成整个图的弧/边集合，
+ * 额外的内存只有各顶点名字的编码与一个顶点的出弧/边。
+ * 行按弧尾索引值、再按弧头索引值升序排列，无向图的每条边只写一次（较小的端点在前）。
+ * 顶点名字为String.valueOf(顶点)，名字中不应含有分隔符，信息中不应含有换行符；孤立顶点不会出现在边表中。
+ */
+public final class EdgeListWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private EdgeListWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * 把图的所有弧/边写成边表文件
+     *
+     * @param graph 图
+     * @param path  边表文件，已存在则覆盖
+     */
+    public static void write(@NotNull Graph<?, ?, ?> graph, @NotNull Path path) throws IOException {
+        int vertexNum = graph.getVertexNum();
+        byte[][] names = new byte[vertexNum][];
+        for (int i = 0; i < vertexNum; i++)
+            names[i] = String.valueOf(graph.getVertex(i)).getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            EdgeListWriter writer = new EdgeListWriter(channel);
+            for (int u = 0; u < vertexNum; u++) {
+                int tail = u;
+                Set<? extends Edge<?, ?>> outEdges = graph.getOutEdges(u);
+                Edge<?, ?>[] edges = outEdges.toArray(new Edge<?, ?>[0]);
+                Arrays.sort(edges, Comparator.comparingInt(e -> other(e, tail)));
+                for (Edge<?, ?> edge : edges) {
+                    int head = other(edge, tail);
+                    if (graph.isDirectedGraph() || tail <= head)
+                        writer.writeEdge(names[tail], names[head], graph.isNetwork(), edge);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * @return 弧/边除index以外的另一个端点（无向图中返回的边可能以index为弧头）
+     */
+    private static int other(Edge<?, ?> edge, int index) {
+        return edge.getTailIndex() == index ? edge.getHeadIndex() : edge.getTailIndex();
+    }
+
+    private void writeEdge(byte[] tail, byte[] head, boolean network, Edge<?, ?> edge) throws IOException {
+        put(tail);
+        put((byte) '\t');
+        put(head);
+        Object info = edge.getInfo();
+        if (network || info != null) {
+            put((byte) '\t');
+            double weight = network ? WeightColumn.toDouble(edge.getWeight()) : Double.NaN;
+            if (Double.isNaN(weight))
+                put((byte) '-');
+            else if (weight == Math.rint(weight) && Math.abs(weight) < 1e15)
+                putLong((long) weight);
+            else
+                put(Double.toString(weight).getBytes(StandardCharsets.US_ASCII));
+        }
+        if (info != null) {
+            put((byte) '\t');
+            put(String.valueOf(info).getBytes(StandardCharsets.UTF_8));
+        }
+        put((byte) '\n');
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining())
+            flush();
+        buffer.put(b);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        for (int from = 0; from < bytes.length; ) {
+            if (!buffer.hasRemaining())
+                flush();
+            int n = Math.min(bytes.length - from, buffer.remaining());
+            buffer.put(bytes, from, n);
+            from += n;
+        }
+    }
+
+    /**
+     * 按十进制写出整数，不经过String
+     */
+    private void putLong(long value) throws IOException {
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10)
+            divisor *= 10;
+        for (; divisor > 0; divisor /= 10)
+            put((byte) ('0' + value / divisor % 10));
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
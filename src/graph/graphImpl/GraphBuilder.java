@@ -0,0 +1,235 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.GraphKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 图的批量构建器
+ * 顶点与弧/边先收集到按列存放的数组中（弧尾、弧头、权值、信息），build时一次性生成最终的存储结构，
+ * 既不需要逐个addVertex导致的反复扩容，也不需要先生成一个List<Edge>再交给构造方法。
+ * 弧/边可以在其端点被添加之前登记，端点的合法性在build时统一检查；
+ * 重复的弧/边（无向图中(i,j)与(j,i)视为同一条）保留最后登记的那一条，与邻接矩阵覆盖写入的语义一致。
+ * build之后构建器仍可继续使用，每次build都生成一个独立的图。
+ *
+ * @param <E> 顶点类型
+ * @param <T> 权值类型
+ * @param <V> 信息类型
+ */
+public class GraphBuilder<E, T, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final GraphKind graphKind;
+    private final List<E> vertexes;
+    /**
+     * 弧/边的列：弧尾、弧头、权值（仅网使用）、信息（首次登记非null信息时才分配）
+     */
+    private int[] tails, heads;
+    private Object[] weights, infos;
+    private int edgeNum;
+
+    public GraphBuilder(@NotNull GraphKind graphKind) {
+        this(graphKind, DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param graphKind         图类型
+     * @param expectedVertexNum 预计的顶点数，用于预分配空间
+     * @param expectedEdgeNum   预计的弧/边数，用于预分配空间
+     */
+    public GraphBuilder(@NotNull GraphKind graphKind, int expectedVertexNum, int expectedEdgeNum) {
+        this.graphKind = graphKind;
+        this.vertexes = new ArrayList<>(Math.max(expectedVertexNum, 0));
+        int capacity = Math.max(expectedEdgeNum, 0);
+        this.tails = new int[capacity];
+        this.heads = new int[capacity];
+        if (isNetwork())
+            this.weights = new Object[capacity];
+    }
+
+    public GraphKind getKind() {
+        return graphKind;
+    }
+
+    public int getVertexNum() {
+        return vertexes.size();
+    }
+
+    /**
+     * @return 已登记的弧/边数（含重复登记的，buildAdjacencyList会就地合并重复的弧/边）
+     */
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    /**
+     * 登记一个顶点
+     *
+     * @param vertex 顶点
+     * @return 顶点的索引值
+     */
+    public int addVertex(E vertex) {
+        vertexes.add(vertex);
+        return vertexes.size() - 1;
+    }
+
+    public GraphBuilder<E, T, V> addVertexes(@NotNull List<E> vertexes) {
+        this.vertexes.addAll(vertexes);
+        return this;
+    }
+
+    /**
+     * 登记一条无权值的弧/边（网的权值为null）
+     */
+    public GraphBuilder<E, T, V> addEdge(int tailIndex, int headIndex) {
+        return addEdge(tailIndex, headIndex, null, null);
+    }
+
+    public GraphBuilder<E, T, V> addEdge(int tailIndex, int headIndex, T weight) {
+        return addEdge(tailIndex, headIndex, weight, null);
+    }
+
+    /**
+     * 登记一条弧/边，非网会忽略权值
+     *
+     * @param tailIndex 弧尾索引值
+     * @param headIndex 弧头索引值
+     * @param weight    权值
+     * @param info      信息
+     * @return 构建器本身
+     */
+    public GraphBuilder<E, T, V> addEdge(int tailIndex, int headIndex, T weight, V info) {
+        if (edgeNum == tails.length)
+            grow();
+        tails[edgeNum] = tailIndex;
+        heads[edgeNum] = headIndex;
+        if (isNetwork())
+            weights[edgeNum] = weight;
+        if (info != null && infos == null)
+            infos = new Object[tails.length];
+        if (infos != null)
+            infos[edgeNum] = info;
+        ++edgeNum;
+        return this;
+    }
+
+    /**
+     * 生成压缩稀疏行存储的图，时间复杂度O(V+E)
+     */
+    public GraphByCSR<E, T, V> buildCSR() {
+        return new GraphByCSR<>(new ArrayList<>(vertexes), tails, heads, weights, infos, edgeNum, graphKind);
+    }
+
+    /**
+     * 生成权值为double的压缩稀疏行存储的网（只支持DN/UDN，登记的权值必须为数值或null），时间复杂度O(V+E)
+     */
+    public GraphByDoubleWeightedCSR<E, V> buildDoubleWeightedCSR() {
+        return new GraphByDoubleWeightedCSR<>(new ArrayList<>(vertexes), tails, heads, weights, infos, edgeNum, graphKind);
+    }
+
+    /**
+     * 生成邻接表存储的图，时间复杂度O(V+E)
+     */
+    public GraphByAdjacencyList<E, T, V> buildAdjacencyList() {
+        deduplicate();
+        return new GraphByAdjacencyList<>(new ArrayList<>(vertexes), tails, heads, weights, infos, edgeNum, graphKind);
+    }
+
+    /**
+     * 生成邻接矩阵存储的图，时间复杂度O(V²+E)
+     */
+    public GraphByAdjacentMatrix<E, T, V> buildAdjacentMatrix() {
+        return new GraphByAdjacentMatrix<>(new ArrayList<>(vertexes), tails, heads, weights, infos, edgeNum, graphKind);
+    }
+
+    /**
+     * 生成位矩阵存储的图（只支持DG/UDG），时间复杂度O(V²/64+E)
+     */
+    public GraphByBitMatrix<E, T, V> buildBitMatrix() {
+        return new GraphByBitMatrix<>(new ArrayList<>(vertexes), tails, heads, weights, infos, edgeNum, graphKind);
+    }
+
+    private boolean isNetwork() {
+        return graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+    }
+
+    private boolean isDirectedGraph() {
+        return graphKind == GraphKind.DG || graphKind == GraphKind.DN;
+    }
+
+    private void grow() {
+        int newCapacity = Math.max(DEFAULT_CAPACITY, tails.length + (tails.length >> 1));
+        tails = Arrays.copyOf(tails, newCapacity);
+        heads = Arrays.copyOf(heads, newCapacity);
+        if (weights != null)
+            weights = Arrays.copyOf(weights, newCapacity);
+        if (infos != null)
+            infos = Arrays.copyOf(infos, newCapacity);
+    }
+
+    /**
+     * 就地去除重复的弧/边，只保留每组中最后登记的一条，其余弧/边保持登记顺序：
+     * 以(较小端点,较大端点)（有向图为(弧尾,弧头)）为关键字做两趟稳定的计数排序，
+     * 相同的弧/边排序后相邻且按登记顺序排列，时间复杂度O(V+E)
+     */
+    private void deduplicate() {
+        int vertexNum = vertexes.size();
+        int[] firsts = new int[edgeNum], seconds = new int[edgeNum];
+        for (int k = 0; k < edgeNum; k++) {
+            if (tails[k] < 0 || tails[k] >= vertexNum || heads[k] < 0 || heads[k] >= vertexNum)
+                throw new IndexOutOfBoundsException("顶点下标必须<" + (vertexNum - 1) + "并且>=0！");
+            boolean swap = !isDirectedGraph() && tails[k] > heads[k];
+            firsts[k] = swap ? heads[k] : tails[k];
+            seconds[k] = swap ? tails[k] : heads[k];
+        }
+        int[] order = countingSort(firsts, countingSort(seconds, null, vertexNum), vertexNum);
+        boolean[] dropped = new boolean[edgeNum];
+        for (int k = 0; k + 1 < edgeNum; k++)
+            if (firsts[order[k]] == firsts[order[k + 1]] && seconds[order[k]] == seconds[order[k + 1]])
+                dropped[order[k]] = true;
+        int n = 0;
+        for (int k = 0; k < edgeNum; k++) {
+            if (dropped[k])
+                continue;
+            tails[n] = tails[k];
+            heads[n] = heads[k];
+            if (weights != null)
+                weights[n] = weights[k];
+            if (infos != null)
+                infos[n] = infos[k];
+            ++n;
+        }
+        for (int k = n; k < edgeNum; k++) {
+            if (weights != null)
+                weights[k] = null;
+            if (infos != null)
+                infos[k] = null;
+        }
+        edgeNum = n;
+    }
+
+    /**
+     * 按keys做稳定的计数排序
+     *
+     * @param keys      排序关键字
+     * @param order     上一趟排序的结果（为null时按自然顺序）
+     * @param vertexNum 关键字的上界
+     * @return 排序后的弧/边序号
+     */
+    private int[] countingSort(int[] keys, int[] order, int vertexNum) {
+        int[] count = new int[vertexNum + 1];
+        for (int k = 0; k < edgeNum; k++)
+            ++count[keys[k] + 1];
+        for (int i = 0; i < vertexNum; i++)
+            count[i + 1] += count[i];
+        int[] sorted = new int[edgeNum];
+        for (int k = 0; k < edgeNum; k++) {
+            int a = order == null ? k : order[k];
+            sorted[count[keys[a]]++] = a;
+        }
+        return sorted;
+    }
+}
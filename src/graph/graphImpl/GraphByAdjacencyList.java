@@ -0,0 +1,586 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.GraphKind;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * 图-实现类（邻接表）
+ * 特性：
+ * 1、具有自环边，不具备平行边；
+ * 2、有权值；
+ * 3、有方向；
+ * 4、每个顶点分别维护出弧表与入弧表（无向图只使用出弧表），邻接点查询与度的计算为O(degree)，遍历为O(V+E)；
+ * 5、增删弧/边为O(degree)，删除时用表尾元素填补空位，因此邻接点的顺序不保证与插入顺序一致。
+ *
+ * 与邻接矩阵一样，弧/边对象在两端的表中共享，直接修改getEdge返回的Edge会反映到图中。
+ */
+public class GraphByAdjacencyList<E, T, V> extends AbstractGraph<E, T, V> {
+    /**
+     * 出弧表（无向图中即为边表）
+     */
+    private final List<ArcList<T, V>> outArcs;
+    /**
+     * 入弧表（仅有向图使用）
+     */
+    private final List<ArcList<T, V>> inArcs;
+    /**
+     * 顶点向量
+     */
+    private final List<E> vertexes;
+    /**
+     * 图的当前顶点数和弧数
+     */
+    private int vertexNum, edgeNum;
+
+    public GraphByAdjacencyList(@NotNull List<E> vertexes, @NotNull List<Edge<T, V>> edges, @NotNull GraphKind graphKind) {
+        this(vertexes, graphKind);
+        edges.forEach(edge -> putEdge(edge.getTailIndex(), edge.getHeadIndex(), isNetwork() ? edge.getWeight() : true, edge.getInfo()));
+    }
+
+    /**
+     * 供GraphBuilder使用：弧/边以列的形式给出且不含重复，先统计度再按度预留各表的容量，一次性写入
+     */
+    @SuppressWarnings("unchecked")
+    GraphByAdjacencyList(List<E> vertexes, int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m, GraphKind graphKind) {
+        this(vertexes, graphKind);
+        int[] outDegrees = new int[vertexNum];
+        int[] inDegrees = isDirectedGraph() ? new int[vertexNum] : outDegrees;
+        for (int i = 0; i < m; i++) {
+            rangeCheck(edgeTails[i]);
+            rangeCheck(edgeHeads[i]);
+            ++outDegrees[edgeTails[i]];
+            if (isDirectedGraph() || edgeTails[i] != edgeHeads[i])
+                ++inDegrees[edgeHeads[i]];
+        }
+        for (int i = 0; i < vertexNum; i++) {
+            outArcs.get(i).ensureCapacity(outDegrees[i]);
+            if (isDirectedGraph())
+                inArcs.get(i).ensureCapacity(inDegrees[i]);
+        }
+        for (int i = 0; i < m; i++) {
+            int tailIndex = edgeTails[i], headIndex = edgeHeads[i];
+            Edge<T, V> edge = new Edge<>(tailIndex, headIndex, isNetwork() ? edgeWeights[i] : true,
+                    edgeInfos == null ? null : (V) edgeInfos[i]);
+            outArcs.get(tailIndex).add(headIndex, edge);
+            if (isDirectedGraph())
+                inArcs.get(headIndex).add(tailIndex, edge);
+            else if (tailIndex != headIndex)
+                outArcs.get(headIndex).add(tailIndex, edge);
+        }
+        edgeNum = m;
+    }
+
+    public GraphByAdjacencyList(@NotNull GraphKind graphKind) {
+        this(new ArrayList<>(), graphKind);
+    }
+
+    public GraphByAdjacencyList(@NotNull List<E> vertexes, @NotNull GraphKind graphKind) {
+        super(graphKind);
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        this.outArcs = new ArrayList<>(vertexNum);
+        this.inArcs = new ArrayList<>(isDirectedGraph() ? vertexNum : 0);
+        for (int i = 0; i < vertexNum; i++) {
+            outArcs.add(new ArcList<>());
+            if (isDirectedGraph())
+                inArcs.add(new ArcList<>());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder().append("[\n");
+        for (int i = 0; i < vertexNum; i++)
+            stringBuilder.append(i).append(" -> ").append(outArcs.get(i)).append("\n");
+        return "GraphByAdjacencyList{\n" +
+                "vertexes=" + vertexes +
+                ",\nAdjacencyList=" + stringBuilder.append("]") +
+                ",\nVertexNum=" + vertexNum +
+                ",\nEdgeNum=" + edgeNum +
+                ",\ngraphKind=" + graphKind +
+                '}';
+    }
+
+    /**
+     * 入弧表：有向图为独立的入弧表，无向图与出弧表相同
+     */
+    private ArcList<T, V> inArcsOf(int index) {
+        return isDirectedGraph() ? inArcs.get(index) : outArcs.get(index);
+    }
+
+    /**
+     * 写入一条弧/边，若已存在则替换并返回旧的弧/边
+     */
+    private Edge<T, V> putEdge(int index1, int index2, Object weight, V info) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        Edge<T, V> edge = new Edge<>(index1, index2, weight, info);
+        ArcList<T, V> out = outArcs.get(index1);
+        int pos = out.indexOf(index2);
+        if (pos != -1) {
+            Edge<T, V> old = out.edges[pos];
+            out.edges[pos] = edge;
+            if (isDirectedGraph()) {
+                ArcList<T, V> in = inArcs.get(index2);
+                in.edges[in.indexOf(index1)] = edge;
+            } else if (index1 != index2) {
+                ArcList<T, V> mirror = outArcs.get(index2);
+                mirror.edges[mirror.indexOf(index1)] = edge;
+            }
+            edgeUpdated(index1, index2);
+            return old;
+        }
+        edgeAdded(index1, index2);
+        out.add(index2, edge);
+        if (isDirectedGraph())
+            inArcs.get(index2).add(index1, edge);
+        else if (index1 != index2)
+            outArcs.get(index2).add(index1, edge);
+        ++edgeNum;
+        return null;
+    }
+
+    /**
+     * 顶点索引值从from开始（含）整体偏移delta，
+     * 弧/边对象的端点不可变，因此需要重建端点变化的弧/边（两端共享同一个新对象）
+     */
+    private void shiftIndexes(int from, int delta) {
+        Map<Edge<T, V>, Edge<T, V>> shifted = new IdentityHashMap<>();
+        List<List<ArcList<T, V>>> tables = isDirectedGraph() ? Arrays.asList(outArcs, inArcs) : Collections.singletonList(outArcs);
+        for (List<ArcList<T, V>> table : tables)
+            for (ArcList<T, V> arcs : table)
+                for (int k = 0; k < arcs.size; k++) {
+                    if (arcs.indexes[k] >= from)
+                        arcs.indexes[k] += delta;
+                    Edge<T, V> edge = arcs.edges[k];
+                    if (edge.getTailIndex() >= from || edge.getHeadIndex() >= from)
+                        arcs.edges[k] = shifted.computeIfAbsent(edge, e -> new Edge<>(
+                                e.getTailIndex() >= from ? e.getTailIndex() + delta : e.getTailIndex(),
+                                e.getHeadIndex() >= from ? e.getHeadIndex() + delta : e.getHeadIndex(),
+                                e.getWeight(), e.getInfo()));
+                }
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    @Override
+    public E getVertex(int index) {
+        return vertexes.get(index);
+    }
+
+    @Override
+    public E setVertex(int index, E vertex) {
+        E oldVertex = vertexes.set(index, vertex);
+        vertexReplaced(index, oldVertex, vertex);
+        return oldVertex;
+    }
+
+    @Override
+    public boolean addVertex(E vertex) {
+        vertexes.add(vertex);
+        outArcs.add(new ArcList<>());
+        if (isDirectedGraph())
+            inArcs.add(new ArcList<>());
+        ++vertexNum;
+        vertexAdded(vertexNum - 1, vertex);
+        return true;
+    }
+
+    /**
+     * 在指定位置插入顶点，其后顶点的索引值依次加一，时间复杂度O(V+E)
+     *
+     * @param index  指定插入位置的索引值
+     * @param vertex 待插入顶点
+     */
+    @Override
+    public void addVertex(int index, E vertex) {
+        if (index < 0 || index > vertexNum)
+            throw new IndexOutOfBoundsException("顶点下标必须<=" + vertexNum + "并且>=0！");
+        shiftIndexes(index, 1);
+        vertexes.add(index, vertex);
+        outArcs.add(index, new ArcList<>());
+        if (isDirectedGraph())
+            inArcs.add(index, new ArcList<>());
+        ++vertexNum;
+        vertexAdded(index, vertex);
+    }
+
+    /**
+     * 删除指定索引值对应位置的顶点
+     * 先从邻接点的表中摘除关联的弧/边（O(degree)），再整体调整索引值（O(V+E)）
+     *
+     * @param index 删除index索引值对应的顶点
+     * @return 被删除的顶点
+     */
+    @Override
+    public E deleteVertex(int index) {
+        rangeCheck(index);
+        ArcList<T, V> out = outArcs.get(index);
+        for (int k = 0; k < out.size; k++) {
+            int head = out.indexes[k];
+            if (head == index)
+                continue;
+            ArcList<T, V> other = inArcsOf(head);
+            other.remove(other.indexOf(index));
+        }
+        int reducedEdgeNum = out.size;
+        if (isDirectedGraph()) {
+            ArcList<T, V> in = inArcs.get(index);
+            for (int k = 0; k < in.size; k++) {
+                int tail = in.indexes[k];
+                if (tail == index)
+                    continue;
+                ArcList<T, V> other = outArcs.get(tail);
+                other.remove(other.indexOf(index));
+                ++reducedEdgeNum;
+            }
+            inArcs.remove(index);
+        }
+        outArcs.remove(index);
+        E vertex = vertexes.remove(index);
+        --vertexNum;
+        edgeNum -= reducedEdgeNum;
+        shiftIndexes(index + 1, -1);
+        vertexDeleted(index, vertex);
+        return vertex;
+    }
+
+    /**
+     * 通过索引值添加一条边
+     *
+     * @return 旧的边
+     */
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2, T weight, V info) {
+        return putEdge(index1, index2, isNetwork() ? weight : true, info);
+    }
+
+    @Override
+    public Set<Edge<T, V>> addEdgesByIndexes(Set<int[]> indexes) {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        indexes.forEach(e -> {
+            if (e == null || e.length != 2)
+                throw new RuntimeException("生成弧/边有且仅有两个顶点的索引值");
+            else
+                edges.add(putEdge(e[0], e[1], isNetwork() ? null : true, null));
+        });
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> deleteEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        ArcList<T, V> out = outArcs.get(index1);
+        int pos = out.indexOf(index2);
+        if (pos == -1)
+            return null;
+        Edge<T, V> edge = out.remove(pos);
+        if (isDirectedGraph() || index1 != index2) {
+            ArcList<T, V> other = inArcsOf(index2);
+            other.remove(other.indexOf(index1));
+        }
+        --edgeNum;
+        edgeDeleted(index1, index2);
+        return edge;
+    }
+
+    @Override
+    public Edge<T, V> updateEdge(int index1, int index2, T weight, V info) {
+        Edge<T, V> edge = getEdge(index1, index2);
+        if (edge != null) {
+            if (isNetwork())
+                edge.setWeight(weight);
+            edge.setInfo(info);
+            edgeUpdated(index1, index2);
+            return edge;
+        } else
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeWeight(int index1, int index2, T weight) {
+        Edge<T, V> edge = getEdge(index1, index2);
+        if (edge != null) {
+            if (isNetwork())
+                edge.setWeight(weight);
+            edgeUpdated(index1, index2);
+            return edge;
+        } else
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeInfo(int index1, int index2, V info) {
+        Edge<T, V> edge = getEdge(index1, index2);
+        if (edge != null) {
+            edge.setInfo(info);
+            edgeUpdated(index1, index2);
+            return edge;
+        } else
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+    }
+
+    @Override
+    public Edge<T, V> getEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        ArcList<T, V> out = outArcs.get(index1);
+        int pos = out.indexOf(index2);
+        return pos == -1 ? null : out.edges[pos];
+    }
+
+    @Override
+    public Set<Edge<T, V>> getInEdges(int index) {
+        rangeCheck(index);
+        return inArcsOf(index).edgeSet();
+    }
+
+    @Override
+    public Edge<T, V> getFirstInEdge(int index) {
+        rangeCheck(index);
+        ArcList<T, V> in = inArcsOf(index);
+        return in.size == 0 ? null : in.edges[0];
+    }
+
+    @Override
+    public Set<Edge<T, V>> getOutEdges(int index) {
+        rangeCheck(index);
+        return outArcs.get(index).edgeSet();
+    }
+
+    @Override
+    public Edge<T, V> getFirstOutEdge(int index) {
+        rangeCheck(index);
+        ArcList<T, V> out = outArcs.get(index);
+        return out.size == 0 ? null : out.edges[0];
+    }
+
+    @Override
+    public Set<Edge<T, V>> getAdjacentEdges(int index) {
+        Set<Edge<T, V>> edges = getInEdges(index);
+        if (isDirectedGraph()) {
+            ArcList<T, V> out = outArcs.get(index);
+            edges.addAll(Arrays.asList(out.edges).subList(0, out.size));
+        }
+        return edges;
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        rangeCheck(index);
+        return inArcsOf(index).size;
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        rangeCheck(index);
+        return outArcs.get(index).size;
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            inArcs.get(index).forEachIndex(index, i -> vertexes.add(this.vertexes.get(i)));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            inArcs.get(index).forEachIndex(index, vertexIndexes::add);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            outArcs.get(index).forEachIndex(index, i -> vertexes.add(this.vertexes.get(i)));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            outArcs.get(index).forEachIndex(index, vertexIndexes::add);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        rangeCheck(index);
+        List<E> vertexes = new ArrayList<>();
+        outArcs.get(index).forEachIndex(index, i -> vertexes.add(this.vertexes.get(i)));
+        if (isDirectedGraph())
+            inArcs.get(index).forEachIndex(index, i -> vertexes.add(this.vertexes.get(i)));
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        rangeCheck(index);
+        Set<Integer> vertexIndexes = new HashSet<>();
+        outArcs.get(index).forEachIndex(index, vertexIndexes::add);
+        if (isDirectedGraph())
+            inArcs.get(index).forEachIndex(index, vertexIndexes::add);
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即邻接点在弧表中的位置
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        return outArcs.get(index).next(index, cursor);
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return outArcs.get(index).indexes[cursor];
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return isNetwork() ? WeightColumn.toDouble(outArcs.get(index).edges[cursor].getWeight()) : 1;
+    }
+
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        return inArcsOf(index).next(index, cursor);
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return inArcsOf(index).indexes[cursor];
+    }
+
+    @Override
+    public Object[] getVertexes() {
+        return vertexes.toArray();
+    }
+
+    @Override
+    public Set<Edge<T, V>> getEdges() {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int i = 0; i < vertexNum; i++) {
+            ArcList<T, V> out = outArcs.get(i);
+            for (int k = 0; k < out.size; k++)
+                //无向图中每条边在两端各存一份，只取一次
+                if (isDirectedGraph() || i <= out.indexes[k])
+                    edges.add(out.edges[k]);
+        }
+        return edges;
+    }
+
+    /**
+     * 单个顶点的弧表：邻接点索引值与弧/边对象以平行数组存放
+     */
+    private static final class ArcList<T, V> {
+        private static final int[] EMPTY_INDEXES = {};
+
+        private int[] indexes = EMPTY_INDEXES;
+        private Edge<T, V>[] edges = newEdges(0);
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private static <T, V> Edge<T, V>[] newEdges(int length) {
+            return (Edge<T, V>[]) new Edge<?, ?>[length];
+        }
+
+        private int indexOf(int index) {
+            for (int k = 0; k < size; k++)
+                if (indexes[k] == index)
+                    return k;
+            return -1;
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > indexes.length) {
+                indexes = Arrays.copyOf(indexes, minCapacity);
+                edges = Arrays.copyOf(edges, minCapacity);
+            }
+        }
+
+        private void add(int index, Edge<T, V> edge) {
+            if (size == indexes.length) {
+                int newCapacity = Math.max(4, size + (size >> 1));
+                indexes = Arrays.copyOf(indexes, newCapacity);
+                edges = Arrays.copyOf(edges, newCapacity);
+            }
+            indexes[size] = index;
+            edges[size++] = edge;
+        }
+
+        /**
+         * 用表尾元素填补被删除的位置
+         */
+        private Edge<T, V> remove(int pos) {
+            Edge<T, V> edge = edges[pos];
+            --size;
+            indexes[pos] = indexes[size];
+            edges[pos] = edges[size];
+            edges[size] = null;
+            return edge;
+        }
+
+        /**
+         * 跳过self，返回cursor之后下一个邻接点的位置，没有则返回-1
+         */
+        private int next(int self, int cursor) {
+            for (int k = cursor + 1; k < size; k++)
+                if (indexes[k] != self)
+                    return k;
+            return -1;
+        }
+
+        /**
+         * 依次处理除self以外的邻接点索引值
+         */
+        private void forEachIndex(int self, IntConsumer action) {
+            for (int k = 0; k < size; k++)
+                if (indexes[k] != self)
+                    action.accept(indexes[k]);
+        }
+
+        private Set<Edge<T, V>> edgeSet() {
+            return new HashSet<>(Arrays.asList(edges).subList(0, size));
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(indexes, size));
+        }
+    }
+}
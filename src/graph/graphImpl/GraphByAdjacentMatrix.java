@@ -3,12 +3,9 @@ package graph.graphImpl;
 
 import com.sun.istack.internal.NotNull;
 import graph.Edge;
-import graph.Graph;
 import graph.GraphKind;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * 千行代码，带你入门图论世界
@@ -17,20 +14,18 @@ import java.util.stream.Stream;
  * 1、具有自环边，不具备平行边；
  * 2、有权值；
  * 3、有方向；
- * 4、所有算法均考虑了有向图的方向性，但不涉及与权值有关的任何算法（权值需要比较，邻接矩阵可能并不适合一些拓扑算法的实现）
+ * 4、所有算法均考虑了有向图的方向性；与权值有关的最短路径算法（Dijkstra：getShortestDistances、getShortestDistance、getShortestPath）
+ * 由AbstractGraph提供，网按权值计算（权值需为Number），非网按弧/边数计算；
+ * 权值为null或负数时Dijkstra在搜索到该弧/边时抛出RuntimeException
  *
  * 算法人为时空复杂度操碎了心，如果有人愿意细品我的写的算法，可能会明白我的苦心，呜呜呜~~~
  *
  */
-public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
+public class GraphByAdjacentMatrix<E, T, V> extends AbstractGraph<E, T, V> {
     /**
      * 邻接矩阵
      */
     private final List<List<Edge<T, V>>> adjacencyMatrix;
-    /**
-     * 图的种类标志
-     */
-    private final GraphKind graphKind;
     /**
      * 顶点向量
      */
@@ -40,32 +35,53 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
      */
     private int vertexNum, edgeNum;
     /**
-     * 辅助遍历的空间
+     * 各顶点的出度与入度（有效长度为vertexNum），随弧/边的增删维护，无向图只使用outDegrees
      */
-    private boolean[] visited;
-    private Queue<Integer> queue;
-    private int traversableNum;
-    private List<List<Integer>> cycles;
-    private List<List<Integer>> paths;
+    private int[] outDegrees, inDegrees;
 
     public GraphByAdjacentMatrix(@NotNull List<E> vertexes, @NotNull List<Edge<T, V>> edges, @NotNull GraphKind graphKind) {
+        super(graphKind);
         this.vertexes = vertexes;
         this.vertexNum = vertexes.size();
+        createDegrees(vertexNum);
         this.adjacencyMatrix = createAdjacentMatrix(edges, vertexes.size(), graphKind);
-        this.graphKind = graphKind;
     }
 
     public GraphByAdjacentMatrix(@NotNull GraphKind graphKind) {
+        super(graphKind);
         vertexes = new ArrayList<>();
+        createDegrees(0);
         this.adjacencyMatrix = createAdjacentMatrix(null, 0, graphKind);
-        this.graphKind = graphKind;
     }
 
     public GraphByAdjacentMatrix(@NotNull List<E> vertexes, @NotNull GraphKind graphKind) {
+        super(graphKind);
         this.vertexes = vertexes;
         this.vertexNum = vertexes.size();
-        this.adjacencyMatrix = createAdjacentMatrix(null, 0, graphKind);
-        this.graphKind = graphKind;
+        createDegrees(vertexNum);
+        this.adjacencyMatrix = createAdjacentMatrix(null, vertexNum, graphKind);
+    }
+
+    /**
+     * 供GraphBuilder使用：弧/边以列的形式给出，一次性写入矩阵，重复的弧/边保留最后一条
+     */
+    @SuppressWarnings("unchecked")
+    GraphByAdjacentMatrix(List<E> vertexes, int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m, GraphKind graphKind) {
+        super(graphKind);
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        createDegrees(vertexNum);
+        this.adjacencyMatrix = createAdjacentMatrix(null, vertexNum, graphKind);
+        for (int i = 0; i < m; i++) {
+            int tailIndex = edgeTails[i];
+            int headIndex = edgeHeads[i];
+            growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
+            Edge<T, V> edge = new Edge<>(tailIndex, headIndex, isNetwork() ? edgeWeights[i] : true,
+                    edgeInfos == null ? null : (V) edgeInfos[i]);
+            adjacencyMatrix.get(tailIndex).set(headIndex, edge);
+            if (!isDirectedGraph())
+                adjacencyMatrix.get(headIndex).set(tailIndex, edge);
+        }
     }
 
     @Override
@@ -99,10 +115,60 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
      * @param headIndex 弧/边的终端点
      */
     private void growEdgeNum(int tailIndex, int headIndex) {
+        growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
+    }
+
+    /**
+     * 稳定的自增弧/边的数量（构造期间矩阵尚未赋值给字段，需显式传入）
+     *
+     * @param adjacencyMatrix 邻接矩阵
+     * @param tailIndex       弧/边的起始点
+     * @param headIndex       弧/边的终端点
+     */
+    private void growEdgeNum(List<List<Edge<T, V>>> adjacencyMatrix, int tailIndex, int headIndex) {
         rangeCheck(tailIndex);
         rangeCheck(headIndex);
-        if (adjacencyMatrix.get(tailIndex).get(headIndex) == null)
+        if (adjacencyMatrix.get(tailIndex).get(headIndex) == null) {
+            edgeAdded(tailIndex, headIndex);
             ++edgeNum;
+            countDegrees(tailIndex, headIndex, 1);
+        } else
+            edgeUpdated(tailIndex, headIndex);
+    }
+
+    private void createDegrees(int order) {
+        outDegrees = new int[Math.max(order, 8)];
+        if (isDirectedGraph())
+            inDegrees = new int[outDegrees.length];
+    }
+
+    /**
+     * 弧/边<tailIndex,headIndex>被新增（delta为1）或删除（delta为-1）时更新两端的度，无向图的自环边只计一次
+     */
+    private void countDegrees(int tailIndex, int headIndex, int delta) {
+        outDegrees[tailIndex] += delta;
+        if (isDirectedGraph())
+            inDegrees[headIndex] += delta;
+        else if (tailIndex != headIndex)
+            outDegrees[headIndex] += delta;
+    }
+
+    /**
+     * 在index处为新顶点留出度为0的位置（vertexNum尚未增加）
+     */
+    private void insertDegrees(int index) {
+        if (vertexNum == outDegrees.length) {
+            int capacity = vertexNum + (vertexNum >> 1);
+            outDegrees = Arrays.copyOf(outDegrees, capacity);
+            if (isDirectedGraph())
+                inDegrees = Arrays.copyOf(inDegrees, capacity);
+        }
+        System.arraycopy(outDegrees, index, outDegrees, index + 1, vertexNum - index);
+        outDegrees[index] = 0;
+        if (isDirectedGraph()) {
+            System.arraycopy(inDegrees, index, inDegrees, index + 1, vertexNum - index);
+            inDegrees[index] = 0;
+        }
     }
 
     /**
@@ -117,13 +183,10 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         /*
           根据传入的顶点数量order来初始化邻接矩阵
          */
-        List<List<Edge<T, V>>> adjacencyMatrix = new ArrayList<>();
-        for (int i = 0; i < order; i++) {
-            List<Edge<T, V>> vector = new ArrayList<>();
-            for (int j = 0; j < order; j++)
-                vector.add(null);
-            adjacencyMatrix.add(vector);
-        }
+        List<List<Edge<T, V>>> adjacencyMatrix = new ArrayList<>(order);
+        List<Edge<T, V>> emptyVector = Collections.nCopies(order, null);
+        for (int i = 0; i < order; i++)
+            adjacencyMatrix.add(new ArrayList<>(emptyVector));
         /*
          生成邻接矩阵
          */
@@ -134,7 +197,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
                         int tailIndex = edge.getTailIndex();
                         int headIndex = edge.getHeadIndex();
                         edge.setWeight(true);
-                        growEdgeNum(tailIndex, headIndex);
+                        growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
                         adjacencyMatrix.get(tailIndex).set(headIndex, edge);
                     });
                     break;
@@ -142,7 +205,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
                     edges.forEach(edge -> {
                         int tailIndex = edge.getTailIndex();
                         int headIndex = edge.getHeadIndex();
-                        growEdgeNum(tailIndex, headIndex);
+                        growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
                         adjacencyMatrix.get(tailIndex).set(headIndex, edge);
                     });
                     break;
@@ -151,7 +214,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
                         int tailIndex = edge.getTailIndex();
                         int headIndex = edge.getHeadIndex();
                         edge.setWeight(true);
-                        growEdgeNum(tailIndex, headIndex);
+                        growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
                         adjacencyMatrix.get(tailIndex).set(headIndex, edge);
                         adjacencyMatrix.get(headIndex).set(tailIndex, edge);
                     });
@@ -160,7 +223,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
                     edges.forEach(edge -> {
                         int tailIndex = edge.getTailIndex();
                         int headIndex = edge.getHeadIndex();
-                        growEdgeNum(tailIndex, headIndex);
+                        growEdgeNum(adjacencyMatrix, tailIndex, headIndex);
                         adjacencyMatrix.get(tailIndex).set(headIndex, edge);
                         adjacencyMatrix.get(headIndex).set(tailIndex, edge);
                     });
@@ -171,17 +234,6 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         return adjacencyMatrix;
     }
 
-    /**
-     * 判断顶点索引值是否越界;
-     * 越界抛出运行时异常
-     *
-     * @param index 顶点索引值
-     */
-    private void rangeCheck(int index) {
-        if (index < 0 || index > vertexNum - 1)
-            throw new IndexOutOfBoundsException("顶点下标必须<" + (vertexNum - 1) + "并且>=0！");
-    }
-
     @Override
     public int getVertexNum() {
         return vertexNum;
@@ -192,42 +244,6 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         return edgeNum;
     }
 
-    @Override
-    public GraphKind getKind() {
-        return graphKind;
-    }
-
-    /**
-     * 获取第一个顶点是vertex的索引值
-     *
-     * @param vertex 顶点
-     * @return 索引值
-     */
-    @Override
-    public int findVertex(E vertex) {
-        return vertexes.indexOf(vertex);
-    }
-
-    /**
-     * 获取最后一个顶点是vertex的索引值
-     *
-     * @param vertex 顶点
-     * @return 索引值
-     */
-    @Override
-    public int findLastVertex(E vertex) {
-        return vertexes.lastIndexOf(vertex);
-    }
-
-    @Override
-    public Set<Integer> findVertexIndexes(E vertex) {
-        Set<Integer> indexes = new HashSet<>();
-        for (int i = 0; i < vertexes.size(); i++)
-            if (vertexes.get(i).equals(vertex))
-                indexes.add(i);
-        return indexes;
-    }
-
     @Override
     public E getVertex(int index) {
         return vertexes.get(index);
@@ -235,7 +251,9 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
 
     @Override
     public E setVertex(int index, E vertex) {
-        return vertexes.set(index, vertex);
+        E oldVertex = vertexes.set(index, vertex);
+        vertexReplaced(index, oldVertex, vertex);
+        return oldVertex;
     }
 
     @Override
@@ -250,19 +268,12 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         });
         vector.add(null);
         adjacencyMatrix.add(vector);
+        insertDegrees(vertexNum);
         ++vertexNum;
+        vertexAdded(vertexNum - 1, vertex);
         return true;
     }
 
-    @Override
-    public boolean addVertexes(List<E> vertexes) {
-        if (vertexes != null) {
-            vertexes.forEach(this::addVertex);
-            return true;
-        }
-        return false;
-    }
-
     /**
      * 该方法时间复杂度超高，极其费时，不建议使用；
      * 事实上没有必要指定位置插入顶点，这对图数据结构可能是毫无意义的
@@ -272,7 +283,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
      */
     @Override
     public void addVertex(int index, E vertex) {
-        vertexes.add(vertex);
+        vertexes.add(index, vertex);
         List<Edge<T, V>> vector = new ArrayList<>();
         //循环旧的VertexNum次
         adjacencyMatrix.forEach(edges -> {
@@ -282,7 +293,22 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         });
         vector.add(null);
         adjacencyMatrix.add(index, vector);
+        insertDegrees(index);
         ++vertexNum;
+        //其后顶点的索引值加一，矩阵中保存的弧/边的端点也要随之更新（无向图的两个位置共用同一条边）
+        for (int i = 0; i < vertexNum; i++)
+            for (int j = isDirectedGraph() ? 0 : i; j < vertexNum; j++) {
+                Edge<T, V> edge = adjacencyMatrix.get(i).get(j);
+                if (edge == null || (i < index && j < index))
+                    continue;
+                int tailIndex = edge.getTailIndex(), headIndex = edge.getHeadIndex();
+                edge = new Edge<>(tailIndex >= index ? tailIndex + 1 : tailIndex,
+                        headIndex >= index ? headIndex + 1 : headIndex, edge.getWeight(), edge.getInfo());
+                adjacencyMatrix.get(i).set(j, edge);
+                if (!isDirectedGraph())
+                    adjacencyMatrix.get(j).set(i, edge);
+            }
+        vertexAdded(index, vertex);
     }
 
     /**
@@ -295,47 +321,44 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
     public E deleteVertex(int index) {
         rangeCheck(index);
         E vertex = vertexes.remove(index);
-        --vertexNum;
-        int ReducedEdgeNum = 0;
-        for (int i = 0; i < vertexNum; i++) {
-            if (adjacencyMatrix.get(i).remove(index) != null)
-                ++ReducedEdgeNum;
-            if (adjacencyMatrix.get(index).get(i) != null)
-                ++ReducedEdgeNum;
+        int reducedEdgeNum = 0;
+        //被删除顶点的出弧/边（包括自环），其弧头的入度减一
+        List<Edge<T, V>> vector = adjacencyMatrix.remove(index);
+        for (int i = 0; i < vertexNum; i++)
+            if (vector.get(i) != null) {
+                ++reducedEdgeNum;
+                countDegrees(index, i, -1);
+            }
+        //其余各行删除第index列；无向图中这些边已在上面计数，有向图中是以其为弧头的弧
+        for (int i = 0; i < vertexNum - 1; i++) {
+            int tailIndex = i < index ? i : i + 1;
+            if (adjacencyMatrix.get(i).remove(index) != null && isDirectedGraph()) {
+                ++reducedEdgeNum;
+                countDegrees(tailIndex, index, -1);
+            }
         }
-        adjacencyMatrix.remove(index);
-        edgeNum -= ReducedEdgeNum;
+        System.arraycopy(outDegrees, index + 1, outDegrees, index, vertexNum - index - 1);
+        if (isDirectedGraph())
+            System.arraycopy(inDegrees, index + 1, inDegrees, index, vertexNum - index - 1);
+        --vertexNum;
+        edgeNum -= reducedEdgeNum;
+        //其后顶点的索引值减一，矩阵中保存的弧/边的端点也要随之更新（无向图的两个位置共用同一条边）
+        for (int i = 0; i < vertexNum; i++)
+            for (int j = isDirectedGraph() ? 0 : i; j < vertexNum; j++) {
+                Edge<T, V> edge = adjacencyMatrix.get(i).get(j);
+                if (edge == null || (i < index && j < index))
+                    continue;
+                int tailIndex = edge.getTailIndex(), headIndex = edge.getHeadIndex();
+                edge = new Edge<>(tailIndex > index ? tailIndex - 1 : tailIndex,
+                        headIndex > index ? headIndex - 1 : headIndex, edge.getWeight(), edge.getInfo());
+                adjacencyMatrix.get(i).set(j, edge);
+                if (!isDirectedGraph())
+                    adjacencyMatrix.get(j).set(i, edge);
+            }
+        vertexDeleted(index, vertex);
         return vertex;
     }
 
-    @Override
-    public int deleteFirstVertex(E vertex) {
-        int index = findVertex(vertex);
-        if (index != -1)
-            deleteVertex(index);
-        return index;
-    }
-
-    @Override
-    public List<E> deleteVertexes(int[] vertexIndexes) {
-        List<E> vertexes = new ArrayList<>();
-        if (vertexIndexes == null)
-            return vertexes;
-        for (int vertexIndex : vertexIndexes)
-            vertexes.add(deleteVertex(vertexIndex));
-        return vertexes;
-    }
-
-    /**
-     * 通过索引值添加一条边
-     *
-     * @return 旧的边
-     */
-    @Override
-    public Edge<T, V> addEdgeByIndex(int index1, int index2) {
-        return addEdgeByIndex(index1, index2, null, null);
-    }
-
     /**
      * 通过索引值添加一条边
      *
@@ -349,9 +372,11 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
             edge = new Edge<>(index1, index2, weight, info);
         else
             edge = new Edge<>(index1, index2, true, info);
+        //先取出旧的边，无向图的自环边两个位置相同
+        Edge<T, V> old = adjacencyMatrix.get(index1).set(index2, edge);
         if (!isDirectedGraph())
             adjacencyMatrix.get(index2).set(index1, edge);
-        return adjacencyMatrix.get(index1).set(index2, edge);
+        return old;
     }
 
     @Override
@@ -403,10 +428,13 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
     @Override
     public Edge<T, V> deleteEdge(int index1, int index2) {
         if (hasEdge(index1, index2)) {
+            Edge<T, V> edge = adjacencyMatrix.get(index1).set(index2, null);
             if (!isDirectedGraph())
                 adjacencyMatrix.get(index2).set(index1, null);
-            --vertexNum;
-            return adjacencyMatrix.get(index1).set(index2, null);
+            --edgeNum;
+            countDegrees(index1, index2, -1);
+            edgeDeleted(index1, index2);
+            return edge;
         }
         return null;
     }
@@ -418,6 +446,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
             if (isNetwork())
                 edge.setWeight(weight);
             edge.setInfo(info);
+            edgeUpdated(index1, index2);
             return edge;
         } else
             throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
@@ -429,6 +458,7 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         if (edge != null) {
             if (isNetwork())
                 edge.setWeight(weight);
+            edgeUpdated(index1, index2);
             return edge;
         } else
             throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
@@ -439,16 +469,12 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         Edge<T, V> edge = getEdge(index1, index2);
         if (edge != null) {
             edge.setInfo(info);
+            edgeUpdated(index1, index2);
             return edge;
         } else
             throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
     }
 
-    @Override
-    public boolean hasEdge(int index1, int index2) {
-        return getEdge(index1, index2) != null;
-    }
-
     @Override
     public Edge<T, V> getEdge(int index1, int index2) {
         rangeCheck(index1);
@@ -499,14 +525,6 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         return null;
     }
 
-    @Override
-    public Edge<T, V> getFirstAdjacentEdge(int index) {
-        Edge<T, V> firstOutEdge = getFirstOutEdge(index);
-        if (firstOutEdge != null)
-            return firstOutEdge;
-        return getFirstInEdge(index);
-    }
-
     @Override
     public Set<Edge<T, V>> getAdjacentEdges(int index) {
         Set<Edge<T, V>> edges = getInEdges(index);
@@ -524,44 +542,13 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
     @Override
     public int getInDegree(int index) {
         rangeCheck(index);
-        return (int) adjacencyMatrix.stream().filter(vector -> vector.get(index) != null).count();
+        return isDirectedGraph() ? inDegrees[index] : outDegrees[index];
     }
 
     @Override
     public int getOutDegree(int index) {
         rangeCheck(index);
-        return (int) adjacencyMatrix.get(index).stream().filter(Objects::nonNull).count();
-    }
-
-    @Override
-    public int getDegree(int index) {
-        int degree = getOutDegree(index);
-        if (isDirectedGraph()) {
-            degree += (int) adjacencyMatrix.stream().filter(vector -> vector.get(index) != null).count();
-            if (hasEdge(index, index))
-                return degree - 1;
-            return degree;
-        }
-        return degree;
-    }
-
-    @Override
-    public int getFirstInAdjacentVertexIndex(int index) {
-        Edge<T, V> firstInEdge = getFirstInEdge(index);
-        if (firstInEdge == null)
-            return -1;
-        return firstInEdge.getTailIndex();
-    }
-
-    /**
-     * 不能用返回值来作为衡量顶点存在的依据，因为顶点可以存入null
-     */
-    @Override
-    public E getFirstInAdjacentVertex(int index) {
-        int firstInAdjacentVertexIndex = getFirstInAdjacentVertexIndex(index);
-        if (firstInAdjacentVertexIndex == -1)
-            return null;
-        return vertexes.get(firstInAdjacentVertexIndex);
+        return outDegrees[index];
     }
 
     @Override
@@ -590,22 +577,6 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         return getAdjacentVertexIndexes(index);
     }
 
-    @Override
-    public int getFirstOutAdjacentVertexIndex(int index) {
-        Edge<T, V> firstOutEdge = getFirstOutEdge(index);
-        if (firstOutEdge == null)
-            return -1;
-        return firstOutEdge.getHeadIndex();
-    }
-
-    @Override
-    public E getFirstOutAdjacentVertex(int index) {
-        int firstOutAdjacentVertexIndex = getFirstOutAdjacentVertexIndex(index);
-        if (firstOutAdjacentVertexIndex == -1)
-            return null;
-        return vertexes.get(firstOutAdjacentVertexIndex);
-    }
-
     @Override
     public List<E> getOutAdjacentVertexes(int index) {
         if (isDirectedGraph()) {
@@ -632,16 +603,6 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         return getAdjacentVertexIndexes(index);
     }
 
-    @Override
-    public E getFirstAdjacentVertex(int index) {
-        return getFirstOutAdjacentVertex(index);
-    }
-
-    @Override
-    public int getFirstAdjacentVertexIndex(int index) {
-        return getFirstOutAdjacentVertexIndex(index);
-    }
-
     @Override
     public List<E> getAdjacentVertexes(int index) {
         rangeCheck(index);
@@ -673,115 +634,42 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
     }
 
     /**
-     * 在有向图中具有方向性，对没有入边的顶点，遍历不在同一个连通分量中
-     */
-    @Override
-    public List<List<Integer>> DFSTraverse() {
-        List<List<Integer>> oneTraversal = new ArrayList<>();
-        if (vertexNum == 0)
-            return oneTraversal;
-        visited = new boolean[vertexNum];
-        for (int i = 0; i < vertexNum; i++)
-            if (!visited[i])
-                oneTraversal.add(DFS(new ArrayList<>(), i));
-
-        return oneTraversal;
-    }
-
-    private List<Integer> DFS(List<Integer> path, int v) {
-        visited[v] = true;
-        path.add(v);
-        getOutAdjacentVertexIndexes(v).forEach(index -> {
-            if (!visited[index])
-                DFS(path, index);
-        });
-        return path;
-    }
-
-    /**
-     * 在有向图中具有方向性，对没有入边的顶点，遍历不在同一个连通分量中
+     * 游标即邻接点的列号，需要扫描整行，总的时间复杂度为O(V)
      */
     @Override
-    public List<List<Integer>> BFSTraverse() {
-        List<List<Integer>> oneTraversal = new ArrayList<>();
-        if (vertexNum == 0)
-            return oneTraversal;
-        visited = new boolean[vertexNum];
-        queue = new LinkedList<>();
-        for (int i = 0; i < vertexNum; i++)
-            if (!visited[i])
-                oneTraversal.add(BFS(new ArrayList<>(), i));
-
-        return oneTraversal;
-    }
-
-    private List<Integer> BFS(List<Integer> path, int v) {
-        visited[v] = true;
-        path.add(v);
-        queue.offer(v);
-        while (!queue.isEmpty()) {
-            getOutAdjacentVertexIndexes(queue.poll()).forEach(index -> {
-                if (!visited[index]) {
-                    visited[index] = true;
-                    path.add(index);
-                    queue.offer(index);
-                }
-            });
-        }
-        return path;
-    }
-
-    @Override
-    public boolean isDirectedGraph() {
-        return graphKind == GraphKind.DG || graphKind == GraphKind.DN;
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        List<Edge<T, V>> vector = adjacencyMatrix.get(index);
+        for (int i = cursor + 1; i < vertexNum; i++)
+            if (i != index && vector.get(i) != null)
+                return i;
+        return -1;
     }
 
     @Override
-    public boolean isCompletedGraph() {
-        if ((isDirectedGraph() && edgeNum == vertexNum * (vertexNum - 1)) || (edgeNum == vertexNum * (vertexNum - 1) / 2)) {
-            for (int i = 0; i < vertexNum; i++)
-                if (adjacencyMatrix.get(i).get(i) != null)
-                    return false;
-            return true;
-        }
-        return false;
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
     }
 
     /**
-     * 无向图中所有顶点之间均可达；
-     * 有向图中所有顶点之间都有路径
-     * （该图只有一个联通分量）
-     *
-     * @return true表示该图是连通图
+     * 游标即邻接点的行号，有向图需要扫描整列
      */
     @Override
-    public boolean isConnectedGraph() {
-        if (edgeNum == 0) {
-            return false;
-        }
-        visited = new boolean[vertexNum];
-        traversableNum = 0;
-        return isConnectedGraphByDFS(0) == vertexNum;
-    }
-
-    @Override
-    public boolean isEmptyGraph() {
-        return vertexNum == 0;
-    }
-
-    private int isConnectedGraphByDFS(int v) {
-        visited[v] = true;
-        ++traversableNum;
-        getOutAdjacentVertexIndexes(v).forEach(index -> {
-            if (!visited[index])
-                isConnectedGraphByDFS(index);
-        });
-        return traversableNum;
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (!isDirectedGraph())
+            return nextOutAdjacentCursor(index, cursor);
+        if (cursor == -1)
+            rangeCheck(index);
+        for (int i = cursor + 1; i < vertexNum; i++)
+            if (i != index && adjacencyMatrix.get(i).get(index) != null)
+                return i;
+        return -1;
     }
 
     @Override
-    public boolean isNetwork() {
-        return graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
     }
 
     @Override
@@ -809,277 +697,4 @@ public class GraphByAdjacentMatrix<E, T, V> implements Graph<E, T, V> {
         }
         return edges;
     }
-
-    /**
-     * 单源路径问题，在有向图中具有有方向性，
-     *
-     * @param index1 顶点1索引值
-     * @param index2 顶点2索引值
-     * @return 路径经过的顶点索引值的集合
-     */
-    @Override
-    public List<Integer> getFirstPath(int index1, int index2) {
-        rangeCheck(index1);
-        rangeCheck(index2);
-        LinkedList<Integer> path = new LinkedList<>();
-        if (edgeNum == 0)
-            return path;
-        if (index1 == index2) {
-            if (adjacencyMatrix.get(index1).get(index2) != null) {
-                path.add(index1);
-                path.add(index2);
-            }
-            return path;
-        }
-        visited = new boolean[vertexNum];
-        getFirstPathByDFS(path, index1, index2);
-        return path;
-    }
-
-    private boolean getFirstPathByDFS(LinkedList<Integer> path, int v, int index2) {
-        visited[v] = true;
-        path.offerLast(v);
-        if (v == index2)
-            return true;
-        for (Integer index : getOutAdjacentVertexIndexes(v)) {
-            if (!visited[index]) {
-                if (getFirstPathByDFS(path, index, index2))
-                    return true;
-            }
-        }
-        path.pollLast();
-        return false;
-    }
-
-    @Override
-    public List<List<Integer>> getPaths(int index1, int index2) {
-        rangeCheck(index1);
-        rangeCheck(index2);
-        paths = new ArrayList<>();
-        if (edgeNum == 0)
-            return paths;
-        if (index1 == index2)
-            if (adjacencyMatrix.get(index1).get(index2) != null)
-                paths.add(Stream.of(index1, index2).collect(Collectors.toList()));
-        visited = new boolean[vertexNum];
-        getPathsByDFS(new LinkedList<>(), index2, index1, index1);
-        return paths;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private void getPathsByDFS(LinkedList<Integer> path, int index2, int v, int pre) {
-        visited[v] = true;
-        path.offerLast(v);
-        if (v == index2 && pre != index2)
-            paths.add((List<Integer>) path.clone());
-        for (Integer index : getOutAdjacentVertexIndexes(v)) {
-            if (index == pre)
-                continue;
-            if (!visited[index])
-                getPathsByDFS(path, index2, index, v);
-        }
-        path.pollLast();
-        visited[v] = false;
-    }
-
-
-    private boolean hasPathByDFS(int v, int index2) {
-        visited[v] = true;
-        if (v == index2)
-            return true;
-        for (Integer index : getOutAdjacentVertexIndexes(v))
-            if (!visited[index]) {
-                if (hasPathByDFS(index, index2))
-                    return true;
-            }
-
-        return false;
-    }
-
-    /**
-     * 在有向图中该方法具有方向性
-     *
-     * @param index1 索引值1
-     * @param index2 索引值2
-     * @return true表示两点之间存在路径
-     */
-    @Override
-    public boolean hasPath(int index1, int index2) {
-        rangeCheck(index1);
-        rangeCheck(index2);
-        if (index1 == index2)
-            if (adjacencyMatrix.get(index1).get(index2) != null)
-                return true;
-        visited = new boolean[vertexNum];
-        return hasPathByDFS(index1, index2);
-    }
-
-    /**
-     * 这是我写的最后一个方法，不想优化了，写吐了，就这样吧。。。
-     */
-    @Override
-    public List<Integer> getFirstCycle(int index) {
-        List<List<Integer>> cycles = getCycles(index);
-        if (cycles.size() > 0) {
-            return cycles.get(0);
-        }
-        return new ArrayList<>();
-    }
-
-    /**
-     * 在有向图中具有方向性
-     *
-     * @param index 顶点索引值
-     * @return true表示该顶点存在回路/环
-     */
-    @Override
-    public boolean hasCycle(int index) {
-        if (edgeNum == 0)
-            return false;
-        if (hasLoop(index))
-            return true;
-        visited = new boolean[vertexNum];
-        return hasCycleByDFS(index, index, index);
-    }
-
-    private boolean hasCycleByDFS(int v, int pre) {
-        visited[v] = true;
-        for (Integer index : getOutAdjacentVertexIndexes(v)) {
-            if (index == pre)
-                continue;
-            if (visited[index] || adjacencyMatrix.get(index).get(index) != null)
-                return true;
-            if (hasCycleByDFS(index, v))
-                return true;
-        }
-        return false;
-    }
-
-    private boolean hasCycleByDFS(int root, int v, int pre) {
-        visited[v] = true;
-        for (Integer index : getOutAdjacentVertexIndexes(v)) {
-            if (index == pre)
-                continue;
-            if (visited[index] && index == root)
-                return true;
-            if (hasCycleByDFS(root, index, v))
-                return true;
-        }
-        return false;
-    }
-
-    /**
-     * 在有向图中具有方向性
-     *
-     * @return true表示该图存在环
-     */
-    @Override
-    public boolean hasCycle() {
-        if (edgeNum == 0)
-            return false;
-        visited = new boolean[vertexNum];
-        return hasCycleByDFS(0, 0);
-    }
-
-    @Override
-    public List<List<Integer>> getCycles(int index) {
-        rangeCheck(index);
-        cycles = new ArrayList<>();
-        if (edgeNum == 0)
-            return cycles;
-        visited = new boolean[vertexNum];
-        getCyclesByDFS(new LinkedList<>(), index, index, index);
-        Edge<T, V> edge = adjacencyMatrix.get(index).get(index);
-        if (edge != null)
-            cycles.add(Stream.of(index).collect(Collectors.toList()));
-        return cycles;
-    }
-
-    @Override
-    public List<List<Integer>> getCycles() {
-        cycles = new ArrayList<>();
-        if (edgeNum == 0)
-            return cycles;
-        visited = new boolean[vertexNum];
-        for (int i = 0; i < vertexNum; i++) {
-            getCyclesByDFS(new LinkedList<>(), i, i, i);
-            Edge<T, V> edge = adjacencyMatrix.get(i).get(i);
-            if (edge != null)
-                cycles.add(Stream.of(i).collect(Collectors.toList()));
-        }
-        return cycles;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private void getCyclesByDFS(LinkedList<Integer> cycle, int root, int v, int pre) {
-        visited[v] = true;
-        cycle.offerLast(v);
-        for (Integer index : getOutAdjacentVertexIndexes(v)) {
-            if (index == pre)
-                continue;
-            if (visited[index]) {
-                if (index == root)
-                    cycles.add((List<Integer>) cycle.clone());
-                continue;
-            }
-            getCyclesByDFS(cycle, root, index, v);
-        }
-        cycle.pollLast();
-        visited[v] = false;
-    }
-
-    @Override
-    public Edge<T, V> getLoop(int index) {
-        rangeCheck(index);
-        return adjacencyMatrix.get(index).get(index);
-    }
-
-    @Override
-    public boolean hasLoop(int index) {
-        return getLoop(index) != null;
-    }
-
-    @Override
-    public boolean hasLoop() {
-        for (int i = 0; i < vertexNum; i++)
-            if (adjacencyMatrix.get(i).get(i) != null)
-                return true;
-        return false;
-    }
-
-    private void isConnectedByDFS(int[] visited, int v, int flag) {
-        visited[v] = flag;
-        getOutAdjacentVertexIndexes(v).forEach(index -> {
-            if (visited[index] == 0)
-                isConnectedByDFS(visited, index, flag);
-        });
-    }
-
-
-    /**
-     * 判断索引值对应的顶点是否连通
-     * index1==index2：检查索引值是否有自环边
-     * 无环图中无方向性
-     * 有环图中具有方向性
-     *
-     * @param index1 索引值1
-     * @param index2 索引值2
-     * @return true表示两点连通
-     */
-    @Override
-    public boolean isConnected(int index1, int index2) {
-        rangeCheck(index1);
-        rangeCheck(index2);
-        if (index1 == index2)
-            return adjacencyMatrix.get(index1).get(index1) != null;
-        int[] visited = new int[vertexNum];
-        for (int i = index1, flag = 1; i < vertexNum; i++)
-            if (visited[i] == 0) {
-                isConnectedByDFS(visited, i, flag);
-                flag++;
-            }
-        return visited[index1] == visited[index2];
-    }
 }
@@ -0,0 +1,642 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.GraphKind;
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 图-实现类（位矩阵）
+ * 特性：
+ * 1、具有自环边，不具备平行边；
+ * 2、无权值，只能存储无向图（UDG）与有向图（DG）；
+ * 3、有方向；
+ * 4、邻接矩阵的每一行以long[]位图存放，每条弧只占1位，判断弧是否存在只需一次位运算，
+ * 度的计算与邻接点的扫描按64位的字进行（Long.bitCount/numberOfTrailingZeros），空间复杂度为O(V²/64)；
+ * 5、有向图额外维护一份转置的位矩阵（列），使入边相关的查询同样按字扫描。
+ *
+ * 注意：
+ * 1、图中不保存Edge对象，getEdge等方法返回的Edge是按需生成的，权值恒为true，
+ * 直接修改返回的Edge不会影响图本身，请使用updateEdge系列方法；
+ * 2、弧/边的信息保存在以(弧尾,弧头)为键的散列表中，只有存入非null信息时才会分配。
+ */
+public class GraphByBitMatrix<E, T, V> extends AbstractGraph<E, T, V> {
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    /**
+     * 顶点向量
+     */
+    private final List<E> vertexes;
+    /**
+     * 图的当前顶点数和弧数
+     */
+    private int vertexNum, edgeNum;
+    /**
+     * 行：rows[i]的第j位表示弧<i,j>是否存在（有效长度为vertexNum）
+     */
+    private long[][] rows;
+    /**
+     * 列（仅有向图使用）：columns[j]的第i位表示弧<i,j>是否存在
+     */
+    private long[][] columns;
+    /**
+     * 每一行的字数
+     */
+    private int words;
+    /**
+     * 弧/边的信息（首次存入非null信息时才分配）
+     */
+    private Map<Long, V> infos;
+
+    public GraphByBitMatrix(@NotNull List<E> vertexes, @NotNull List<Edge<T, V>> edges, @NotNull GraphKind graphKind) {
+        this(vertexes, graphKind);
+        edges.forEach(edge -> putEdge(edge.getTailIndex(), edge.getHeadIndex(), edge.getInfo()));
+    }
+
+    public GraphByBitMatrix(@NotNull GraphKind graphKind) {
+        this(new ArrayList<>(), graphKind);
+    }
+
+    public GraphByBitMatrix(@NotNull List<E> vertexes, @NotNull GraphKind graphKind) {
+        super(graphKind);
+        if (isNetwork())
+            throw new RuntimeException("位矩阵只能存储无权图（DG/UDG）！");
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        this.words = wordsFor(vertexNum);
+        this.rows = new long[vertexNum][words];
+        if (isDirectedGraph())
+            this.columns = new long[vertexNum][words];
+    }
+
+    /**
+     * 供GraphBuilder使用：弧/边以列的形式给出，重复的弧/边保留最后一条
+     */
+    @SuppressWarnings("unchecked")
+    GraphByBitMatrix(List<E> vertexes, int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m, GraphKind graphKind) {
+        this(vertexes, graphKind);
+        for (int i = 0; i < m; i++)
+            putEdge(edgeTails[i], edgeHeads[i], edgeInfos == null ? null : (V) edgeInfos[i]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder().append("[\n");
+        for (int i = 0; i < vertexNum; i++) {
+            for (int j = 0; j < vertexNum; j++)
+                stringBuilder.append(test(rows[i], j) ? '1' : '0');
+            stringBuilder.append("\n");
+        }
+        return "GraphByBitMatrix{\n" +
+                "vertexes=" + vertexes +
+                ",\nBitMatrix=" + stringBuilder.append("]") +
+                ",\ninfos=" + infos +
+                ",\nVertexNum=" + vertexNum +
+                ",\nEdgeNum=" + edgeNum +
+                ",\ngraphKind=" + graphKind +
+                '}';
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> ADDRESS_BITS_PER_WORD;
+    }
+
+    private static boolean test(long[] row, int j) {
+        return (row[j >>> ADDRESS_BITS_PER_WORD] & (1L << j)) != 0;
+    }
+
+    private static void set(long[] row, int j) {
+        row[j >>> ADDRESS_BITS_PER_WORD] |= 1L << j;
+    }
+
+    private static void clear(long[] row, int j) {
+        row[j >>> ADDRESS_BITS_PER_WORD] &= ~(1L << j);
+    }
+
+    /**
+     * @return 位置不小于from的第一个1的位置，不存在返回-1
+     */
+    private int nextSetBit(long[] row, int from) {
+        if (from >= vertexNum)
+            return -1;
+        int w = from >>> ADDRESS_BITS_PER_WORD;
+        long word = row[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int j = (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                return j < vertexNum ? j : -1;
+            }
+            if (++w == words)
+                return -1;
+            word = row[w];
+        }
+    }
+
+    /**
+     * 跳过self，返回位置不小于from的第一个1的位置，不存在返回-1
+     */
+    private int nextSetBit(long[] row, int from, int self) {
+        int j = nextSetBit(row, from);
+        return j == self ? nextSetBit(row, j + 1) : j;
+    }
+
+    private int bitCount(long[] row) {
+        int count = 0;
+        for (int w = 0; w < words; w++)
+            count += Long.bitCount(row[w]);
+        return count;
+    }
+
+    /**
+     * 在有效长度为n的位图的index处插入一个0，其后的位依次后移
+     */
+    private static void insertBit(long[] row, int index, int n) {
+        int w = index >>> ADDRESS_BITS_PER_WORD;
+        for (int k = n >>> ADDRESS_BITS_PER_WORD; k > w; k--)
+            row[k] = (row[k] << 1) | (row[k - 1] >>> 63);
+        long lowMask = (1L << index) - 1;
+        row[w] = (row[w] & lowMask) | ((row[w] & ~lowMask) << 1);
+    }
+
+    /**
+     * 删除有效长度为n的位图的index处的位，其后的位依次前移
+     */
+    private static void removeBit(long[] row, int index, int n) {
+        int w = index >>> ADDRESS_BITS_PER_WORD;
+        int last = (n - 1) >>> ADDRESS_BITS_PER_WORD;
+        long lowMask = (1L << index) - 1;
+        row[w] = (row[w] & lowMask) | ((row[w] >>> 1) & ~lowMask);
+        for (int k = w; k < last; k++) {
+            row[k] |= row[k + 1] << 63;
+            row[k + 1] >>>= 1;
+        }
+    }
+
+    /**
+     * 保证能容纳minVertexNum个顶点：行数组与每一行的字数均按1.5倍扩容
+     */
+    private void ensureCapacity(int minVertexNum) {
+        if (minVertexNum > rows.length) {
+            int newLength = Math.max(minVertexNum, rows.length + (rows.length >> 1));
+            rows = Arrays.copyOf(rows, newLength);
+            if (isDirectedGraph())
+                columns = Arrays.copyOf(columns, newLength);
+        }
+        if (wordsFor(minVertexNum) > words) {
+            words = Math.max(wordsFor(minVertexNum), words + (words >> 1));
+            for (int i = 0; i < vertexNum; i++) {
+                rows[i] = Arrays.copyOf(rows[i], words);
+                if (isDirectedGraph())
+                    columns[i] = Arrays.copyOf(columns[i], words);
+            }
+        }
+    }
+
+    /**
+     * 信息表的键：有向图为(弧尾,弧头)，无向图为(较小端点,较大端点)
+     */
+    private long key(int tailIndex, int headIndex) {
+        if (!isDirectedGraph() && tailIndex > headIndex)
+            return ((long) headIndex << 32) | tailIndex;
+        return ((long) tailIndex << 32) | headIndex;
+    }
+
+    private V infoOf(int tailIndex, int headIndex) {
+        return infos == null ? null : infos.get(key(tailIndex, headIndex));
+    }
+
+    private void setInfo(int tailIndex, int headIndex, V info) {
+        if (info != null) {
+            if (infos == null)
+                infos = new HashMap<>();
+            infos.put(key(tailIndex, headIndex), info);
+        } else if (infos != null)
+            infos.remove(key(tailIndex, headIndex));
+    }
+
+    /**
+     * 顶点插入/删除后，按mapping重新映射信息表中的端点，mapping返回-1表示该端点已被删除
+     */
+    private void remapInfos(IntUnaryOperator mapping) {
+        if (infos == null)
+            return;
+        Map<Long, V> remapped = new HashMap<>();
+        infos.forEach((key, info) -> {
+            int tailIndex = mapping.applyAsInt((int) (key >>> 32));
+            int headIndex = mapping.applyAsInt(key.intValue());
+            if (tailIndex != -1 && headIndex != -1)
+                remapped.put(key(tailIndex, headIndex), info);
+        });
+        infos = remapped;
+    }
+
+    /**
+     * 按需生成弧/边
+     */
+    private Edge<T, V> edgeAt(int tailIndex, int headIndex) {
+        return new Edge<>(tailIndex, headIndex, true, infoOf(tailIndex, headIndex));
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    @Override
+    public E getVertex(int index) {
+        return vertexes.get(index);
+    }
+
+    @Override
+    public E setVertex(int index, E vertex) {
+        E oldVertex = vertexes.set(index, vertex);
+        vertexReplaced(index, oldVertex, vertex);
+        return oldVertex;
+    }
+
+    @Override
+    public boolean addVertex(E vertex) {
+        ensureCapacity(vertexNum + 1);
+        vertexes.add(vertex);
+        rows[vertexNum] = new long[words];
+        if (isDirectedGraph())
+            columns[vertexNum] = new long[words];
+        ++vertexNum;
+        vertexAdded(vertexNum - 1, vertex);
+        return true;
+    }
+
+    /**
+     * 在指定位置插入顶点，其后顶点的索引值依次加一，时间复杂度O(V²/64)
+     *
+     * @param index  指定插入位置的索引值
+     * @param vertex 待插入顶点
+     */
+    @Override
+    public void addVertex(int index, E vertex) {
+        if (index < 0 || index > vertexNum)
+            throw new IndexOutOfBoundsException("顶点下标必须<=" + vertexNum + "并且>=0！");
+        ensureCapacity(vertexNum + 1);
+        vertexes.add(index, vertex);
+        for (int i = 0; i < vertexNum; i++) {
+            insertBit(rows[i], index, vertexNum);
+            if (isDirectedGraph())
+                insertBit(columns[i], index, vertexNum);
+        }
+        System.arraycopy(rows, index, rows, index + 1, vertexNum - index);
+        rows[index] = new long[words];
+        if (isDirectedGraph()) {
+            System.arraycopy(columns, index, columns, index + 1, vertexNum - index);
+            columns[index] = new long[words];
+        }
+        ++vertexNum;
+        remapInfos(i -> i >= index ? i + 1 : i);
+        vertexAdded(index, vertex);
+    }
+
+    /**
+     * 删除指定索引值对应位置的顶点
+     *
+     * @param index 删除index索引值对应的顶点
+     * @return 被删除的顶点
+     */
+    @Override
+    public E deleteVertex(int index) {
+        rangeCheck(index);
+        E vertex = vertexes.remove(index);
+        int reducedEdgeNum = bitCount(rows[index]);
+        if (isDirectedGraph())
+            reducedEdgeNum += bitCount(columns[index]) - (test(rows[index], index) ? 1 : 0);
+        for (int i = 0; i < vertexNum; i++) {
+            removeBit(rows[i], index, vertexNum);
+            if (isDirectedGraph())
+                removeBit(columns[i], index, vertexNum);
+        }
+        System.arraycopy(rows, index + 1, rows, index, vertexNum - index - 1);
+        if (isDirectedGraph())
+            System.arraycopy(columns, index + 1, columns, index, vertexNum - index - 1);
+        --vertexNum;
+        rows[vertexNum] = null;
+        if (isDirectedGraph())
+            columns[vertexNum] = null;
+        edgeNum -= reducedEdgeNum;
+        remapInfos(i -> i == index ? -1 : i > index ? i - 1 : i);
+        vertexDeleted(index, vertex);
+        return vertex;
+    }
+
+    /**
+     * 通过索引值添加一条边，非网会忽略权值
+     *
+     * @return 旧的边
+     */
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2, T weight, V info) {
+        return putEdge(index1, index2, info);
+    }
+
+    private Edge<T, V> putEdge(int index1, int index2, V info) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        Edge<T, V> old = null;
+        if (test(rows[index1], index2)) {
+            old = edgeAt(index1, index2);
+            edgeUpdated(index1, index2);
+        } else {
+            edgeAdded(index1, index2);
+            set(rows[index1], index2);
+            if (isDirectedGraph())
+                set(columns[index2], index1);
+            else
+                set(rows[index2], index1);
+            ++edgeNum;
+        }
+        setInfo(index1, index2, info);
+        return old;
+    }
+
+    @Override
+    public Set<Edge<T, V>> addEdgesByIndexes(Set<int[]> indexes) {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        indexes.forEach(e -> {
+            if (e == null || e.length != 2)
+                throw new RuntimeException("生成弧/边有且仅有两个顶点的索引值");
+            else
+                edges.add(putEdge(e[0], e[1], null));
+        });
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> deleteEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        if (!test(rows[index1], index2))
+            return null;
+        Edge<T, V> old = edgeAt(index1, index2);
+        clear(rows[index1], index2);
+        if (isDirectedGraph())
+            clear(columns[index2], index1);
+        else
+            clear(rows[index2], index1);
+        setInfo(index1, index2, null);
+        --edgeNum;
+        edgeDeleted(index1, index2);
+        return old;
+    }
+
+    @Override
+    public Edge<T, V> updateEdge(int index1, int index2, T weight, V info) {
+        updateCheck(index1, index2);
+        setInfo(index1, index2, info);
+        edgeUpdated(index1, index2);
+        return edgeAt(index1, index2);
+    }
+
+    /**
+     * 位矩阵只存储无权图，权值恒为true
+     */
+    @Override
+    public Edge<T, V> updateEdgeWeight(int index1, int index2, T weight) {
+        updateCheck(index1, index2);
+        return edgeAt(index1, index2);
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeInfo(int index1, int index2, V info) {
+        updateCheck(index1, index2);
+        setInfo(index1, index2, info);
+        edgeUpdated(index1, index2);
+        return edgeAt(index1, index2);
+    }
+
+    private void updateCheck(int index1, int index2) {
+        if (!hasEdge(index1, index2))
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        return test(rows[index1], index2);
+    }
+
+    @Override
+    public Edge<T, V> getEdge(int index1, int index2) {
+        return hasEdge(index1, index2) ? edgeAt(index1, index2) : null;
+    }
+
+    /**
+     * 入弧所在的位图：有向图为列，无向图与行相同
+     */
+    private long[] inRow(int index) {
+        return isDirectedGraph() ? columns[index] : rows[index];
+    }
+
+    @Override
+    public Set<Edge<T, V>> getInEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        long[] in = inRow(index);
+        for (int i = nextSetBit(in, 0); i != -1; i = nextSetBit(in, i + 1))
+            edges.add(edgeAt(i, index));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstInEdge(int index) {
+        rangeCheck(index);
+        int i = nextSetBit(inRow(index), 0);
+        return i == -1 ? null : edgeAt(i, index);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getOutEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        long[] out = rows[index];
+        for (int j = nextSetBit(out, 0); j != -1; j = nextSetBit(out, j + 1))
+            edges.add(edgeAt(index, j));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstOutEdge(int index) {
+        rangeCheck(index);
+        int j = nextSetBit(rows[index], 0);
+        return j == -1 ? null : edgeAt(index, j);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getAdjacentEdges(int index) {
+        Set<Edge<T, V>> edges = getInEdges(index);
+        if (isDirectedGraph()) {
+            long[] out = rows[index];
+            //自环已作为入弧加入
+            for (int j = nextSetBit(out, 0, index); j != -1; j = nextSetBit(out, j + 1, index))
+                edges.add(edgeAt(index, j));
+        }
+        return edges;
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        rangeCheck(index);
+        return bitCount(inRow(index));
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        rangeCheck(index);
+        return bitCount(rows[index]);
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int i = nextSetBit(columns[index], 0, index); i != -1; i = nextSetBit(columns[index], i + 1, index))
+                vertexes.add(this.vertexes.get(i));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int i = nextSetBit(columns[index], 0, index); i != -1; i = nextSetBit(columns[index], i + 1, index))
+                vertexIndexes.add(i);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int j = nextSetBit(rows[index], 0, index); j != -1; j = nextSetBit(rows[index], j + 1, index))
+                vertexes.add(this.vertexes.get(j));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int j = nextSetBit(rows[index], 0, index); j != -1; j = nextSetBit(rows[index], j + 1, index))
+                vertexIndexes.add(j);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    /**
+     * 按索引值升序同时扫描行与列，结果顺序与邻接矩阵一致（有向图中互为出入邻接点的顶点出现两次）
+     */
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        rangeCheck(index);
+        List<E> vertexes = new ArrayList<>();
+        long[] out = rows[index], in = isDirectedGraph() ? columns[index] : null;
+        for (int w = 0; w < words; w++) {
+            long word = in == null ? out[w] : out[w] | in[w];
+            while (word != 0) {
+                int i = (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (i == index)
+                    continue;
+                if (test(out, i))
+                    vertexes.add(this.vertexes.get(i));
+                if (in != null && test(in, i))
+                    vertexes.add(this.vertexes.get(i));
+            }
+        }
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        rangeCheck(index);
+        Set<Integer> vertexIndexes = new HashSet<>();
+        long[] out = rows[index], in = isDirectedGraph() ? columns[index] : null;
+        for (int w = 0; w < words; w++) {
+            long word = in == null ? out[w] : out[w] | in[w];
+            while (word != 0) {
+                int i = (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (i != index)
+                    vertexIndexes.add(i);
+            }
+        }
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即邻接点的索引值
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        return nextSetBit(rows[index], cursor + 1, index);
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        updateCheck(index1, index2);
+        return 1;
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return 1;
+    }
+
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        return nextSetBit(inRow(index), cursor + 1, index);
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return cursor;
+    }
+
+    @Override
+    public Object[] getVertexes() {
+        return vertexes.toArray();
+    }
+
+    @Override
+    public Set<Edge<T, V>> getEdges() {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int i = 0; i < vertexNum; i++)
+            for (int j = nextSetBit(rows[i], isDirectedGraph() ? 0 : i); j != -1; j = nextSetBit(rows[i], j + 1))
+                edges.add(edgeAt(i, j));
+        return edges;
+    }
+}
@@ -0,0 +1,810 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.GraphKind;
+
+import java.util.*;
+
+/**
+ * 图-实现类（压缩稀疏行，Compressed Sparse Row）
+ * 特性：
+ * 1、具有自环边，不具备平行边；
+ * 2、有权值；
+ * 3、有方向；
+ * 4、顶点i的出弧保存在targets[offsets[i], offsets[i+1])中，并按弧头索引值升序排列，空间复杂度为O(V+E)；
+ * 5、无向图的每条边在两个端点的行中各存一份；有向图额外维护一份反向索引（入弧），使入边相关的查询同样为O(degree)。
+ *
+ * 注意：
+ * 1、弧/边的权值与信息以平行列的方式存放，getEdge等方法返回的Edge是按需生成的，
+ * 直接修改返回的Edge不会影响图本身，请使用updateEdge系列方法；
+ * 2、增删顶点与弧/边需要移动数组，时间复杂度为O(V+E)，适合读多写少的场景，批量建图请使用带弧/边集合的构造方法。
+ */
+public class GraphByCSR<E, T, V> extends AbstractGraph<E, T, V> {
+    /**
+     * 顶点向量
+     */
+    private final List<E> vertexes;
+    /**
+     * 图的当前顶点数和弧数
+     */
+    private int vertexNum, edgeNum;
+    /**
+     * 行偏移量（有效长度为vertexNum+1）
+     */
+    private int[] offsets;
+    /**
+     * 弧头索引值（有效长度为offsets[vertexNum]）
+     */
+    private int[] targets;
+    /**
+     * 权值列（仅网使用）
+     */
+    private WeightColumn weights;
+    /**
+     * 信息列（首次存入非null信息时才分配）
+     */
+    private Object[] infos;
+    /**
+     * 有向图的反向索引：入弧偏移量、入弧的弧尾索引值、入弧在targets中的位置
+     */
+    private int[] inOffsets, inSources, inArcs;
+
+    public GraphByCSR(@NotNull List<E> vertexes, @NotNull List<Edge<T, V>> edges, @NotNull GraphKind graphKind) {
+        super(graphKind);
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        createCSR(edges);
+        rebuildInIndex();
+    }
+
+    /**
+     * 供GraphBuilder使用：弧/边以列的形式给出，避免生成中间的Edge对象
+     */
+    GraphByCSR(List<E> vertexes, int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m, GraphKind graphKind) {
+        super(graphKind);
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        createCSR(edgeTails, edgeHeads, edgeWeights, edgeInfos, m);
+        rebuildInIndex();
+    }
+
+    public GraphByCSR(@NotNull GraphKind graphKind) {
+        this(new ArrayList<>(), graphKind);
+    }
+
+    public GraphByCSR(@NotNull List<E> vertexes, @NotNull GraphKind graphKind) {
+        super(graphKind);
+        this.vertexes = vertexes;
+        this.vertexNum = vertexes.size();
+        this.offsets = new int[vertexNum + 1];
+        this.targets = new int[0];
+        if (isNetwork())
+            this.weights = newWeightColumn(0);
+        rebuildInIndex();
+    }
+
+    @Override
+    public String toString() {
+        return "GraphByCSR{\n" +
+                "vertexes=" + vertexes +
+                ",\noffsets=" + Arrays.toString(Arrays.copyOf(offsets, vertexNum + 1)) +
+                ",\ntargets=" + Arrays.toString(Arrays.copyOf(targets, offsets[vertexNum])) +
+                ",\nVertexNum=" + vertexNum +
+                ",\nEdgeNum=" + edgeNum +
+                ",\ngraphKind=" + graphKind +
+                '}';
+    }
+
+    /**
+     * 根据弧/边集合一次性生成CSR
+     *
+     * @param edges 弧/边集
+     */
+    private void createCSR(List<Edge<T, V>> edges) {
+        int m = edges.size();
+        int[] edgeTails = new int[m], edgeHeads = new int[m];
+        Object[] edgeWeights = isNetwork() ? new Object[m] : null, edgeInfos = null;
+        for (int i = 0; i < m; i++) {
+            Edge<T, V> edge = edges.get(i);
+            edgeTails[i] = edge.getTailIndex();
+            edgeHeads[i] = edge.getHeadIndex();
+            if (isNetwork())
+                edgeWeights[i] = edge.getWeight();
+            if (edge.getInfo() != null) {
+                if (edgeInfos == null)
+                    edgeInfos = new Object[m];
+                edgeInfos[i] = edge.getInfo();
+            }
+        }
+        createCSR(edgeTails, edgeHeads, edgeWeights, edgeInfos, m);
+    }
+
+    /**
+     * 根据按列存放的弧/边一次性生成CSR：
+     * 先按弧头、再按弧尾做两趟稳定的计数排序，得到按(弧尾,弧头)有序的弧序列，
+     * 重复的弧/边保留最后出现的那一条（与邻接矩阵覆盖写入的语义一致），时间复杂度O(V+E)
+     *
+     * @param edgeTails   弧尾索引值
+     * @param edgeHeads   弧头索引值
+     * @param edgeWeights 权值（非网时为null）
+     * @param edgeInfos   信息（全部为null时可以为null）
+     * @param m           弧/边的数量
+     */
+    private void createCSR(int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m) {
+        int capacity = 0;
+        for (int i = 0; i < m; i++) {
+            rangeCheck(edgeTails[i]);
+            rangeCheck(edgeHeads[i]);
+            capacity += (!isDirectedGraph() && edgeTails[i] != edgeHeads[i]) ? 2 : 1;
+        }
+        int[] tails = new int[capacity], heads = new int[capacity], sources = new int[capacity];
+        int n = 0;
+        for (int i = 0; i < m; i++) {
+            tails[n] = edgeTails[i];
+            heads[n] = edgeHeads[i];
+            sources[n++] = i;
+            if (!isDirectedGraph() && edgeTails[i] != edgeHeads[i]) {
+                tails[n] = edgeHeads[i];
+                heads[n] = edgeTails[i];
+                sources[n++] = i;
+            }
+        }
+        int[] byHead = countingSort(heads, null, n);
+        int[] order = countingSort(tails, byHead, n);
+
+        offsets = new int[vertexNum + 1];
+        targets = new int[n];
+        if (isNetwork())
+            weights = newWeightColumn(n);
+        int arcNum = 0;
+        for (int k = 0; k < n; k++) {
+            int a = order[k];
+            //相同的弧相邻，只保留最后一条
+            if (k + 1 < n && tails[order[k + 1]] == tails[a] && heads[order[k + 1]] == heads[a])
+                continue;
+            targets[arcNum] = heads[a];
+            if (isNetwork())
+                weights.set(arcNum, edgeWeights[sources[a]]);
+            if (edgeInfos != null && edgeInfos[sources[a]] != null) {
+                if (infos == null)
+                    infos = new Object[n];
+                infos[arcNum] = edgeInfos[sources[a]];
+            }
+            ++offsets[tails[a] + 1];
+            if (isDirectedGraph() || tails[a] <= heads[a])
+                ++edgeNum;
+            ++arcNum;
+        }
+        for (int i = 0; i < vertexNum; i++)
+            offsets[i + 1] += offsets[i];
+    }
+
+    /**
+     * 按keys对弧做稳定的计数排序
+     *
+     * @param keys  排序关键字
+     * @param order 上一趟排序的结果（为null时按自然顺序）
+     * @param n     弧的数量
+     * @return 排序后的弧序号
+     */
+    private int[] countingSort(int[] keys, int[] order, int n) {
+        int[] count = new int[vertexNum + 1];
+        for (int k = 0; k < n; k++)
+            ++count[keys[k] + 1];
+        for (int i = 0; i < vertexNum; i++)
+            count[i + 1] += count[i];
+        int[] sorted = new int[n];
+        for (int k = 0; k < n; k++) {
+            int a = order == null ? k : order[k];
+            sorted[count[keys[a]]++] = a;
+        }
+        return sorted;
+    }
+
+    /**
+     * 重建有向图的反向索引，时间复杂度O(V+E)
+     */
+    private void rebuildInIndex() {
+        if (!isDirectedGraph())
+            return;
+        int arcNum = offsets[vertexNum];
+        inOffsets = new int[vertexNum + 1];
+        inSources = new int[arcNum];
+        inArcs = new int[arcNum];
+        for (int p = 0; p < arcNum; p++)
+            ++inOffsets[targets[p] + 1];
+        for (int i = 0; i < vertexNum; i++)
+            inOffsets[i + 1] += inOffsets[i];
+        int[] cursor = Arrays.copyOf(inOffsets, vertexNum);
+        for (int u = 0; u < vertexNum; u++)
+            for (int p = offsets[u]; p < offsets[u + 1]; p++) {
+                int q = cursor[targets[p]]++;
+                inSources[q] = u;
+                inArcs[q] = p;
+            }
+    }
+
+    /**
+     * 在弧尾tailIndex的行中二分查找弧头headIndex
+     *
+     * @return 弧在targets中的位置，不存在返回-1
+     */
+    private int findArc(int tailIndex, int headIndex) {
+        int pos = Arrays.binarySearch(targets, offsets[tailIndex], offsets[tailIndex + 1], headIndex);
+        return pos < 0 ? -1 : pos;
+    }
+
+    /**
+     * 按需生成位于pos处的弧/边
+     */
+    @SuppressWarnings("unchecked")
+    private Edge<T, V> edgeAt(int tailIndex, int pos) {
+        Object weight = isNetwork() ? weights.get(pos) : true;
+        V info = infos == null ? null : (V) infos[pos];
+        return new Edge<>(tailIndex, targets[pos], weight, info);
+    }
+
+    /**
+     * 创建权值列，子类可以改用原始类型的列
+     */
+    WeightColumn newWeightColumn(int capacity) {
+        return new WeightColumn.ObjectColumn(capacity);
+    }
+
+    private void ensureArcCapacity(int minCapacity) {
+        if (minCapacity <= targets.length)
+            return;
+        int newCapacity = Math.max(minCapacity, targets.length + (targets.length >> 1) + 1);
+        targets = Arrays.copyOf(targets, newCapacity);
+        if (weights != null)
+            weights.resize(newCapacity);
+        if (infos != null)
+            infos = Arrays.copyOf(infos, newCapacity);
+    }
+
+    private void setArcValue(int pos, Object weight, Object info) {
+        if (isNetwork())
+            weights.set(pos, weight);
+        setArcInfo(pos, info);
+    }
+
+    private void setArcInfo(int pos, Object info) {
+        if (info != null && infos == null)
+            infos = new Object[targets.length];
+        if (infos != null)
+            infos[pos] = info;
+    }
+
+    /**
+     * 在弧尾tailIndex的行中按序插入一条弧（不重建反向索引）
+     */
+    private void insertArc(int tailIndex, int headIndex, Object weight, Object info) {
+        int arcNum = offsets[vertexNum];
+        ensureArcCapacity(arcNum + 1);
+        int pos = -(Arrays.binarySearch(targets, offsets[tailIndex], offsets[tailIndex + 1], headIndex) + 1);
+        System.arraycopy(targets, pos, targets, pos + 1, arcNum - pos);
+        if (weights != null)
+            weights.copy(pos, pos + 1, arcNum - pos);
+        if (infos != null)
+            System.arraycopy(infos, pos, infos, pos + 1, arcNum - pos);
+        targets[pos] = headIndex;
+        if (infos != null)
+            infos[pos] = null;
+        setArcValue(pos, weight, info);
+        for (int i = tailIndex + 1; i <= vertexNum; i++)
+            ++offsets[i];
+    }
+
+    /**
+     * 删除位于pos处的弧（不重建反向索引）
+     */
+    private void removeArc(int tailIndex, int pos) {
+        int arcNum = offsets[vertexNum];
+        System.arraycopy(targets, pos + 1, targets, pos, arcNum - pos - 1);
+        if (weights != null) {
+            weights.copy(pos + 1, pos, arcNum - pos - 1);
+            weights.clear(arcNum - 1, arcNum);
+        }
+        if (infos != null) {
+            System.arraycopy(infos, pos + 1, infos, pos, arcNum - pos - 1);
+            infos[arcNum - 1] = null;
+        }
+        for (int i = tailIndex + 1; i <= vertexNum; i++)
+            --offsets[i];
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    @Override
+    public E getVertex(int index) {
+        return vertexes.get(index);
+    }
+
+    @Override
+    public E setVertex(int index, E vertex) {
+        E oldVertex = vertexes.set(index, vertex);
+        vertexReplaced(index, oldVertex, vertex);
+        return oldVertex;
+    }
+
+    @Override
+    public boolean addVertex(E vertex) {
+        vertexes.add(vertex);
+        if (vertexNum + 2 > offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1) + 1);
+        offsets[vertexNum + 1] = offsets[vertexNum];
+        //新顶点没有入弧，反向索引只需同样追加一个空行
+        if (isDirectedGraph()) {
+            if (vertexNum + 2 > inOffsets.length)
+                inOffsets = Arrays.copyOf(inOffsets, inOffsets.length + (inOffsets.length >> 1) + 1);
+            inOffsets[vertexNum + 1] = inOffsets[vertexNum];
+        }
+        ++vertexNum;
+        vertexAdded(vertexNum - 1, vertex);
+        return true;
+    }
+
+    /**
+     * 在指定位置插入顶点，其后顶点的索引值依次加一，时间复杂度O(V+E)
+     *
+     * @param index  指定插入位置的索引值
+     * @param vertex 待插入顶点
+     */
+    @Override
+    public void addVertex(int index, E vertex) {
+        if (index < 0 || index > vertexNum)
+            throw new IndexOutOfBoundsException("顶点下标必须<=" + vertexNum + "并且>=0！");
+        vertexes.add(index, vertex);
+        if (vertexNum + 2 > offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1) + 1);
+        System.arraycopy(offsets, index, offsets, index + 1, vertexNum + 1 - index);
+        int arcNum = offsets[vertexNum + 1];
+        for (int p = 0; p < arcNum; p++)
+            if (targets[p] >= index)
+                ++targets[p];
+        ++vertexNum;
+        rebuildInIndex();
+        vertexAdded(index, vertex);
+    }
+
+    /**
+     * 删除指定索引值对应位置的顶点
+     *
+     * @param index 删除index索引值对应的顶点
+     * @return 被删除的顶点
+     */
+    @Override
+    public E deleteVertex(int index) {
+        rangeCheck(index);
+        E vertex = vertexes.remove(index);
+        int arcNum = offsets[vertexNum];
+        int reducedEdgeNum = offsets[index + 1] - offsets[index];
+        int n = 0;
+        for (int u = 0; u < vertexNum; u++) {
+            int begin = offsets[u], end = offsets[u + 1];
+            offsets[u > index ? u - 1 : u] = n;
+            if (u == index)
+                continue;
+            for (int p = begin; p < end; p++) {
+                int head = targets[p];
+                if (head == index) {
+                    if (isDirectedGraph())
+                        ++reducedEdgeNum;
+                    continue;
+                }
+                targets[n] = head > index ? head - 1 : head;
+                if (weights != null)
+                    weights.copy(p, n, 1);
+                if (infos != null)
+                    infos[n] = infos[p];
+                ++n;
+            }
+        }
+        --vertexNum;
+        offsets[vertexNum] = n;
+        if (weights != null)
+            weights.clear(n, arcNum);
+        if (infos != null)
+            Arrays.fill(infos, n, arcNum, null);
+        edgeNum -= reducedEdgeNum;
+        rebuildInIndex();
+        vertexDeleted(index, vertex);
+        return vertex;
+    }
+
+    /**
+     * 通过索引值添加一条边
+     *
+     * @return 旧的边
+     */
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2, T weight, V info) {
+        Edge<T, V> old = putEdge(index1, index2, weight, info);
+        rebuildInIndex();
+        return old;
+    }
+
+    private Edge<T, V> putEdge(int index1, int index2, Object weight, Object info) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        if (pos != -1) {
+            Edge<T, V> old = edgeAt(index1, pos);
+            setArcValue(pos, weight, info);
+            if (!isDirectedGraph() && index1 != index2)
+                setArcValue(findArc(index2, index1), weight, info);
+            edgeUpdated(index1, index2);
+            return old;
+        }
+        edgeAdded(index1, index2);
+        insertArc(index1, index2, weight, info);
+        if (!isDirectedGraph() && index1 != index2)
+            insertArc(index2, index1, weight, info);
+        ++edgeNum;
+        return null;
+    }
+
+    @Override
+    public Set<Edge<T, V>> addEdgesByIndexes(Set<int[]> indexes) {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        //维护拓扑顺序时，每条弧的反向搜索要经过本批中先加入的弧，反向索引需逐条重建；否则只在最后重建一次
+        boolean maintained = isTopologicalOrderMaintained();
+        try {
+            indexes.forEach(e -> {
+                if (e == null || e.length != 2)
+                    throw new RuntimeException("生成弧/边有且仅有两个顶点的索引值");
+                edges.add(putEdge(e[0], e[1], null, null));
+                if (maintained)
+                    rebuildInIndex();
+            });
+        } finally {
+            if (!maintained)
+                rebuildInIndex();
+        }
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> deleteEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        if (pos == -1)
+            return null;
+        Edge<T, V> old = edgeAt(index1, pos);
+        removeArc(index1, pos);
+        if (!isDirectedGraph() && index1 != index2)
+            removeArc(index2, findArc(index2, index1));
+        --edgeNum;
+        rebuildInIndex();
+        edgeDeleted(index1, index2);
+        return old;
+    }
+
+    @Override
+    public Edge<T, V> updateEdge(int index1, int index2, T weight, V info) {
+        int pos = updateCheck(index1, index2);
+        setArcValue(pos, weight, info);
+        if (!isDirectedGraph() && index1 != index2)
+            setArcValue(findArc(index2, index1), weight, info);
+        edgeUpdated(index1, index2);
+        return edgeAt(index1, pos);
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeWeight(int index1, int index2, T weight) {
+        int pos = updateCheck(index1, index2);
+        if (isNetwork()) {
+            weights.set(pos, weight);
+            if (!isDirectedGraph() && index1 != index2)
+                weights.set(findArc(index2, index1), weight);
+            edgeUpdated(index1, index2);
+        }
+        return edgeAt(index1, pos);
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeInfo(int index1, int index2, V info) {
+        int pos = updateCheck(index1, index2);
+        setArcInfo(pos, info);
+        if (!isDirectedGraph() && index1 != index2)
+            setArcInfo(findArc(index2, index1), info);
+        edgeUpdated(index1, index2);
+        return edgeAt(index1, pos);
+    }
+
+    /**
+     * 写入一条以double给出权值的弧/边，若已存在则替换其权值与信息，过程中不装箱也不生成Edge对象
+     *
+     * @return true表示新增了弧/边
+     */
+    boolean putArc(int index1, int index2, double weight, Object info) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        boolean added = findArc(index1, index2) == -1;
+        if (added) {
+            edgeAdded(index1, index2);
+            insertArc(index1, index2, null, info);
+            if (!isDirectedGraph() && index1 != index2)
+                insertArc(index2, index1, null, info);
+            ++edgeNum;
+        }
+        setArcDouble(findArc(index1, index2), weight, info);
+        if (!isDirectedGraph() && index1 != index2)
+            setArcDouble(findArc(index2, index1), weight, info);
+        if (added)
+            rebuildInIndex();
+        else
+            edgeUpdated(index1, index2);
+        return added;
+    }
+
+    /**
+     * 以double修改已有弧/边的权值
+     */
+    void setArcWeight(int index1, int index2, double weight) {
+        int pos = updateCheck(index1, index2);
+        weights.setDouble(pos, weight);
+        if (!isDirectedGraph() && index1 != index2)
+            weights.setDouble(findArc(index2, index1), weight);
+        edgeUpdated(index1, index2);
+    }
+
+    private void setArcDouble(int pos, double weight, Object info) {
+        weights.setDouble(pos, weight);
+        setArcInfo(pos, info);
+    }
+
+    private int updateCheck(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        if (pos == -1)
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+        return pos;
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        int pos = updateCheck(index1, index2);
+        return isNetwork() ? weights.getDouble(pos) : 1;
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return isNetwork() ? weights.getDouble(cursor) : 1;
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        return findArc(index1, index2) != -1;
+    }
+
+    @Override
+    public Edge<T, V> getEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        return pos == -1 ? null : edgeAt(index1, pos);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getInEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        if (isDirectedGraph())
+            for (int q = inOffsets[index]; q < inOffsets[index + 1]; q++)
+                edges.add(edgeAt(inSources[q], inArcs[q]));
+        else
+            for (int p = offsets[index]; p < offsets[index + 1]; p++)
+                edges.add(edgeAt(targets[p], findArc(targets[p], index)));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstInEdge(int index) {
+        rangeCheck(index);
+        if (isDirectedGraph()) {
+            if (inOffsets[index] == inOffsets[index + 1])
+                return null;
+            return edgeAt(inSources[inOffsets[index]], inArcs[inOffsets[index]]);
+        }
+        if (offsets[index] == offsets[index + 1])
+            return null;
+        int tailIndex = targets[offsets[index]];
+        return edgeAt(tailIndex, findArc(tailIndex, index));
+    }
+
+    @Override
+    public Set<Edge<T, V>> getOutEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int p = offsets[index]; p < offsets[index + 1]; p++)
+            edges.add(edgeAt(index, p));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstOutEdge(int index) {
+        rangeCheck(index);
+        if (offsets[index] == offsets[index + 1])
+            return null;
+        return edgeAt(index, offsets[index]);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getAdjacentEdges(int index) {
+        Set<Edge<T, V>> edges = getInEdges(index);
+        if (isDirectedGraph())
+            for (int p = offsets[index]; p < offsets[index + 1]; p++)
+                //自环已作为入弧加入
+                if (targets[p] != index)
+                    edges.add(edgeAt(index, p));
+        return edges;
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        rangeCheck(index);
+        if (isDirectedGraph())
+            return inOffsets[index + 1] - inOffsets[index];
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        rangeCheck(index);
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int q = inOffsets[index]; q < inOffsets[index + 1]; q++)
+                if (inSources[q] != index)
+                    vertexes.add(this.vertexes.get(inSources[q]));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int q = inOffsets[index]; q < inOffsets[index + 1]; q++)
+                if (inSources[q] != index)
+                    vertexIndexes.add(inSources[q]);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int p = offsets[index]; p < offsets[index + 1]; p++)
+                if (targets[p] != index)
+                    vertexes.add(this.vertexes.get(targets[p]));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int p = offsets[index]; p < offsets[index + 1]; p++)
+                if (targets[p] != index)
+                    vertexIndexes.add(targets[p]);
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    /**
+     * 有向图中出邻接点与入邻接点均按索引值升序归并，与邻接矩阵按列扫描的结果顺序一致
+     */
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        rangeCheck(index);
+        List<E> vertexes = new ArrayList<>();
+        int p = offsets[index], pEnd = offsets[index + 1];
+        int q = isDirectedGraph() ? inOffsets[index] : 0, qEnd = isDirectedGraph() ? inOffsets[index + 1] : 0;
+        while (p < pEnd || q < qEnd) {
+            int i;
+            if (q == qEnd || (p < pEnd && targets[p] <= inSources[q]))
+                i = targets[p++];
+            else
+                i = inSources[q++];
+            if (i != index)
+                vertexes.add(this.vertexes.get(i));
+        }
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        rangeCheck(index);
+        Set<Integer> vertexIndexes = new HashSet<>();
+        for (int p = offsets[index]; p < offsets[index + 1]; p++)
+            if (targets[p] != index)
+                vertexIndexes.add(targets[p]);
+        if (isDirectedGraph())
+            for (int q = inOffsets[index]; q < inOffsets[index + 1]; q++)
+                if (inSources[q] != index)
+                    vertexIndexes.add(inSources[q]);
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即弧在targets中的位置
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        int p = cursor == -1 ? offsets[index] : cursor + 1, end = offsets[index + 1];
+        while (p < end && targets[p] == index)
+            ++p;
+        return p < end ? p : -1;
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return targets[cursor];
+    }
+
+    /**
+     * 有向图的游标即入弧在反向索引中的位置，无向图与出邻接点相同
+     */
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (!isDirectedGraph())
+            return nextOutAdjacentCursor(index, cursor);
+        if (cursor == -1)
+            rangeCheck(index);
+        int q = cursor == -1 ? inOffsets[index] : cursor + 1, end = inOffsets[index + 1];
+        while (q < end && inSources[q] == index)
+            ++q;
+        return q < end ? q : -1;
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return isDirectedGraph() ? inSources[cursor] : targets[cursor];
+    }
+
+    @Override
+    public Object[] getVertexes() {
+        return vertexes.toArray();
+    }
+
+    @Override
+    public Set<Edge<T, V>> getEdges() {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int u = 0; u < vertexNum; u++)
+            for (int p = offsets[u]; p < offsets[u + 1]; p++)
+                if (isDirectedGraph() || u <= targets[p])
+                    edges.add(edgeAt(u, p));
+        return edges;
+    }
+}
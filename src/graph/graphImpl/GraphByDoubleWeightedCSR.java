@@ -0,0 +1,78 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.GraphKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 图-实现类（权值为double的压缩稀疏行）
+ * 与GraphByCSR相同，但只能存储网（DN/UDN），权值以double[]与弧头索引值平行存放：
+ * 每条弧的权值只占8字节，getWeightAsDouble、getOutAdjacentWeightAt读取权值时既不装箱也不做强制类型转换，
+ * addWeightedEdge、setWeightAsDouble写入权值时也不装箱。
+ *
+ * 注意：null权值以NaN存放，通过Edge读取时还原为null。
+ *
+ * @param <E> 顶点类型
+ * @param <V> 弧/边信息类型
+ */
+public class GraphByDoubleWeightedCSR<E, V> extends GraphByCSR<E, Double, V> {
+
+    public GraphByDoubleWeightedCSR(@NotNull List<E> vertexes, @NotNull List<Edge<Double, V>> edges, @NotNull GraphKind graphKind) {
+        super(vertexes, edges, graphKind);
+        networkCheck();
+    }
+
+    public GraphByDoubleWeightedCSR(@NotNull GraphKind graphKind) {
+        this(new ArrayList<>(), graphKind);
+    }
+
+    public GraphByDoubleWeightedCSR(@NotNull List<E> vertexes, @NotNull GraphKind graphKind) {
+        super(vertexes, graphKind);
+        networkCheck();
+    }
+
+    /**
+     * 供GraphBuilder使用：弧/边以列的形式给出，权值必须为数值或null
+     */
+    GraphByDoubleWeightedCSR(List<E> vertexes, int[] edgeTails, int[] edgeHeads, Object[] edgeWeights, Object[] edgeInfos, int m, GraphKind graphKind) {
+        super(vertexes, edgeTails, edgeHeads, edgeWeights, edgeInfos, m, graphKind);
+        networkCheck();
+    }
+
+    private void networkCheck() {
+        if (!isNetwork())
+            throw new RuntimeException("权值为double的压缩稀疏行只能存储网（DN/UDN）！");
+    }
+
+    @Override
+    WeightColumn newWeightColumn(int capacity) {
+        return new WeightColumn.DoubleColumn(capacity);
+    }
+
+    /**
+     * 通过索引值添加一条权值为double的弧/边，若已存在则替换其权值与信息
+     *
+     * @param index1 弧尾索引值
+     * @param index2 弧头索引值
+     * @param weight 权值
+     * @param info   信息
+     * @return true表示新增了弧/边，false表示替换了已有的弧/边
+     */
+    public boolean addWeightedEdge(int index1, int index2, double weight, V info) {
+        return putArc(index1, index2, weight, info);
+    }
+
+    /**
+     * 修改已有弧/边的权值
+     *
+     * @param index1 弧尾索引值
+     * @param index2 弧头索引值
+     * @param weight 新的权值
+     */
+    public void setWeightAsDouble(int index1, int index2, double weight) {
+        setArcWeight(index1, index2, weight);
+    }
+}
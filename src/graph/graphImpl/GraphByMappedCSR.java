@@ -0,0 +1,745 @@
+package graph.graphImpl;
+
+import com.sun.istack.internal.NotNull;
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 图-实现类（映射到文件的只读压缩稀疏行）
+ * 特性：
+ * 1、结构与GraphByCSR相同：具有自环边，不具备平行边；有权值（double）；有方向；
+ * 2、由write写成二进制图文件，map通过FileChannel.map把文件的各个分段映射到内存，
+ * 所有查询直接读取映射的缓冲区，加载时不复制、不解析弧/边，只有用到的页面才会被读入，
+ * 同一台机器上映射同一个文件的多个JVM共享操作系统的页缓存；
+ * 3、顶点以VertexCodec编码后存放，getVertex每次按需解码。
+ *
+ * 文件格式（小端序，各分段按8字节对齐）：
+ * 1、文件头64字节：魔数、版本、GraphKind、顶点数、弧/边数、弧数（CSR中的条目数）、顶点数据的字节数；
+ * 2、offsets：int[顶点数+1]，targets：int[弧数]，顶点i的出弧按弧头索引值升序存放在targets[offsets[i], offsets[i+1])中，
+ * 无向图的每条边在两个端点的行中各存一份；
+ * 3、weights：double[弧数]，与targets平行，只有网才有，null权值存为NaN；
+ * 4、inOffsets、inSources、inArcs：有向图的反向索引，含义与GraphByCSR相同；
+ * 5、vertexOffsets：int[顶点数+1]，vertexes：顶点i编码后的字节位于vertexes[vertexOffsets[i], vertexOffsets[i+1])。
+ *
+ * 注意：
+ * 1、图是只读的，修改顶点与弧/边的方法抛出UnsupportedOperationException；
+ * 2、弧/边的信息不写入文件，读出的Edge信息为null；
+ * 3、单个分段不能超过2GB（约5亿条弧）。
+ *
+ * @param <E> 顶点类型
+ */
+public class GraphByMappedCSR<E> extends AbstractGraph<E, Double, Object> {
+    /**
+     * 顶点的编码方式
+     *
+     * @param <E> 顶点类型
+     */
+    public interface VertexCodec<E> {
+        byte[] encode(E vertex);
+
+        /**
+         * @param buffer 恰好包含一个顶点编码的只读缓冲区
+         */
+        E decode(ByteBuffer buffer);
+    }
+
+    /**
+     * 以UTF-8存放字符串顶点
+     */
+    public static final VertexCodec<String> UTF8 = new VertexCodec<String>() {
+        @Override
+        public byte[] encode(String vertex) {
+            return vertex.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    };
+
+    /**
+     * "GRPH"
+     */
+    private static final int MAGIC = 0x48505247;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    private final int vertexNum, edgeNum;
+    private final IntBuffer offsets, targets;
+    /**
+     * 权值列（仅网使用）
+     */
+    private final DoubleBuffer weights;
+    /**
+     * 有向图的反向索引（仅有向图使用）
+     */
+    private final IntBuffer inOffsets, inSources, inArcs;
+    private final IntBuffer vertexOffsets;
+    private final ByteBuffer vertexes;
+    private final VertexCodec<E> codec;
+
+    private GraphByMappedCSR(FileChannel channel, GraphKind graphKind, int vertexNum, int edgeNum,
+                             Layout layout, VertexCodec<E> codec) throws IOException {
+        super(graphKind);
+        this.vertexNum = vertexNum;
+        this.edgeNum = edgeNum;
+        this.codec = codec;
+        FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+        offsets = map(channel, mode, layout.offsets, layout.targets).asIntBuffer();
+        targets = map(channel, mode, layout.targets, layout.weights).asIntBuffer();
+        weights = isNetwork() ? map(channel, mode, layout.weights, layout.inOffsets).asDoubleBuffer() : null;
+        if (isDirectedGraph()) {
+            inOffsets = map(channel, mode, layout.inOffsets, layout.inSources).asIntBuffer();
+            inSources = map(channel, mode, layout.inSources, layout.inArcs).asIntBuffer();
+            inArcs = map(channel, mode, layout.inArcs, layout.vertexOffsets).asIntBuffer();
+        } else
+            inOffsets = inSources = inArcs = null;
+        vertexOffsets = map(channel, mode, layout.vertexOffsets, layout.vertexes).asIntBuffer();
+        vertexes = map(channel, mode, layout.vertexes, layout.end);
+    }
+
+    /**
+     * 映射图文件
+     *
+     * @param path  write写出的图文件
+     * @param codec 写出时使用的顶点编码方式
+     * @return 只读的图，映射在其被回收前一直有效（与文件是否关闭无关）
+     */
+    public static <E> GraphByMappedCSR<E> map(@NotNull Path path, @NotNull VertexCodec<E> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                throw new RuntimeException(path + "不是图文件！");
+            ByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC)
+                throw new RuntimeException(path + "不是图文件！");
+            if (header.getInt(4) != VERSION)
+                throw new RuntimeException("不支持的图文件版本：" + header.getInt(4));
+            int kind = header.getInt(8);
+            if (kind < 0 || kind >= GraphKind.values().length)
+                throw new RuntimeException(path + "中的图类型无效：" + kind);
+            GraphKind graphKind = GraphKind.values()[kind];
+            int vertexNum = header.getInt(12), edgeNum = header.getInt(16), arcNum = header.getInt(20);
+            Layout layout = new Layout(graphKind, vertexNum, arcNum, header.getLong(24));
+            if (channel.size() < layout.end)
+                throw new RuntimeException(path + "不完整！");
+            return new GraphByMappedCSR<>(channel, graphKind, vertexNum, edgeNum, layout, codec);
+        }
+    }
+
+    /**
+     * 以UTF-8字符串的形式映射图文件
+     */
+    public static GraphByMappedCSR<String> map(@NotNull Path path) throws IOException {
+        return map(path, UTF8);
+    }
+
+    /**
+     * 把任意实现的图写成图文件，弧/边的信息不写入
+     * 先统计各行的弧数得到offsets，再映射文件逐行写入targets与weights，
+     * 有向图的反向索引在已写入的targets上计数生成，除offsets外不在堆上保存O(E)的数据
+     *
+     * @param graph 图
+     * @param path  图文件，已存在则覆盖
+     * @param codec 顶点编码方式
+     */
+    public static <E> void write(@NotNull Graph<E, ?, ?> graph, @NotNull Path path, @NotNull VertexCodec<E> codec) throws IOException {
+        write(graph, path, codec::encode);
+    }
+
+    /**
+     * 以String.valueOf的UTF-8编码写出顶点，可以用map(Path)映射回来
+     */
+    public static void write(@NotNull Graph<?, ?, ?> graph, @NotNull Path path) throws IOException {
+        writeAsString(graph, path);
+    }
+
+    private static <E> void writeAsString(Graph<E, ?, ?> graph, Path path) throws IOException {
+        write(graph, path, vertex -> UTF8.encode(String.valueOf(vertex)));
+    }
+
+    /**
+     * 写出图文件只需要顶点的编码，解码在映射时由VertexCodec完成
+     *
+     * @param encoder 顶点编码方式
+     */
+    private static <E> void write(Graph<E, ?, ?> graph, Path path, Function<? super E, byte[]> encoder) throws IOException {
+        GraphKind graphKind = graph.getKind();
+        int vertexNum = graph.getVertexNum();
+        int[] rowOffsets = new int[vertexNum + 1];
+        long arcNum = 0;
+        for (int u = 0; u < vertexNum; u++) {
+            if (graph.hasEdge(u, u))
+                ++arcNum;
+            for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c))
+                ++arcNum;
+            if (arcNum > Integer.MAX_VALUE)
+                throw new RuntimeException("弧数超过" + Integer.MAX_VALUE + "，无法写成图文件！");
+            rowOffsets[u + 1] = (int) arcNum;
+        }
+        Layout layout = new Layout(graphKind, vertexNum, (int) arcNum, 0);
+        boolean network = graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+        boolean directed = graphKind == GraphKind.DG || graphKind == GraphKind.DN;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+            MappedByteBuffer offsetSection = map(channel, mode, layout.offsets, layout.targets);
+            offsetSection.asIntBuffer().put(rowOffsets);
+            offsetSection.force();
+            MappedByteBuffer targetSection = map(channel, mode, layout.targets, layout.weights);
+            MappedByteBuffer weightSection = network ? map(channel, mode, layout.weights, layout.inOffsets) : null;
+            writeRows(graph, rowOffsets, targetSection.asIntBuffer(), network ? weightSection.asDoubleBuffer() : null);
+            targetSection.force();
+            if (weightSection != null)
+                weightSection.force();
+            if (directed)
+                writeInIndex(channel, layout, vertexNum, rowOffsets, targetSection.asIntBuffer());
+            long vertexLength = writeVertexes(graph, channel, layout, encoder);
+            MappedByteBuffer header = map(channel, mode, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, graphKind.ordinal());
+            header.putInt(12, vertexNum);
+            header.putInt(16, graph.getEdgeNum());
+            header.putInt(20, (int) arcNum);
+            header.putLong(24, vertexLength);
+            header.force();
+        }
+    }
+
+    /**
+     * 逐行写入弧头与权值，行内按弧头索引值升序排列
+     * 每条弧以（弧头<<32|行内序号）为键排序，再按序号取回对应的权值
+     */
+    private static void writeRows(Graph<?, ?, ?> graph, int[] rowOffsets, IntBuffer targets, DoubleBuffer weights) {
+        long[] keys = new long[16];
+        double[] rowWeights = new double[16];
+        for (int u = 0; u < rowOffsets.length - 1; u++) {
+            int degree = rowOffsets[u + 1] - rowOffsets[u];
+            if (degree > keys.length) {
+                keys = new long[Math.max(degree, keys.length * 2)];
+                rowWeights = new double[keys.length];
+            }
+            int n = 0;
+            boolean sorted = true;
+            for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c)) {
+                int v = graph.getOutAdjacentVertexIndexAt(u, c);
+                if (weights != null)
+                    rowWeights[n] = graph.getOutAdjacentWeightAt(u, c);
+                keys[n] = (long) v << 32 | n;
+                if (n > 0 && keys[n - 1] > keys[n])
+                    sorted = false;
+                ++n;
+            }
+            if (n < degree) {
+                //自环不经过游标
+                if (weights != null)
+                    rowWeights[n] = graph.getWeightAsDouble(u, u);
+                keys[n] = (long) u << 32 | n;
+                if (n > 0 && keys[n - 1] > keys[n])
+                    sorted = false;
+                ++n;
+            }
+            if (!sorted)
+                Arrays.sort(keys, 0, n);
+            for (int k = 0; k < n; k++) {
+                int p = rowOffsets[u] + k;
+                targets.put(p, (int) (keys[k] >>> 32));
+                if (weights != null)
+                    weights.put(p, rowWeights[(int) keys[k]]);
+            }
+        }
+    }
+
+    private static void writeInIndex(FileChannel channel, Layout layout, int vertexNum, int[] rowOffsets, IntBuffer targets) throws IOException {
+        FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+        int arcNum = rowOffsets[vertexNum];
+        int[] counts = new int[vertexNum + 1];
+        for (int p = 0; p < arcNum; p++)
+            ++counts[targets.get(p) + 1];
+        for (int i = 0; i < vertexNum; i++)
+            counts[i + 1] += counts[i];
+        MappedByteBuffer inOffsetSection = map(channel, mode, layout.inOffsets, layout.inSources);
+        inOffsetSection.asIntBuffer().put(counts);
+        inOffsetSection.force();
+        MappedByteBuffer inSourceSection = map(channel, mode, layout.inSources, layout.inArcs);
+        MappedByteBuffer inArcSection = map(channel, mode, layout.inArcs, layout.vertexOffsets);
+        IntBuffer inSources = inSourceSection.asIntBuffer(), inArcs = inArcSection.asIntBuffer();
+        for (int u = 0; u < vertexNum; u++)
+            for (int p = rowOffsets[u]; p < rowOffsets[u + 1]; p++) {
+                int q = counts[targets.get(p)]++;
+                inSources.put(q, u);
+                inArcs.put(q, p);
+            }
+        inSourceSection.force();
+        inArcSection.force();
+    }
+
+    /**
+     * 顺序写入顶点编码，同时在映射的vertexOffsets中记录各顶点的起始位置
+     *
+     * @return 顶点编码的总字节数
+     */
+    private static <E> long writeVertexes(Graph<E, ?, ?> graph, FileChannel channel, Layout layout, Function<? super E, byte[]> encoder) throws IOException {
+        int vertexNum = graph.getVertexNum();
+        MappedByteBuffer vertexOffsetSection = map(channel, FileChannel.MapMode.READ_WRITE, layout.vertexOffsets, layout.vertexes);
+        IntBuffer vertexOffsets = vertexOffsetSection.asIntBuffer();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long position = layout.vertexes, length = 0;
+        for (int i = 0; i < vertexNum; i++) {
+            vertexOffsets.put(i, (int) length);
+            byte[] bytes = encoder.apply(graph.getVertex(i));
+            length += bytes.length;
+            if (length > Integer.MAX_VALUE)
+                throw new RuntimeException("顶点编码超过2GB，无法写成图文件！");
+            if (bytes.length > buffer.remaining()) {
+                buffer.flip();
+                position = writeFully(channel, buffer, position);
+                buffer.clear();
+                if (bytes.length > buffer.capacity()) {
+                    position = writeFully(channel, ByteBuffer.wrap(bytes), position);
+                    continue;
+                }
+            }
+            buffer.put(bytes);
+        }
+        buffer.flip();
+        writeFully(channel, buffer, position);
+        vertexOffsets.put(vertexNum, (int) length);
+        vertexOffsetSection.force();
+        return length;
+    }
+
+    /**
+     * 把buffer中剩余的内容写到文件的position处
+     *
+     * @return 写完后的位置
+     */
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+        return position;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long begin, long end) throws IOException {
+        if (end - begin > Integer.MAX_VALUE)
+            throw new RuntimeException("图文件的单个分段不能超过2GB！");
+        MappedByteBuffer buffer = channel.map(mode, begin, end - begin);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * 各分段在文件中的起始位置，由图的种类、顶点数、弧数与顶点编码的字节数唯一确定
+     * 不存在的分段长度为0
+     */
+    private static final class Layout {
+        final long offsets, targets, weights, inOffsets, inSources, inArcs, vertexOffsets, vertexes, end;
+
+        Layout(GraphKind graphKind, int vertexNum, int arcNum, long vertexLength) {
+            boolean network = graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+            boolean directed = graphKind == GraphKind.DG || graphKind == GraphKind.DN;
+            offsets = HEADER_SIZE;
+            targets = align(offsets + 4L * (vertexNum + 1));
+            weights = align(targets + 4L * arcNum);
+            inOffsets = align(weights + (network ? 8L * arcNum : 0));
+            inSources = align(inOffsets + (directed ? 4L * (vertexNum + 1) : 0));
+            inArcs = align(inSources + (directed ? 4L * arcNum : 0));
+            vertexOffsets = align(inArcs + (directed ? 4L * arcNum : 0));
+            vertexes = align(vertexOffsets + 4L * (vertexNum + 1));
+            end = vertexes + vertexLength;
+        }
+
+        private static long align(long position) {
+            return position + 7 & ~7L;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GraphByMappedCSR{" +
+                "VertexNum=" + vertexNum +
+                ", EdgeNum=" + edgeNum +
+                ", graphKind=" + graphKind +
+                '}';
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("映射到文件的图是只读的！");
+    }
+
+    /**
+     * 映射的图本身不可变，返回自身
+     */
+    @Override
+    public Graph<E, Double, Object> snapshot() {
+        return this;
+    }
+
+    @Override
+    public Graph<E, Double, Object> latestSnapshot() {
+        return this;
+    }
+
+    /**
+     * 在弧尾tailIndex的行中二分查找弧头headIndex
+     *
+     * @return 弧在targets中的位置，不存在返回-1
+     */
+    private int findArc(int tailIndex, int headIndex) {
+        int low = offsets.get(tailIndex), high = offsets.get(tailIndex + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int head = targets.get(mid);
+            if (head < headIndex)
+                low = mid + 1;
+            else if (head > headIndex)
+                high = mid - 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * 按需生成位于pos处的弧/边
+     */
+    private Edge<Double, Object> edgeAt(int tailIndex, int pos) {
+        Object weight = true;
+        if (isNetwork()) {
+            double w = weights.get(pos);
+            weight = Double.isNaN(w) ? null : w;
+        }
+        return new Edge<>(tailIndex, targets.get(pos), weight, null);
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    @Override
+    public E getVertex(int index) {
+        rangeCheck(index);
+        ByteBuffer buffer = vertexes.duplicate();
+        buffer.limit(vertexOffsets.get(index + 1));
+        buffer.position(vertexOffsets.get(index));
+        return codec.decode(buffer.slice().asReadOnlyBuffer());
+    }
+
+    @Override
+    public E setVertex(int index, E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addVertex(E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addVertex(int index, E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public E deleteVertex(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<Double, Object> addEdgeByIndex(int index1, int index2, Double weight, Object info) {
+        throw readOnly();
+    }
+
+    @Override
+    public Set<Edge<Double, Object>> addEdgesByIndexes(Set<int[]> indexes) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<Double, Object> deleteEdge(int index1, int index2) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<Double, Object> updateEdge(int index1, int index2, Double weight, Object info) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<Double, Object> updateEdgeWeight(int index1, int index2, Double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<Double, Object> updateEdgeInfo(int index1, int index2, Object info) {
+        throw readOnly();
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        if (pos == -1)
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+        return isNetwork() ? weights.get(pos) : 1;
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return isNetwork() ? weights.get(cursor) : 1;
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        return findArc(index1, index2) != -1;
+    }
+
+    @Override
+    public Edge<Double, Object> getEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        int pos = findArc(index1, index2);
+        return pos == -1 ? null : edgeAt(index1, pos);
+    }
+
+    @Override
+    public Set<Edge<Double, Object>> getInEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<Double, Object>> edges = new HashSet<>();
+        if (isDirectedGraph())
+            for (int q = inOffsets.get(index); q < inOffsets.get(index + 1); q++)
+                edges.add(edgeAt(inSources.get(q), inArcs.get(q)));
+        else
+            for (int p = offsets.get(index); p < offsets.get(index + 1); p++) {
+                int tailIndex = targets.get(p);
+                edges.add(edgeAt(tailIndex, findArc(tailIndex, index)));
+            }
+        return edges;
+    }
+
+    @Override
+    public Edge<Double, Object> getFirstInEdge(int index) {
+        rangeCheck(index);
+        if (isDirectedGraph()) {
+            int q = inOffsets.get(index);
+            if (q == inOffsets.get(index + 1))
+                return null;
+            return edgeAt(inSources.get(q), inArcs.get(q));
+        }
+        int p = offsets.get(index);
+        if (p == offsets.get(index + 1))
+            return null;
+        int tailIndex = targets.get(p);
+        return edgeAt(tailIndex, findArc(tailIndex, index));
+    }
+
+    @Override
+    public Set<Edge<Double, Object>> getOutEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<Double, Object>> edges = new HashSet<>();
+        for (int p = offsets.get(index); p < offsets.get(index + 1); p++)
+            edges.add(edgeAt(index, p));
+        return edges;
+    }
+
+    @Override
+    public Edge<Double, Object> getFirstOutEdge(int index) {
+        rangeCheck(index);
+        int p = offsets.get(index);
+        if (p == offsets.get(index + 1))
+            return null;
+        return edgeAt(index, p);
+    }
+
+    @Override
+    public Set<Edge<Double, Object>> getAdjacentEdges(int index) {
+        Set<Edge<Double, Object>> edges = getInEdges(index);
+        if (isDirectedGraph())
+            for (int p = offsets.get(index); p < offsets.get(index + 1); p++)
+                //自环已作为入弧加入
+                if (targets.get(p) != index)
+                    edges.add(edgeAt(index, p));
+        return edges;
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        rangeCheck(index);
+        if (isDirectedGraph())
+            return inOffsets.get(index + 1) - inOffsets.get(index);
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        rangeCheck(index);
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int q = inOffsets.get(index); q < inOffsets.get(index + 1); q++)
+                if (inSources.get(q) != index)
+                    vertexes.add(getVertex(inSources.get(q)));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int q = inOffsets.get(index); q < inOffsets.get(index + 1); q++)
+                if (inSources.get(q) != index)
+                    vertexIndexes.add(inSources.get(q));
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            List<E> vertexes = new ArrayList<>();
+            for (int p = offsets.get(index); p < offsets.get(index + 1); p++)
+                if (targets.get(p) != index)
+                    vertexes.add(getVertex(targets.get(p)));
+            return vertexes;
+        }
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph()) {
+            rangeCheck(index);
+            Set<Integer> vertexIndexes = new HashSet<>();
+            for (int p = offsets.get(index); p < offsets.get(index + 1); p++)
+                if (targets.get(p) != index)
+                    vertexIndexes.add(targets.get(p));
+            return vertexIndexes;
+        }
+        return getAdjacentVertexIndexes(index);
+    }
+
+    /**
+     * 有向图中出邻接点与入邻接点均按索引值升序归并
+     */
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        rangeCheck(index);
+        List<E> vertexes = new ArrayList<>();
+        int p = offsets.get(index), pEnd = offsets.get(index + 1);
+        int q = isDirectedGraph() ? inOffsets.get(index) : 0, qEnd = isDirectedGraph() ? inOffsets.get(index + 1) : 0;
+        while (p < pEnd || q < qEnd) {
+            int i;
+            if (q == qEnd || (p < pEnd && targets.get(p) <= inSources.get(q)))
+                i = targets.get(p++);
+            else
+                i = inSources.get(q++);
+            if (i != index)
+                vertexes.add(getVertex(i));
+        }
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        rangeCheck(index);
+        Set<Integer> vertexIndexes = new HashSet<>();
+        for (int p = offsets.get(index); p < offsets.get(index + 1); p++)
+            if (targets.get(p) != index)
+                vertexIndexes.add(targets.get(p));
+        if (isDirectedGraph())
+            for (int q = inOffsets.get(index); q < inOffsets.get(index + 1); q++)
+                if (inSources.get(q) != index)
+                    vertexIndexes.add(inSources.get(q));
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即弧在targets中的位置
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        int p = cursor == -1 ? offsets.get(index) : cursor + 1, end = offsets.get(index + 1);
+        while (p < end && targets.get(p) == index)
+            ++p;
+        return p < end ? p : -1;
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return targets.get(cursor);
+    }
+
+    /**
+     * 有向图的游标即入弧在反向索引中的位置，无向图与出邻接点相同
+     */
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (!isDirectedGraph())
+            return nextOutAdjacentCursor(index, cursor);
+        if (cursor == -1)
+            rangeCheck(index);
+        int q = cursor == -1 ? inOffsets.get(index) : cursor + 1, end = inOffsets.get(index + 1);
+        while (q < end && inSources.get(q) == index)
+            ++q;
+        return q < end ? q : -1;
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return isDirectedGraph() ? inSources.get(cursor) : targets.get(cursor);
+    }
+
+    @Override
+    public Object[] getVertexes() {
+        Object[] vertexes = new Object[vertexNum];
+        for (int i = 0; i < vertexNum; i++)
+            vertexes[i] = getVertex(i);
+        return vertexes;
+    }
+
+    @Override
+    public Set<Edge<Double, Object>> getEdges() {
+        Set<Edge<Double, Object>> edges = new HashSet<>();
+        for (int u = 0; u < vertexNum; u++)
+            for (int p = offsets.get(u); p < offsets.get(u + 1); p++)
+                if (isDirectedGraph() || u <= targets.get(p))
+                    edges.add(edgeAt(u, p));
+        return edges;
+    }
+}
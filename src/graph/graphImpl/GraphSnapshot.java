@@ -0,0 +1,455 @@
+package graph.graphImpl;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+
+import java.util.*;
+
+import static graph.graphImpl.SnapshotTracker.CHUNK_BITS;
+import static graph.graphImpl.SnapshotTracker.CHUNK_MASK;
+
+/**
+ * 图的只读快照
+ * 顶点与各顶点的出弧行、入弧行（仅有向图）按SnapshotTracker的分块存放，未修改的块与行在各版本之间共享。
+ * 所有字段都是final且引用的数据在发布后不再修改，任意多个线程可以不加锁地并发查询同一个快照，
+ * 即使快照是通过数据竞争传递给读线程的也能看到完整的内容。
+ * 查询返回的Edge按需生成，修改它不会影响快照。
+ *
+ * @param <E> 顶点类型
+ * @param <T> 弧/边权值类型
+ * @param <V> 弧/边信息类型
+ */
+final class GraphSnapshot<E, T, V> extends AbstractGraph<E, T, V> {
+    private final int vertexNum, edgeNum;
+    private final Object[][] vertexes;
+    private final Object[][] outRows;
+    /**
+     * 有向图的入弧行，无向图为null
+     */
+    private final Object[][] inRows;
+
+    GraphSnapshot(GraphKind graphKind, int vertexNum, int edgeNum, Object[][] vertexes, Object[][] outRows, Object[][] inRows) {
+        super(graphKind);
+        this.vertexNum = vertexNum;
+        this.edgeNum = edgeNum;
+        this.vertexes = vertexes;
+        this.outRows = outRows;
+        this.inRows = inRows;
+    }
+
+    /**
+     * 一个顶点的全部出弧（或入弧），按另一端点的索引值升序排列，不可变
+     */
+    static final class Row {
+        private static final Row EMPTY = new Row(new int[0], new Object[0], null);
+
+        /**
+         * 另一端点的索引值
+         */
+        final int[] indexes;
+        final Object[] weights;
+        /**
+         * 信息（全部为null时不分配）
+         */
+        final Object[] infos;
+
+        private Row(int[] indexes, Object[] weights, Object[] infos) {
+            this.indexes = indexes;
+            this.weights = weights;
+            this.infos = infos;
+        }
+
+        /**
+         * @param edges 顶点index的出弧/边（或入弧）
+         */
+        static Row of(Set<? extends Edge<?, ?>> edges, int index) {
+            if (edges.isEmpty())
+                return EMPTY;
+            Edge<?, ?>[] unsorted = edges.toArray(new Edge<?, ?>[0]);
+            //以（另一端点<<32|序号）为键排序，避免比较器的开销
+            long[] keys = new long[unsorted.length];
+            for (int k = 0; k < unsorted.length; k++)
+                keys[k] = (long) other(unsorted[k], index) << 32 | k;
+            Arrays.sort(keys);
+            int[] indexes = new int[unsorted.length];
+            Object[] weights = new Object[unsorted.length], infos = null;
+            for (int k = 0; k < keys.length; k++) {
+                Edge<?, ?> edge = unsorted[(int) keys[k]];
+                indexes[k] = (int) (keys[k] >>> 32);
+                weights[k] = edge.getWeight();
+                if (edge.getInfo() != null) {
+                    if (infos == null)
+                        infos = new Object[unsorted.length];
+                    infos[k] = edge.getInfo();
+                }
+            }
+            return new Row(indexes, weights, infos);
+        }
+
+        /**
+         * @param indexes 另一端点的索引值（已升序排列），与weights、infos一起直接作为行的内容，之后不应再修改
+         */
+        static Row of(int[] indexes, Object[] weights, Object[] infos) {
+            return indexes.length == 0 ? EMPTY : new Row(indexes, weights, infos);
+        }
+
+        /**
+         * @return 另一端点index2的位置，不存在返回-1
+         */
+        int find(int index2) {
+            int pos = Arrays.binarySearch(indexes, index2);
+            return pos < 0 ? -1 : pos;
+        }
+
+        int size() {
+            return indexes.length;
+        }
+
+        private static int other(Edge<?, ?> edge, int index) {
+            return edge.getTailIndex() == index ? edge.getHeadIndex() : edge.getTailIndex();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GraphSnapshot{" +
+                "VertexNum=" + vertexNum +
+                ", EdgeNum=" + edgeNum +
+                ", graphKind=" + graphKind +
+                '}';
+    }
+
+    private Row outRow(int index) {
+        return (Row) outRows[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    /**
+     * 无向图的入边与出边相同
+     */
+    private Row inRow(int index) {
+        return isDirectedGraph() ? (Row) inRows[index >>> CHUNK_BITS][index & CHUNK_MASK] : outRow(index);
+    }
+
+    /**
+     * 生成弧/边，出弧行中的弧以index为弧尾，入弧行中的弧以index为弧头
+     */
+    @SuppressWarnings("unchecked")
+    private Edge<T, V> edgeAt(Row row, int pos, int index, boolean out) {
+        int other = row.indexes[pos];
+        V info = row.infos == null ? null : (V) row.infos[pos];
+        return out ? new Edge<>(index, other, row.weights[pos], info) : new Edge<>(other, index, row.weights[pos], info);
+    }
+
+    private UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("快照是只读的！");
+    }
+
+    /**
+     * 快照本身不可变，返回自身
+     */
+    @Override
+    public Graph<E, T, V> snapshot() {
+        return this;
+    }
+
+    @Override
+    public Graph<E, T, V> latestSnapshot() {
+        return this;
+    }
+
+    @Override
+    public int getVertexNum() {
+        return vertexNum;
+    }
+
+    @Override
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E getVertex(int index) {
+        rangeCheck(index);
+        return (E) vertexes[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public E setVertex(int index, E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addVertex(E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addVertex(int index, E vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public E deleteVertex(int index) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<T, V> addEdgeByIndex(int index1, int index2, T weight, V info) {
+        throw readOnly();
+    }
+
+    @Override
+    public Set<Edge<T, V>> addEdgesByIndexes(Set<int[]> indexes) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<T, V> deleteEdge(int index1, int index2) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<T, V> updateEdge(int index1, int index2, T weight, V info) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeWeight(int index1, int index2, T weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public Edge<T, V> updateEdgeInfo(int index1, int index2, V info) {
+        throw readOnly();
+    }
+
+    @Override
+    public double getWeightAsDouble(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        Row row = outRow(index1);
+        int pos = row.find(index2);
+        if (pos == -1)
+            throw new RuntimeException("<" + index1 + "," + index2 + ">" + "不是弧/边！");
+        return isNetwork() ? WeightColumn.toDouble(row.weights[pos]) : 1;
+    }
+
+    @Override
+    public double getOutAdjacentWeightAt(int index, int cursor) {
+        return isNetwork() ? WeightColumn.toDouble(outRow(index).weights[cursor]) : 1;
+    }
+
+    @Override
+    public boolean hasEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        return outRow(index1).find(index2) != -1;
+    }
+
+    @Override
+    public Edge<T, V> getEdge(int index1, int index2) {
+        rangeCheck(index1);
+        rangeCheck(index2);
+        Row row = outRow(index1);
+        int pos = row.find(index2);
+        return pos == -1 ? null : edgeAt(row, pos, index1, true);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getInEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        Row row = inRow(index);
+        for (int pos = 0; pos < row.size(); pos++)
+            edges.add(edgeAt(row, pos, index, false));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstInEdge(int index) {
+        rangeCheck(index);
+        Row row = inRow(index);
+        return row.size() == 0 ? null : edgeAt(row, 0, index, false);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getOutEdges(int index) {
+        rangeCheck(index);
+        Set<Edge<T, V>> edges = new HashSet<>();
+        Row row = outRow(index);
+        for (int pos = 0; pos < row.size(); pos++)
+            edges.add(edgeAt(row, pos, index, true));
+        return edges;
+    }
+
+    @Override
+    public Edge<T, V> getFirstOutEdge(int index) {
+        rangeCheck(index);
+        Row row = outRow(index);
+        return row.size() == 0 ? null : edgeAt(row, 0, index, true);
+    }
+
+    @Override
+    public Set<Edge<T, V>> getAdjacentEdges(int index) {
+        Set<Edge<T, V>> edges = getInEdges(index);
+        if (isDirectedGraph()) {
+            Row row = outRow(index);
+            for (int pos = 0; pos < row.size(); pos++)
+                //自环已作为入弧加入
+                if (row.indexes[pos] != index)
+                    edges.add(edgeAt(row, pos, index, true));
+        }
+        return edges;
+    }
+
+    @Override
+    public int getInDegree(int index) {
+        rangeCheck(index);
+        return inRow(index).size();
+    }
+
+    @Override
+    public int getOutDegree(int index) {
+        rangeCheck(index);
+        return outRow(index).size();
+    }
+
+    @Override
+    public List<E> getInAdjacentVertexes(int index) {
+        if (isDirectedGraph())
+            return vertexesOf(inRow(index), index);
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getInAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph())
+            return indexesOf(inRow(index), index);
+        return getAdjacentVertexIndexes(index);
+    }
+
+    @Override
+    public List<E> getOutAdjacentVertexes(int index) {
+        if (isDirectedGraph())
+            return vertexesOf(outRow(index), index);
+        return getAdjacentVertexes(index);
+    }
+
+    @Override
+    public Set<Integer> getOutAdjacentVertexIndexes(int index) {
+        if (isDirectedGraph())
+            return indexesOf(outRow(index), index);
+        return getAdjacentVertexIndexes(index);
+    }
+
+    /**
+     * 有向图中出邻接点与入邻接点均按索引值升序归并
+     */
+    @Override
+    public List<E> getAdjacentVertexes(int index) {
+        rangeCheck(index);
+        if (!isDirectedGraph())
+            return vertexesOf(outRow(index), index);
+        List<E> vertexes = new ArrayList<>();
+        int[] out = outRow(index).indexes, in = inRow(index).indexes;
+        int p = 0, q = 0;
+        while (p < out.length || q < in.length) {
+            int i;
+            if (q == in.length || (p < out.length && out[p] <= in[q]))
+                i = out[p++];
+            else
+                i = in[q++];
+            if (i != index)
+                vertexes.add(getVertex(i));
+        }
+        return vertexes;
+    }
+
+    @Override
+    public Set<Integer> getAdjacentVertexIndexes(int index) {
+        Set<Integer> vertexIndexes = indexesOf(outRow(index), index);
+        if (isDirectedGraph())
+            vertexIndexes.addAll(indexesOf(inRow(index), index));
+        return vertexIndexes;
+    }
+
+    /**
+     * @return 行中除index本身以外的顶点
+     */
+    private List<E> vertexesOf(Row row, int index) {
+        rangeCheck(index);
+        List<E> vertexes = new ArrayList<>();
+        for (int i : row.indexes)
+            if (i != index)
+                vertexes.add(getVertex(i));
+        return vertexes;
+    }
+
+    private Set<Integer> indexesOf(Row row, int index) {
+        rangeCheck(index);
+        Set<Integer> vertexIndexes = new HashSet<>();
+        for (int i : row.indexes)
+            if (i != index)
+                vertexIndexes.add(i);
+        return vertexIndexes;
+    }
+
+    /**
+     * 游标即弧在行中的位置
+     */
+    @Override
+    public int nextOutAdjacentCursor(int index, int cursor) {
+        if (cursor == -1)
+            rangeCheck(index);
+        int[] indexes = outRow(index).indexes;
+        int p = cursor + 1;
+        while (p < indexes.length && indexes[p] == index)
+            ++p;
+        return p < indexes.length ? p : -1;
+    }
+
+    @Override
+    public int getOutAdjacentVertexIndexAt(int index, int cursor) {
+        return outRow(index).indexes[cursor];
+    }
+
+    @Override
+    public int nextInAdjacentCursor(int index, int cursor) {
+        if (!isDirectedGraph())
+            return nextOutAdjacentCursor(index, cursor);
+        if (cursor == -1)
+            rangeCheck(index);
+        int[] indexes = inRow(index).indexes;
+        int q = cursor + 1;
+        while (q < indexes.length && indexes[q] == index)
+            ++q;
+        return q < indexes.length ? q : -1;
+    }
+
+    @Override
+    public int getInAdjacentVertexIndexAt(int index, int cursor) {
+        return inRow(index).indexes[cursor];
+    }
+
+    @Override
+    public Object[] getVertexes() {
+        Object[] vertexes = new Object[vertexNum];
+        for (int i = 0; i < vertexNum; i++)
+            vertexes[i] = getVertex(i);
+        return vertexes;
+    }
+
+    @Override
+    public Set<Edge<T, V>> getEdges() {
+        Set<Edge<T, V>> edges = new HashSet<>();
+        for (int u = 0; u < vertexNum; u++) {
+            Row row = outRow(u);
+            for (int pos = 0; pos < row.size(); pos++)
+                if (isDirectedGraph() || u <= row.indexes[pos])
+                    edges.add(edgeAt(row, pos, u, true));
+        }
+        return edges;
+    }
+}
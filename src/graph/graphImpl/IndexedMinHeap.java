@@ -0,0 +1,107 @@
+package graph.graphImpl;
+
+/**
+ * 以顶点索引值为元素、double为键的索引二叉最小堆
+ * 堆本身与每个顶点的位置、键都存放在原始类型数组中，插入、取最小、减小键均为O(logV)且不装箱。
+ * 为了在重复使用时不必清空O(V)的数组，堆不记录顶点是否曾被插入，
+ * 由调用方（借助TraversalContext的访问标记）保证每个顶点只插入一次，且只对本次插入过的顶点调用key、isQueued、decreaseKey。
+ */
+final class IndexedMinHeap {
+    private int[] heap;
+    /**
+     * 顶点在heap中的位置，-1表示已出堆
+     */
+    private int[] positions;
+    private double[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+    }
+
+    int capacity() {
+        return positions.length;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 顶点v的键（出堆后仍然保留，即最终的距离）
+     */
+    double key(int v) {
+        return keys[v];
+    }
+
+    boolean isQueued(int v) {
+        return positions[v] >= 0;
+    }
+
+    void insert(int v, double key) {
+        keys[v] = key;
+        heap[size] = v;
+        positions[v] = size;
+        siftUp(size++);
+    }
+
+    void decreaseKey(int v, double key) {
+        keys[v] = key;
+        siftUp(positions[v]);
+    }
+
+    /**
+     * @return 键最小的顶点
+     */
+    int poll() {
+        int v = heap[0];
+        positions[v] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return v;
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        double key = keys[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (keys[p] <= key)
+                break;
+            heap[i] = p;
+            positions[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        positions[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        double key = keys[v];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            if (child + 1 < size && keys[heap[child + 1]] < keys[c])
+                c = heap[++child];
+            if (key <= keys[c])
+                break;
+            heap[i] = c;
+            positions[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        positions[v] = i;
+    }
+}
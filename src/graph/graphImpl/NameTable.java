@@ -0,0 +1,117 @@
+package graph.graphImpl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 以字节序列为键的名字表
+ * 名字的字节依次复制到同一个byte[]中，按首次出现的顺序从0开始编号，
+ * 开放定址的哈希表只存放编号，查找时直接与缓冲区中的字节比较，不为已经出现过的名字生成任何对象。
+ * 不是线程安全的。
+ */
+final class NameTable {
+    private byte[] bytes = new byte[1024];
+    /**
+     * 名字k的字节位于bytes[starts[k], starts[k+1])
+     */
+    private int[] starts = new int[17];
+    private int[] hashes = new int[16];
+    /**
+     * 哈希表，存放编号+1，0表示空位
+     */
+    private int[] slots = new int[32];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 缓冲区中[offset, offset+length)这一段字节对应的编号，首次出现时登记为新的名字
+     */
+    int intern(ByteBuffer buffer, int offset, int length) {
+        int hash = hash(buffer, offset, length);
+        int mask = slots.length - 1;
+        for (int s = hash & mask; ; s = s + 1 & mask) {
+            int id = slots[s] - 1;
+            if (id == -1)
+                break;
+            if (hashes[id] == hash && matches(id, buffer, offset, length))
+                return id;
+        }
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            starts = Arrays.copyOf(starts, size * 2 + 1);
+        }
+        int start = starts[size];
+        if (start + length > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(start + length, bytes.length * 2));
+        for (int k = 0; k < length; k++)
+            bytes[start + k] = buffer.get(offset + k);
+        starts[size + 1] = start + length;
+        hashes[size] = hash;
+        if (++size * 2 > slots.length)
+            rehash();
+        else
+            insert(size - 1);
+        return size - 1;
+    }
+
+    /**
+     * @return 编号为id的名字按UTF-8解码得到的字符串
+     */
+    String getString(int id) {
+        return new String(bytes, starts[id], starts[id + 1] - starts[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 编号为id的名字在getBytes()中的起始位置
+     */
+    int getStart(int id) {
+        return starts[id];
+    }
+
+    int getLength(int id) {
+        return starts[id + 1] - starts[id];
+    }
+
+    /**
+     * @return 存放所有名字的数组（其后的部分无意义）
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    private boolean matches(int id, ByteBuffer buffer, int offset, int length) {
+        int start = starts[id];
+        if (starts[id + 1] - start != length)
+            return false;
+        for (int k = 0; k < length; k++)
+            if (bytes[start + k] != buffer.get(offset + k))
+                return false;
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        for (int id = 0; id < size; id++)
+            insert(id);
+    }
+
+    private void insert(int id) {
+        int mask = slots.length - 1;
+        int s = hashes[id] & mask;
+        while (slots[s] != 0)
+            s = s + 1 & mask;
+        slots[s] = id + 1;
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int hash = 0;
+        for (int k = 0; k < length; k++)
+            hash = 31 * hash + buffer.get(offset + k);
+        //把高位扩散到低位，避免只有末尾字节不同的名字聚集在相邻的槽中
+        return hash ^ hash >>> 16;
+    }
+}
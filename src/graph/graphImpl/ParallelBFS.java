@@ -0,0 +1,156 @@
+package graph.graphImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 逐层同步的并行广度优先遍历
+ * 每一层的前沿被切分为若干段，由ForkJoinPool中的任务并行扩展：
+ * 各任务通过对共享位图的CAS认领未访问的顶点，认领成功的顶点写入任务自己的缓冲区，
+ * 一层结束后由调用线程按段的顺序把各缓冲区合并为下一层的前沿。
+ * 只在扩展时并发读取图，要求图在遍历期间不被修改。
+ */
+final class ParallelBFS {
+    /**
+     * 前沿不超过该顶点数时直接在调用线程中扩展，避免任务调度的开销
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private final AbstractGraph<?, ?, ?> graph;
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final AtomicLongArray visited;
+    /**
+     * 每一段的下一层缓冲区，在各层之间复用
+     */
+    private final int[][] buffers;
+
+    ParallelBFS(AbstractGraph<?, ?, ?> graph, ForkJoinPool pool, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("并行度必须为正数：" + parallelism);
+        this.graph = graph;
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.visited = new AtomicLongArray((graph.getVertexNum() + 63) >>> 6);
+        this.buffers = new int[parallelism][];
+        Arrays.fill(buffers, new int[0]);
+    }
+
+    /**
+     * @return 与BFSTraverse相同的分组，同一层内顶点的顺序取决于认领的先后
+     */
+    List<List<Integer>> traverse() {
+        List<List<Integer>> oneTraversal = new ArrayList<>();
+        int vertexNum = graph.getVertexNum();
+        if (vertexNum == 0)
+            return oneTraversal;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            int[] frontier = context.queue(), next = context.nextQueue();
+            for (int i = 0; i < vertexNum; i++)
+                if (claim(i)) {
+                    List<Integer> path = new ArrayList<>();
+                    path.add(i);
+                    frontier[0] = i;
+                    for (int size = 1; size > 0; ) {
+                        int nextSize = expand(frontier, size, next);
+                        for (int k = 0; k < nextSize; k++)
+                            path.add(next[k]);
+                        int[] temp = frontier;
+                        frontier = next;
+                        next = temp;
+                        size = nextSize;
+                    }
+                    oneTraversal.add(path);
+                }
+        }
+        return oneTraversal;
+    }
+
+    /**
+     * 扩展一层
+     *
+     * @return 写入next的下一层顶点数
+     */
+    private int expand(int[] frontier, int size, int[] next) {
+        int chunks = Math.min(parallelism, (size + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+        if (chunks <= 1) {
+            int nextSize = 0;
+            for (int k = 0; k < size; k++) {
+                int u = frontier[k];
+                for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c)) {
+                    int v = graph.getOutAdjacentVertexIndexAt(u, c);
+                    if (claim(v))
+                        next[nextSize++] = v;
+                }
+            }
+            return nextSize;
+        }
+        Expansion[] expansions = new Expansion[chunks];
+        for (int k = 0; k < chunks; k++)
+            expansions[k] = new Expansion(frontier, (int) ((long) size * k / chunks), (int) ((long) size * (k + 1) / chunks), k);
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(expansions)));
+        int nextSize = 0;
+        for (Expansion expansion : expansions) {
+            System.arraycopy(buffers[expansion.chunk], 0, next, nextSize, expansion.size);
+            nextSize += expansion.size;
+        }
+        return nextSize;
+    }
+
+    /**
+     * 原子地把顶点v标记为已访问
+     *
+     * @return true表示由当前线程认领成功
+     */
+    private boolean claim(int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        for (; ; ) {
+            long old = visited.get(word);
+            if ((old & bit) != 0)
+                return false;
+            if (visited.compareAndSet(word, old, old | bit))
+                return true;
+        }
+    }
+
+    /**
+     * 扩展前沿中[from,to)一段，认领到的顶点写入buffers[chunk]
+     */
+    private final class Expansion extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+        private final int from, to, chunk;
+        private int size;
+
+        Expansion(int[] frontier, int from, int to, int chunk) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            int[] buffer = buffers[chunk];
+            for (int k = from; k < to; k++) {
+                int u = frontier[k];
+                for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c)) {
+                    int v = graph.getOutAdjacentVertexIndexAt(u, c);
+                    if (claim(v)) {
+                        if (size == buffer.length)
+                            buffer = Arrays.copyOf(buffer, Math.max(16, size * 2));
+                        buffer[size++] = v;
+                    }
+                }
+            }
+            buffers[chunk] = buffer;
+        }
+    }
+}
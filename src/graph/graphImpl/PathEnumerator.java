@@ -0,0 +1,172 @@
+package graph.graphImpl;
+
+import graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 惰性枚举简单路径/回路
+ * 基于DFSStack回溯搜索，每调用一次next才继续搜索到下一条结果，不保存已经返回的结果，
+ * 占用的空间只有O(V/64)的访问位图与深度为当前路径长度的栈。
+ * 可以限制返回的数量、路径的弧/边数与时间预算，达到任一限制后枚举结束。
+ * 枚举期间不能修改图。
+ */
+final class PathEnumerator implements Iterator<List<Integer>> {
+    /**
+     * 每搜索这么多步检查一次是否超时
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final Graph<?, ?, ?> graph;
+    /**
+     * 路径的终点，-1表示枚举回路
+     */
+    private final int target;
+    /**
+     * 枚举回路时最后一个作为起点的顶点
+     */
+    private final int lastRoot;
+    private final int maxLength;
+    private final long deadline;
+    private long remaining;
+    private final boolean directed;
+    private final long[] visited;
+    private final DFSStack stack = new DFSStack(8);
+    private int root;
+    private int steps;
+    private List<Integer> next;
+
+    private PathEnumerator(Graph<?, ?, ?> graph, int root, int target, int lastRoot,
+                           long maxCount, int maxLength, long timeout) {
+        this.graph = graph;
+        this.root = root;
+        this.target = target;
+        this.lastRoot = lastRoot;
+        this.remaining = maxCount > 0 ? maxCount : Long.MAX_VALUE;
+        this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+        this.deadline = timeout > 0 ? System.nanoTime() + timeout * 1_000_000 : 0;
+        this.directed = graph.isDirectedGraph();
+        this.visited = new long[(graph.getVertexNum() + 63) >>> 6];
+    }
+
+    /**
+     * index1到index2的所有简单路径，顺序与getPaths相同
+     *
+     * @param maxCount  至多返回的路径数，<=0表示不限
+     * @param maxLength 路径至多包含的弧/边数，<=0表示不限
+     * @param timeout   时间预算（毫秒），<=0表示不限
+     */
+    static PathEnumerator paths(Graph<?, ?, ?> graph, int index1, int index2, long maxCount, int maxLength, long timeout) {
+        PathEnumerator enumerator = new PathEnumerator(graph, index1, index2, -1, maxCount, maxLength, timeout);
+        if (index1 == index2) {
+            if (graph.hasEdge(index1, index1) && enumerator.maxLength >= 1) {
+                List<Integer> path = new ArrayList<>(2);
+                path.add(index1);
+                path.add(index1);
+                enumerator.next = path;
+            }
+        } else
+            enumerator.enter(index1, index1);
+        return enumerator;
+    }
+
+    /**
+     * 以firstRoot到lastRoot中的每个顶点为起点的所有简单回路，顺序与getCycles相同
+     * 每条回路只列出起点一次，自环列在该起点的其他回路之后
+     */
+    static PathEnumerator cycles(Graph<?, ?, ?> graph, int firstRoot, int lastRoot, long maxCount, int maxLength, long timeout) {
+        PathEnumerator enumerator = new PathEnumerator(graph, firstRoot, -1, lastRoot, maxCount, maxLength, timeout);
+        enumerator.enter(firstRoot, firstRoot);
+        return enumerator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && remaining > 0)
+            next = target == -1 ? nextCycle() : nextPath();
+        return next != null;
+    }
+
+    @Override
+    public List<Integer> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        List<Integer> path = next;
+        next = null;
+        --remaining;
+        return path;
+    }
+
+    private List<Integer> nextPath() {
+        while (!stack.isEmpty()) {
+            if (timedOut())
+                return null;
+            int index = stack.next(graph);
+            if (index == -1)
+                leave();
+            else if (index == target) {
+                //终点不入栈：经过终点再延伸的路径不可能再回到终点
+                if (stack.size() <= maxLength) {
+                    List<Integer> path = stack.toPath();
+                    path.add(index);
+                    return path;
+                }
+            } else if (!isVisited(index) && stack.size() < maxLength)
+                enter(index, stack.top());
+        }
+        return null;
+    }
+
+    private List<Integer> nextCycle() {
+        while (root <= lastRoot) {
+            while (!stack.isEmpty()) {
+                if (timedOut())
+                    return null;
+                int index = stack.next(graph);
+                if (index == -1)
+                    leave();
+                else if (!directed && index == stack.pre())
+                    continue;
+                else if (index == root) {
+                    if (stack.size() <= maxLength)
+                        return stack.toPath();
+                } else if (!isVisited(index) && stack.size() < maxLength)
+                    enter(index, stack.top());
+            }
+            int loop = root++;
+            if (root <= lastRoot)
+                enter(root, root);
+            if (graph.hasEdge(loop, loop)) {
+                List<Integer> path = new ArrayList<>(1);
+                path.add(loop);
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private boolean timedOut() {
+        if (deadline == 0 || ++steps % CHECK_INTERVAL != 0 || System.nanoTime() - deadline < 0)
+            return false;
+        stack.clear();
+        root = lastRoot + 1;
+        return true;
+    }
+
+    private boolean isVisited(int v) {
+        return (visited[v >>> 6] & 1L << v) != 0;
+    }
+
+    private void enter(int v, int pre) {
+        visited[v >>> 6] |= 1L << v;
+        stack.push(v, pre);
+    }
+
+    private void leave() {
+        int v = stack.pop();
+        visited[v >>> 6] &= ~(1L << v);
+    }
+}
@@ -0,0 +1,138 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+
+/**
+ * 快照的版本跟踪（写时复制）
+ * 顶点、出弧行、入弧行（仅有向图）各自存放在分块的数组中，每块CHUNK_SIZE个元素，行本身是不可变的。
+ * 图的修改只通过AbstractGraph的钩子记下受影响的顶点，生成快照时才从图中重新读出这些顶点的行：
+ * 第一次写入某块时先复制该块，未受影响的块与行在前后两个版本之间共享，
+ * 因此生成新版本的代价是O(V/CHUNK_SIZE + 受影响顶点的度数之和)，已发布的快照永远不会被修改。
+ * 删除顶点或在中间插入顶点会改变其后所有顶点的索引值，此时由AbstractGraph丢弃，下一次生成快照时重新建立。
+ */
+final class SnapshotTracker<E, T, V> {
+    static final int CHUNK_BITS = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final byte VERTEX = 1, OUT_ROW = 2, IN_ROW = 4, ALL = VERTEX | OUT_ROW | IN_ROW;
+
+    private final boolean directed;
+    private final Chunks vertexes = new Chunks(), outRows = new Chunks(), inRows = new Chunks();
+    private int vertexNum;
+    /**
+     * 自上一个版本以来受影响的顶点及其受影响的部分
+     */
+    private byte[] dirtyFlags = new byte[16];
+    private int[] dirty = new int[16];
+    private int dirtyNum;
+    private GraphSnapshot<E, T, V> latest;
+
+    private SnapshotTracker(boolean directed) {
+        this.directed = directed;
+    }
+
+    /**
+     * 所有顶点都标记为受影响，第一次发布时读出整个图
+     */
+    static <E, T, V> SnapshotTracker<E, T, V> build(AbstractGraph<E, T, V> graph) {
+        SnapshotTracker<E, T, V> tracker = new SnapshotTracker<>(graph.isDirectedGraph());
+        for (int i = 0; i < graph.getVertexNum(); i++)
+            tracker.append();
+        return tracker;
+    }
+
+    /**
+     * 在末尾追加一个顶点
+     */
+    void append() {
+        vertexes.add();
+        outRows.add();
+        if (directed)
+            inRows.add();
+        if (vertexNum == dirtyFlags.length)
+            dirtyFlags = Arrays.copyOf(dirtyFlags, vertexNum * 2);
+        mark(vertexNum++, ALL);
+    }
+
+    void vertexChanged(int index) {
+        mark(index, VERTEX);
+    }
+
+    /**
+     * 弧/边<index1,index2>被新增、删除或修改了权值、信息
+     */
+    void edgeChanged(int index1, int index2) {
+        mark(index1, OUT_ROW);
+        mark(index2, directed ? IN_ROW : OUT_ROW);
+    }
+
+    private void mark(int index, byte flag) {
+        if (dirtyFlags[index] == 0) {
+            if (dirtyNum == dirty.length)
+                dirty = Arrays.copyOf(dirty, dirtyNum * 2);
+            dirty[dirtyNum++] = index;
+        }
+        dirtyFlags[index] |= flag;
+    }
+
+    /**
+     * 重新读出受影响的顶点与行，生成新的版本；自上一个版本以来没有修改则直接返回上一个版本
+     */
+    GraphSnapshot<E, T, V> publish(AbstractGraph<E, T, V> graph) {
+        if (latest != null && dirtyNum == 0)
+            return latest;
+        for (int k = 0; k < dirtyNum; k++) {
+            int index = dirty[k];
+            byte flags = dirtyFlags[index];
+            if ((flags & VERTEX) != 0)
+                vertexes.set(index, graph.getVertex(index));
+            if ((flags & OUT_ROW) != 0)
+                outRows.set(index, GraphSnapshot.Row.of(graph.getOutEdges(index), index));
+            if (directed && (flags & IN_ROW) != 0)
+                inRows.set(index, GraphSnapshot.Row.of(graph.getInEdges(index), index));
+            dirtyFlags[index] = 0;
+        }
+        dirtyNum = 0;
+        latest = new GraphSnapshot<>(graph.getKind(), vertexNum, graph.getEdgeNum(),
+                vertexes.freeze(), outRows.freeze(), directed ? inRows.freeze() : null);
+        return latest;
+    }
+
+    /**
+     * 写时复制的分块数组：freeze之后所有块都变为共享，再次写入某块时先复制该块
+     */
+    private static final class Chunks {
+        private Object[][] chunks = new Object[1][];
+        private boolean[] owned = new boolean[1];
+        private int size;
+
+        void add() {
+            int c = size >>> CHUNK_BITS;
+            if (c == chunks.length) {
+                chunks = Arrays.copyOf(chunks, c * 2);
+                owned = Arrays.copyOf(owned, c * 2);
+            }
+            if (chunks[c] == null) {
+                chunks[c] = new Object[CHUNK_SIZE];
+                owned[c] = true;
+            }
+            ++size;
+        }
+
+        void set(int index, Object value) {
+            int c = index >>> CHUNK_BITS;
+            if (!owned[c]) {
+                chunks[c] = chunks[c].clone();
+                owned[c] = true;
+            }
+            chunks[c][index & CHUNK_MASK] = value;
+        }
+
+        Object[][] freeze() {
+            int chunkNum = (size + CHUNK_MASK) >>> CHUNK_BITS;
+            Arrays.fill(owned, 0, chunkNum, false);
+            return Arrays.copyOf(chunks, chunkNum);
+        }
+    }
+}
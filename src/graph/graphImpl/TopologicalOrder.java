@@ -0,0 +1,146 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+
+/**
+ * 有向无环图的拓扑顺序
+ * order[p]为位于第p位的顶点，positions[v]为顶点v所在的位置，二者互逆。
+ * 新增弧<x,y>时按Pearce–Kelly算法增量调整：若x已排在y之前则无需调整，
+ * 否则只在[positions[y],positions[x]]这一段内搜索受影响的顶点并重新分配它们原有的位置，
+ * 搜索中从y出发到达了x即说明新增的弧会形成环，此时拒绝该弧并保持顺序不变。
+ */
+final class TopologicalOrder {
+    private int[] order;
+    private int[] positions;
+    private int vertexNum;
+
+    private TopologicalOrder(int[] order, int vertexNum) {
+        int capacity = Math.max(16, vertexNum);
+        this.order = Arrays.copyOf(order, capacity);
+        this.positions = new int[capacity];
+        for (int p = 0; p < vertexNum; p++)
+            positions[order[p]] = p;
+        this.vertexNum = vertexNum;
+    }
+
+    /**
+     * 按图中现有的弧建立
+     */
+    static TopologicalOrder build(AbstractGraph<?, ?, ?> graph) {
+        return new TopologicalOrder(kahn(graph), graph.getVertexNum());
+    }
+
+    /**
+     * Kahn算法：入度以int[]存放，结果数组同时充当队列，O(V+E)
+     *
+     * @return 拓扑序列
+     */
+    static int[] kahn(AbstractGraph<?, ?, ?> graph) {
+        if (!graph.isDirectedGraph())
+            throw new RuntimeException("只有有向图才有拓扑顺序！");
+        int vertexNum = graph.getVertexNum();
+        int[] inDegrees = new int[vertexNum], order = new int[vertexNum];
+        for (int u = 0; u < vertexNum; u++) {
+            if (graph.hasEdge(u, u))
+                throw new RuntimeException("该图存在环，不存在拓扑顺序！");
+            for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c))
+                ++inDegrees[graph.getOutAdjacentVertexIndexAt(u, c)];
+        }
+        int front = 0, rear = 0;
+        for (int v = 0; v < vertexNum; v++)
+            if (inDegrees[v] == 0)
+                order[rear++] = v;
+        while (front < rear) {
+            int u = order[front++];
+            for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c)) {
+                int v = graph.getOutAdjacentVertexIndexAt(u, c);
+                if (--inDegrees[v] == 0)
+                    order[rear++] = v;
+            }
+        }
+        if (rear < vertexNum)
+            throw new RuntimeException("该图存在环，不存在拓扑顺序！");
+        return order;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(order, vertexNum);
+    }
+
+    /**
+     * 在末尾追加一个孤立顶点，它排在最后
+     */
+    void append() {
+        if (vertexNum == order.length) {
+            int capacity = vertexNum + (vertexNum >> 1);
+            order = Arrays.copyOf(order, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        order[vertexNum] = vertexNum;
+        positions[vertexNum] = vertexNum;
+        ++vertexNum;
+    }
+
+    /**
+     * 在弧<x,y>加入图之前调整顺序（图中尚不包含该弧）
+     * 前向搜索从y出发只经过位置不超过positions[x]的顶点，反向搜索从x出发只经过位置不小于positions[y]的顶点，
+     * 把反向搜索到的顶点整体移到前向搜索到的顶点之前，两组内部保持原有的相对顺序。
+     */
+    void add(AbstractGraph<?, ?, ?> graph, int x, int y) {
+        if (x == y)
+            throw new RuntimeException("<" + x + "," + y + ">" + "是自环，会使有向无环图产生环！");
+        int lowerBound = positions[y], upperBound = positions[x];
+        if (upperBound < lowerBound)
+            return;
+        try (TraversalContext context = TraversalContext.acquire(vertexNum)) {
+            int[] forward = context.queue(), backward = context.nextQueue();
+            int forwardNum = 0, backwardNum = 0;
+            context.visit(y);
+            forward[forwardNum++] = y;
+            for (int k = 0; k < forwardNum; k++) {
+                int u = forward[k];
+                for (int c = graph.nextOutAdjacentCursor(u, -1); c != -1; c = graph.nextOutAdjacentCursor(u, c)) {
+                    int v = graph.getOutAdjacentVertexIndexAt(u, c);
+                    if (v == x)
+                        throw new RuntimeException("<" + x + "," + y + ">" + "会使有向无环图产生环！");
+                    if (positions[v] < upperBound && !context.isVisited(v)) {
+                        context.visit(v);
+                        forward[forwardNum++] = v;
+                    }
+                }
+            }
+            context.visitBackward(x);
+            backward[backwardNum++] = x;
+            for (int k = 0; k < backwardNum; k++) {
+                int u = backward[k];
+                for (int c = graph.nextInAdjacentCursor(u, -1); c != -1; c = graph.nextInAdjacentCursor(u, c)) {
+                    int v = graph.getInAdjacentVertexIndexAt(u, c);
+                    if (positions[v] > lowerBound && !context.isVisitedBackward(v)) {
+                        context.visitBackward(v);
+                        backward[backwardNum++] = v;
+                    }
+                }
+            }
+            //把两组顶点换成各自的位置并排序，按位置取回顶点即得到组内原有的相对顺序
+            for (int k = 0; k < forwardNum; k++)
+                forward[k] = positions[forward[k]];
+            for (int k = 0; k < backwardNum; k++)
+                backward[k] = positions[backward[k]];
+            Arrays.sort(forward, 0, forwardNum);
+            Arrays.sort(backward, 0, backwardNum);
+            int[] vertexes = context.predecessors(), slots = context.successors();
+            for (int k = 0; k < backwardNum; k++)
+                vertexes[k] = order[backward[k]];
+            for (int k = 0; k < forwardNum; k++)
+                vertexes[backwardNum + k] = order[forward[k]];
+            //两组原有的位置合并后按从小到大的顺序重新分配
+            int i = 0, j = 0, n = 0;
+            while (i < backwardNum || j < forwardNum)
+                slots[n++] = j == forwardNum || i < backwardNum && backward[i] < forward[j] ? backward[i++] : forward[j++];
+            for (int k = 0; k < n; k++) {
+                order[slots[k]] = vertexes[k];
+                positions[vertexes[k]] = slots[k];
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+
+/**
+ * 遍历的辅助空间
+ * 每次查询都从当前线程的池中借出一个上下文，查询结束后归还，
+ * 查询之间不再共享图对象上的字段，因此只读查询可以被多个线程同时调用。
+ * visited采用时间戳标记：借出时只需递增时间戳，无需清空整个数组；
+ * 双向搜索的反向一侧使用另一组同样按时间戳标记的backwardMarks，
+ * 深度优先搜索的完成（黑色）标记也共用这组数组。
+ */
+final class TraversalContext implements AutoCloseable {
+    private static final ThreadLocal<TraversalContext> POOL = ThreadLocal.withInitial(TraversalContext::new);
+
+    private static final int[] EMPTY = {};
+    private static final long[] EMPTY_BITS = {};
+
+    private int[] marks = EMPTY;
+    private int[] backwardMarks = EMPTY;
+    private int stamp;
+    private int[] queue = EMPTY;
+    private int[] nextQueue = EMPTY;
+    private DFSStack stack;
+    private int[] predecessors = EMPTY;
+    private int[] successors = EMPTY;
+    private long[] visitedBits = EMPTY_BITS;
+    private long[] frontierBits = EMPTY_BITS;
+    private IndexedMinHeap heap;
+    private int vertexNum;
+    private boolean inUse;
+
+    private TraversalContext() {
+    }
+
+    /**
+     * 借出当前线程的上下文；若该上下文正被同一线程的外层查询占用，则临时创建一个新的
+     *
+     * @param vertexNum 图的顶点数
+     * @return 已重置的上下文
+     */
+    static TraversalContext acquire(int vertexNum) {
+        TraversalContext context = POOL.get();
+        if (context.inUse)
+            context = new TraversalContext();
+        context.reset(vertexNum);
+        context.inUse = true;
+        return context;
+    }
+
+    @Override
+    public void close() {
+        inUse = false;
+    }
+
+    private void reset(int vertexNum) {
+        this.vertexNum = vertexNum;
+        if (marks.length < vertexNum) {
+            marks = new int[vertexNum];
+            backwardMarks = new int[vertexNum];
+            stamp = 0;
+        }
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            Arrays.fill(backwardMarks, 0);
+            stamp = 1;
+        }
+    }
+
+    boolean isVisited(int v) {
+        return marks[v] == stamp;
+    }
+
+    void visit(int v) {
+        marks[v] = stamp;
+    }
+
+    boolean isVisitedBackward(int v) {
+        return backwardMarks[v] == stamp;
+    }
+
+    void visitBackward(int v) {
+        backwardMarks[v] = stamp;
+    }
+
+    boolean isFinished(int v) {
+        return backwardMarks[v] == stamp;
+    }
+
+    void finish(int v) {
+        backwardMarks[v] = stamp;
+    }
+
+    /**
+     * @return 长度不小于顶点数的队列空间
+     */
+    int[] queue() {
+        if (queue.length < vertexNum)
+            queue = new int[vertexNum];
+        return queue;
+    }
+
+    /**
+     * @return 第二个队列空间（双向搜索的反向一侧、逐层搜索的下一层），长度不小于顶点数
+     */
+    int[] nextQueue() {
+        if (nextQueue.length < vertexNum)
+            nextQueue = new int[vertexNum];
+        return nextQueue;
+    }
+
+    /**
+     * @return 已清空、容量不小于顶点数的深度优先搜索栈
+     */
+    DFSStack stack() {
+        if (stack == null || stack.capacity() < vertexNum)
+            stack = new DFSStack(vertexNum);
+        stack.clear();
+        return stack;
+    }
+
+    /**
+     * @return 已清空、容量不小于顶点数的索引最小堆
+     */
+    IndexedMinHeap heap() {
+        if (heap == null || heap.capacity() < vertexNum)
+            heap = new IndexedMinHeap(vertexNum);
+        heap.clear();
+        return heap;
+    }
+
+    /**
+     * @return 长度不小于顶点数的前驱空间（未清零，只有本次访问过的顶点的前驱有效）
+     */
+    int[] predecessors() {
+        if (predecessors.length < vertexNum)
+            predecessors = new int[vertexNum];
+        return predecessors;
+    }
+
+    /**
+     * @return 长度不小于顶点数的后继空间（未清零，只有本次反向访问过的顶点的后继有效）
+     */
+    int[] successors() {
+        if (successors.length < vertexNum)
+            successors = new int[vertexNum];
+        return successors;
+    }
+
+    /**
+     * @return 已清零的访问标记位图，覆盖前vertexNum个顶点
+     */
+    long[] visitedBits() {
+        return visitedBits = clearBits(visitedBits);
+    }
+
+    /**
+     * @return 已清零的前沿位图，覆盖前vertexNum个顶点
+     */
+    long[] frontierBits() {
+        return frontierBits = clearBits(frontierBits);
+    }
+
+    private long[] clearBits(long[] bits) {
+        int words = (vertexNum + 63) >>> 6;
+        if (bits.length < words)
+            return new long[words];
+        Arrays.fill(bits, 0, words, 0L);
+        return bits;
+    }
+}
@@ -0,0 +1,88 @@
+package graph.graphImpl;
+
+import graph.Graph;
+
+import java.util.*;
+
+/**
+ * 顶点值到顶点索引值的哈希索引
+ * 同一个顶点值可以出现在多个位置（顶点允许重复，也允许为null），
+ * 每个顶点值对应一个升序的索引值数组，第一个/最后一个即为findVertex/findLastVertex的结果。
+ *
+ * @param <E> 顶点类型
+ */
+final class VertexIndex<E> {
+    private final Map<E, IndexList> indexes = new HashMap<>();
+
+    VertexIndex(Graph<E, ?, ?> graph) {
+        rebuild(graph);
+    }
+
+    /**
+     * 按图中当前的顶点重建索引，时间复杂度O(V)
+     */
+    void rebuild(Graph<E, ?, ?> graph) {
+        indexes.clear();
+        for (int i = 0; i < graph.getVertexNum(); i++)
+            add(i, graph.getVertex(i));
+    }
+
+    void add(int index, E vertex) {
+        indexes.computeIfAbsent(vertex, v -> new IndexList()).add(index);
+    }
+
+    void remove(int index, E vertex) {
+        IndexList list = indexes.get(vertex);
+        if (list != null && list.remove(index) && list.size == 0)
+            indexes.remove(vertex);
+    }
+
+    int first(E vertex) {
+        IndexList list = indexes.get(vertex);
+        return list == null ? -1 : list.values[0];
+    }
+
+    int last(E vertex) {
+        IndexList list = indexes.get(vertex);
+        return list == null ? -1 : list.values[list.size - 1];
+    }
+
+    Set<Integer> all(E vertex) {
+        Set<Integer> result = new HashSet<>();
+        IndexList list = indexes.get(vertex);
+        if (list != null)
+            for (int i = 0; i < list.size; i++)
+                result.add(list.values[i]);
+        return result;
+    }
+
+    /**
+     * 升序的索引值数组，追加顶点时插入在末尾，为O(1)
+     */
+    private static final class IndexList {
+        private int[] values = new int[1];
+        private int size;
+
+        private void add(int index) {
+            int pos = size == 0 || values[size - 1] < index ? size : Arrays.binarySearch(values, 0, size, index);
+            if (pos >= 0 && pos < size)
+                return;
+            if (pos < 0)
+                pos = -(pos + 1);
+            if (size == values.length)
+                values = Arrays.copyOf(values, size << 1);
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            values[pos] = index;
+            ++size;
+        }
+
+        private boolean remove(int index) {
+            int pos = Arrays.binarySearch(values, 0, size, index);
+            if (pos < 0)
+                return false;
+            System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+            --size;
+            return true;
+        }
+    }
+}
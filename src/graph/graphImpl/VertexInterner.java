@@ -0,0 +1,75 @@
+package graph.graphImpl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 顶点名字的驻留器，供EdgeListReader把弧/边两端的名字换成顶点索引值
+ * 同一个名字必须总是得到同一个索引值，EdgeListReader会把0到已出现的最大索引值之间的顶点依次添加到构建器中，
+ * 因此索引值应当从0开始连续分配。
+ * EdgeListReader只在调用线程中使用驻留器，实现类不必是线程安全的。
+ *
+ * @param <E> 顶点类型
+ */
+public interface VertexInterner<E> {
+    /**
+     * @param buffer 名字所在的缓冲区（只应读取，不应修改其位置）
+     * @param offset 名字的起始位置
+     * @param length 名字的字节数
+     * @return 名字对应的顶点索引值
+     */
+    int intern(ByteBuffer buffer, int offset, int length);
+
+    /**
+     * @return 索引值为index的顶点，index小于已分配的索引值数
+     */
+    E getVertex(int index);
+
+    /**
+     * 名字按UTF-8解码为字符串顶点，相同的名字只在首次出现时生成一个字符串
+     */
+    static VertexInterner<String> strings() {
+        return new VertexInterner<String>() {
+            private final NameTable names = new NameTable();
+            private final List<String> vertexes = new ArrayList<>();
+
+            @Override
+            public int intern(ByteBuffer buffer, int offset, int length) {
+                int index = names.intern(buffer, offset, length);
+                if (index == vertexes.size())
+                    vertexes.add(names.getString(index));
+                return index;
+            }
+
+            @Override
+            public String getVertex(int index) {
+                return vertexes.get(index);
+            }
+        };
+    }
+
+    /**
+     * 名字本身就是非负的十进制顶点索引值，不做任何哈希，顶点为其索引值
+     * 文件中出现的最大索引值以内的顶点都会被添加，未出现的成为孤立顶点
+     */
+    static VertexInterner<Integer> indexes() {
+        return new VertexInterner<Integer>() {
+            @Override
+            public int intern(ByteBuffer buffer, int offset, int length) {
+                long index = 0;
+                for (int k = 0; k < length; k++) {
+                    int digit = buffer.get(offset + k) - '0';
+                    if (digit < 0 || digit > 9 || (index = index * 10 + digit) > Integer.MAX_VALUE - 1)
+                        throw new IllegalArgumentException("顶点名字不是合法的索引值！");
+                }
+                return (int) index;
+            }
+
+            @Override
+            public Integer getVertex(int index) {
+                return index;
+            }
+        };
+    }
+}
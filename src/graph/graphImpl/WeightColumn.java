@@ -0,0 +1,130 @@
+package graph.graphImpl;
+
+import java.util.Arrays;
+
+/**
+ * 网的权值列，与弧头索引值数组平行存放
+ * 默认以Object[]存放任意类型的权值；数值权值可以改用double[]存放，读写权值时既不装箱也不做强制类型转换。
+ */
+abstract class WeightColumn {
+    /**
+     * @return 位于pos处的权值（按需装箱）
+     */
+    abstract Object get(int pos);
+
+    /**
+     * @return 位于pos处的权值的double值，null权值为NaN
+     */
+    abstract double getDouble(int pos);
+
+    abstract void set(int pos, Object weight);
+
+    abstract void setDouble(int pos, double weight);
+
+    abstract void resize(int capacity);
+
+    /**
+     * 列内复制，语义同System.arraycopy
+     */
+    abstract void copy(int from, int to, int length);
+
+    /**
+     * 清空[from,to)，便于回收权值对象
+     */
+    abstract void clear(int from, int to);
+
+    static double toDouble(Object weight) {
+        return weight == null ? Double.NaN : ((Number) weight).doubleValue();
+    }
+
+    /**
+     * 任意类型的权值
+     */
+    static final class ObjectColumn extends WeightColumn {
+        private Object[] weights;
+
+        ObjectColumn(int capacity) {
+            weights = new Object[capacity];
+        }
+
+        @Override
+        Object get(int pos) {
+            return weights[pos];
+        }
+
+        @Override
+        double getDouble(int pos) {
+            return toDouble(weights[pos]);
+        }
+
+        @Override
+        void set(int pos, Object weight) {
+            weights[pos] = weight;
+        }
+
+        @Override
+        void setDouble(int pos, double weight) {
+            weights[pos] = weight;
+        }
+
+        @Override
+        void resize(int capacity) {
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        @Override
+        void copy(int from, int to, int length) {
+            System.arraycopy(weights, from, weights, to, length);
+        }
+
+        @Override
+        void clear(int from, int to) {
+            Arrays.fill(weights, from, to, null);
+        }
+    }
+
+    /**
+     * double类型的权值，每条弧只占8字节，null权值存为NaN
+     */
+    static final class DoubleColumn extends WeightColumn {
+        private double[] weights;
+
+        DoubleColumn(int capacity) {
+            weights = new double[capacity];
+        }
+
+        @Override
+        Object get(int pos) {
+            return Double.isNaN(weights[pos]) ? null : weights[pos];
+        }
+
+        @Override
+        double getDouble(int pos) {
+            return weights[pos];
+        }
+
+        @Override
+        void set(int pos, Object weight) {
+            weights[pos] = toDouble(weight);
+        }
+
+        @Override
+        void setDouble(int pos, double weight) {
+            weights[pos] = weight;
+        }
+
+        @Override
+        void resize(int capacity) {
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        @Override
+        void copy(int from, int to, int length) {
+            System.arraycopy(weights, from, weights, to, length);
+        }
+
+        @Override
+        void clear(int from, int to) {
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package graph.benchmark;
+
+import graph.GraphKind;
+import graph.graphImpl.GraphBuilder;
+
+import java.util.Random;
+
+/**
+ * 基准测试用的合成图生成器
+ * 顶点值即顶点索引值，网的权值为[1,100]内的随机整数；同一个种子总是生成同一张图。
+ */
+public final class GraphGenerator {
+    private GraphGenerator() {
+    }
+
+    /**
+     * 随机图（Erdős–Rényi）：弧/边的两个端点均匀随机选取
+     *
+     * @param graphKind 图类型
+     * @param vertexNum 顶点数
+     * @param avgDegree 平均每个顶点登记的弧/边数
+     * @param seed      随机种子
+     */
+    public static GraphBuilder<Integer, Integer, Object> random(GraphKind graphKind, int vertexNum, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        int edgeNum = vertexNum * avgDegree;
+        GraphBuilder<Integer, Integer, Object> builder = withVertexes(graphKind, vertexNum, edgeNum);
+        for (int k = 0; k < edgeNum; k++)
+            builder.addEdge(random.nextInt(vertexNum), random.nextInt(vertexNum), weight(random));
+        return builder;
+    }
+
+    /**
+     * 幂律图（Barabási–Albert优先连接）：新顶点以正比于度的概率连接已有顶点，
+     * 少数顶点的度极大，近似社交网络的度分布
+     *
+     * @param graphKind 图类型
+     * @param vertexNum 顶点数
+     * @param avgDegree 每个新顶点连出的弧/边数
+     * @param seed      随机种子
+     */
+    public static GraphBuilder<Integer, Integer, Object> powerLaw(GraphKind graphKind, int vertexNum, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        int edgeNum = vertexNum * avgDegree;
+        GraphBuilder<Integer, Integer, Object> builder = withVertexes(graphKind, vertexNum, edgeNum);
+        //每条弧/边的两个端点各登记一次，均匀抽取其中一个元素即按度抽取顶点
+        int[] endpoints = new int[2 * edgeNum + 2];
+        int size = 0;
+        endpoints[size++] = 0;
+        for (int v = 1; v < vertexNum; v++)
+            for (int k = 0; k < avgDegree; k++) {
+                int u = endpoints[random.nextInt(size)];
+                builder.addEdge(v, u, weight(random));
+                if (size + 2 <= endpoints.length) {
+                    endpoints[size++] = v;
+                    endpoints[size++] = u;
+                }
+            }
+        return builder;
+    }
+
+    /**
+     * 网格图：side×side的格点，每个格点连向右侧与下方的相邻格点
+     *
+     * @param graphKind 图类型
+     * @param side      边长，顶点数为side²
+     * @param seed      随机种子（仅用于权值）
+     */
+    public static GraphBuilder<Integer, Integer, Object> grid(GraphKind graphKind, int side, long seed) {
+        Random random = new Random(seed);
+        int vertexNum = side * side;
+        GraphBuilder<Integer, Integer, Object> builder = withVertexes(graphKind, vertexNum, 2 * vertexNum);
+        for (int row = 0; row < side; row++)
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side)
+                    builder.addEdge(v, v + 1, weight(random));
+                if (row + 1 < side)
+                    builder.addEdge(v, v + side, weight(random));
+            }
+        return builder;
+    }
+
+    private static GraphBuilder<Integer, Integer, Object> withVertexes(GraphKind graphKind, int vertexNum, int edgeNum) {
+        GraphBuilder<Integer, Integer, Object> builder = new GraphBuilder<>(graphKind, vertexNum, edgeNum);
+        for (int i = 0; i < vertexNum; i++)
+            builder.addVertex(i);
+        return builder;
+    }
+
+    private static Integer weight(Random random) {
+        return 1 + random.nextInt(100);
+    }
+}
@@ -0,0 +1,263 @@
+package graph.graphImpl;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 并发图：单线程时与GraphByAdjacencyList行为相同；多个线程同时读写时弧/边的两端保持一致，查询不抛出异常
+ */
+class ConcurrentGraphTest {
+    private static final int THREADS = 8;
+
+    private static void assertSameGraph(Graph<Integer, Integer, Object> expected, Graph<Integer, Integer, Object> actual) {
+        GraphFixtures.assertSameGraph(expected, actual);
+        assertArrayEquals(expected.getVertexes(), actual.getVertexes());
+    }
+
+    /**
+     * 无向图中返回的边的方向可能不同，只比较是否存在与权值
+     */
+    private static void assertSameEdge(Edge<Integer, Object> expected, Edge<Integer, Object> actual) {
+        assertEquals(expected == null, actual == null);
+        if (expected != null)
+            assertEquals(String.valueOf(expected.getWeight()), String.valueOf(actual.getWeight()));
+    }
+
+    @Test
+    void behavesLikeAdjacencyList() {
+        for (GraphKind graphKind : GraphKind.values()) {
+            Random random = new Random(graphKind.ordinal());
+            ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(graphKind, 4);
+            GraphByAdjacencyList<Integer, Integer, Object> expected = new GraphByAdjacencyList<>(graphKind);
+            for (int i = 0; i < 10; i++) {
+                graph.addVertex(i);
+                expected.addVertex(i);
+            }
+            for (int step = 0; step < 300; step++) {
+                int vertexNum = expected.getVertexNum();
+                int x = random.nextInt(vertexNum), y = random.nextInt(vertexNum), op = random.nextInt(12);
+                Integer weight = random.nextInt(100);
+                if (op < 6)
+                    assertSameEdge(expected.addEdgeByIndex(x, y, weight, null), graph.addEdgeByIndex(x, y, weight, null));
+                else if (op < 9 && expected.hasEdge(x, y))
+                    assertSameEdge(expected.deleteEdge(x, y), graph.deleteEdge(x, y));
+                else if (op == 9) {
+                    expected.addVertex(x, step);
+                    graph.addVertex(x, step);
+                } else if (op == 10) {
+                    expected.addVertex(step);
+                    graph.addVertex(step);
+                } else if (vertexNum > 4)
+                    assertEquals(expected.deleteVertex(x), graph.deleteVertex(x));
+                assertSameGraph(expected, graph);
+                assertSameGraph(expected, graph.snapshot());
+            }
+        }
+    }
+
+    @Test
+    void componentQueriesFollowAddsAndDeletes() {
+        ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(GraphKind.UDG);
+        for (int i = 0; i < 4; i++)
+            graph.addVertex(i);
+        graph.addEdgeByIndex(0, 1);
+        assertEquals(3, graph.getComponentNum());
+        //并查集建立之后，新增的边与追加的顶点增量合并
+        graph.addEdgeByIndex(2, 3);
+        assertArrayEquals(new int[]{0, 0, 1, 1}, graph.getComponentLabels());
+        graph.addVertex(4);
+        graph.addEdgeByIndex(4, 3);
+        assertArrayEquals(new int[]{0, 0, 1, 1, 1}, graph.getComponentLabels());
+        graph.deleteVertex(4);
+        graph.updateEdgeInfo(0, 1, "info");
+        assertArrayEquals(new int[]{0, 0, 1, 1}, graph.getComponentLabels());
+        //删一条加一条，顶点数与边数都不变
+        graph.deleteEdge(2, 3);
+        graph.addEdgeByIndex(1, 2);
+        assertArrayEquals(new int[]{0, 0, 0, 1}, graph.getComponentLabels());
+        assertTrue(graph.isConnected(0, 2));
+        assertFalse(graph.isConnected(0, 3));
+        assertEquals(2, graph.getComponentNum());
+    }
+
+    @Test
+    void weightOfVanishedArcIsInfinite() {
+        ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(GraphKind.DN);
+        for (int i = 0; i < 3; i++)
+            graph.addVertex(i);
+        graph.addEdgeByIndex(0, 2, 5, null);
+        int cursor = graph.nextOutAdjacentCursor(0, -1);
+        assertEquals(5.0, graph.getOutAdjacentWeightAt(0, cursor));
+        graph.deleteEdge(0, 2);
+        assertEquals(Double.POSITIVE_INFINITY, graph.getOutAdjacentWeightAt(0, cursor));
+    }
+
+    @Test
+    void concurrentWritersKeepBothEndsConsistent() throws Exception {
+        for (GraphKind graphKind : GraphKind.values()) {
+            ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(graphKind);
+            int vertexNum = 200;
+            for (int i = 0; i < vertexNum; i++)
+                graph.addVertex(i);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                //第t个线程只写弧尾模THREADS余t的弧，各线程加入的弧互不相同，最后删去自己加入的一半
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        Random random = new Random(thread);
+                        for (int k = 0; k < 2000; k++) {
+                            int x = random.nextInt(vertexNum / THREADS) * THREADS + thread, y = random.nextInt(vertexNum);
+                            if (graphKind == GraphKind.UDG || graphKind == GraphKind.UDN)
+                                y = random.nextInt(vertexNum / THREADS) * THREADS + thread;
+                            graph.addEdgeByIndex(x, y, k, null);
+                            if (k % 2 == 1)
+                                graph.deleteEdge(x, y);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures)
+                    future.get(60, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+            int arcNum = 0;
+            for (int u = 0; u < vertexNum; u++)
+                for (int v : graph.getOutAdjacentVertexIndexes(u)) {
+                    ++arcNum;
+                    assertTrue(graph.isDirectedGraph() ? graph.getInAdjacentVertexIndexes(v).contains(u) : graph.hasEdge(v, u));
+                    if (graph.isNetwork() && !graph.isDirectedGraph())
+                        assertEquals(graph.getEdge(u, v).getWeight(), graph.getEdge(v, u).getWeight());
+                }
+            //邻接点中不含自环，自环另行计数
+            int loopNum = 0;
+            for (int u = 0; u < vertexNum; u++)
+                if (graph.hasEdge(u, u))
+                    ++loopNum;
+            assertEquals((graph.isDirectedGraph() ? arcNum : arcNum / 2) + loopNum, graph.getEdgeNum(), graphKind.toString());
+            assertSameGraph(copy(graph), graph);
+        }
+    }
+
+    /**
+     * 只加不删时连通性单调：读线程看到的分量数不增加，已连通的两点之后仍然连通；
+     * 写完之后并查集的结果与重新建立的结果相同
+     */
+    @Test
+    void unionFindFollowsConcurrentAdds() throws Exception {
+        for (GraphKind graphKind : GraphKind.values()) {
+            ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(graphKind);
+            int vertexNum = 2000;
+            for (int i = 0; i < vertexNum; i++)
+                graph.addVertex(i);
+            assertEquals(vertexNum, graph.getComponentNum());
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        Random random = new Random(thread);
+                        int lastComponentNum = Integer.MAX_VALUE;
+                        for (int k = 0; k < 1500; k++) {
+                            int x = random.nextInt(vertexNum), y = random.nextInt(vertexNum);
+                            if (thread % 2 == 0) {
+                                graph.addEdgeByIndex(x, y, k, null);
+                                continue;
+                            }
+                            int componentNum = graph.getComponentNum();
+                            if (componentNum > lastComponentNum)
+                                return "分量数从" + lastComponentNum + "增加到" + componentNum;
+                            lastComponentNum = componentNum;
+                            if (!graph.isDirectedGraph() && graph.isConnected(x, y) && !graph.isConnected(y, x))
+                                return "<" + x + "," + y + ">的连通性不对称";
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<String> future : futures)
+                    assertNull(future.get(60, TimeUnit.SECONDS), graphKind.toString());
+            } finally {
+                executor.shutdownNow();
+            }
+            assertSameGraph(copy(graph), graph);
+        }
+    }
+
+    @Test
+    void readersSurviveConcurrentWriters() throws Exception {
+        ConcurrentGraph<Integer, Integer, Object> graph = new ConcurrentGraph<>(GraphKind.DN);
+        int vertexNum = 300;
+        for (int i = 0; i < vertexNum; i++)
+            graph.addVertex(i);
+        Random random = new Random(5);
+        for (int k = 0; k < 1500; k++)
+            graph.addEdgeByIndex(random.nextInt(vertexNum), random.nextInt(vertexNum), random.nextInt(10), null);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    Random local = new Random(thread);
+                    for (int k = 0; k < 300; k++) {
+                        int x = local.nextInt(vertexNum), y = local.nextInt(vertexNum);
+                        if (thread % 2 == 0) {
+                            graph.addEdgeByIndex(x, y, local.nextInt(10), null);
+                            graph.deleteEdge(y, x);
+                        } else {
+                            double[] distances = graph.getShortestDistances(x);
+                            assertEquals(0.0, distances[x]);
+                            graph.BFSTraverse();
+                            graph.isConnected(x, y);
+                            graph.getComponentNum();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        Graph<Integer, Integer, Object> snapshot = graph.snapshot();
+        assertEquals(snapshot.getEdgeNum(), graph.getEdgeNum());
+        assertArrayEquals(snapshot.getShortestDistances(0), graph.getShortestDistances(0));
+    }
+
+    /**
+     * 把图的当前状态逐条复制到GraphByAdjacencyList，作为比较的基准
+     */
+    private static Graph<Integer, Integer, Object> copy(Graph<Integer, Integer, Object> source) {
+        GraphBuilder<Integer, Integer, Object> builder = new GraphBuilder<>(source.getKind());
+        for (int i = 0; i < source.getVertexNum(); i++)
+            builder.addVertex(source.getVertex(i));
+        for (int u = 0; u < source.getVertexNum(); u++) {
+            for (int v : source.getOutAdjacentVertexIndexes(u))
+                if (source.isDirectedGraph() || u < v)
+                    builder.addEdge(u, v, source.isNetwork() ? source.getEdge(u, v).getWeight() : null);
+            if (source.hasEdge(u, u))
+                builder.addEdge(u, u, source.isNetwork() ? source.getEdge(u, u).getWeight() : null);
+        }
+        return builder.buildAdjacencyList();
+    }
+}
@@ -0,0 +1,127 @@
+package graph.graphImpl;
+
+import graph.Graph;
+import graph.GraphKind;
+import graph.benchmark.GraphGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 并发只读查询：多个线程同时在同一张图上查询，结果都应与单线程查询的结果相同
+ * 每一轮都重新建图，使并查集、强连通分量、拓扑顺序等缓存由并发的首次查询建立
+ */
+class ConcurrentReadTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+    private static final int QUERIES = 30;
+
+    /**
+     * 依次执行各个查询，结果按顺序放入列表，便于整体比较
+     */
+    private static List<Object> query(Graph<?, ?, ?> graph, int[] a, int[] b) {
+        List<Object> results = new ArrayList<>();
+        results.add(graph.BFSTraverse());
+        results.add(graph.DFSTraverse());
+        results.add(graph.directionOptimizingBFSTraverse());
+        results.add(graph.getComponentNum());
+        results.add(Arrays.toString(graph.getComponentLabels()));
+        results.add(Arrays.toString(graph.getStronglyConnectedComponents()));
+        results.add(graph.isConnectedGraph());
+        for (int k = 0; k < a.length; k++) {
+            results.add(graph.hasPath(a[k], b[k]));
+            results.add(graph.isConnected(a[k], b[k]));
+            results.add(Arrays.toString(graph.getBFSLevels(a[k])));
+        }
+        if (graph.isNetwork())
+            results.add(Arrays.toString(graph.getShortestDistances(a[0])));
+        return results;
+    }
+
+    /**
+     * 每一轮在新建的图上由THREADS个线程同时开始查询
+     */
+    private static void assertConcurrentQueries(Supplier<Graph<Integer, ?, Object>> supplier, TaskFactory tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Graph<Integer, ?, Object> graph = supplier.get();
+                Object expected = tasks.create(supplier.get()).call();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Object>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    Callable<Object> task = tasks.create(graph);
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return task.call();
+                    }));
+                }
+                start.countDown();
+                for (Future<Object> future : futures)
+                    assertEquals(expected, future.get(30, TimeUnit.SECONDS), graph.getClass().getSimpleName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface TaskFactory {
+        Callable<Object> create(Graph<Integer, ?, Object> graph);
+    }
+
+    @Test
+    void readQueriesFromManyThreads() throws Exception {
+        for (GraphKind graphKind : GraphKind.values()) {
+            GraphBuilder<Integer, Integer, Object> builder = GraphGenerator.random(graphKind, 300, 2, graphKind.ordinal());
+            Random random = new Random(graphKind.ordinal());
+            int[] a = new int[QUERIES], b = new int[QUERIES];
+            for (int k = 0; k < QUERIES; k++) {
+                a[k] = random.nextInt(300);
+                b[k] = random.nextInt(300);
+            }
+            for (Supplier<Graph<Integer, ?, Object>> supplier : GraphFixtures.implementations(builder))
+                assertConcurrentQueries(supplier, graph -> () -> query(graph, a, b));
+        }
+    }
+
+    @Test
+    void maintainedTopologicalOrderFromManyThreads() throws Exception {
+        //按索引值从小到大加弧得到无环图
+        GraphBuilder<Integer, Integer, Object> builder = new GraphBuilder<>(GraphKind.DG);
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++)
+            builder.addVertex(i);
+        for (int k = 0; k < 1500; k++) {
+            int x = random.nextInt(500), y = random.nextInt(500);
+            if (x != y)
+                builder.addEdge(Math.min(x, y), Math.max(x, y));
+        }
+        for (Supplier<Graph<Integer, ?, Object>> supplier : GraphFixtures.implementations(builder)) {
+            //并发图不支持拓扑顺序的增量维护
+            if (supplier.get() instanceof ConcurrentGraph)
+                continue;
+            //删除顶点后维护的顺序被丢弃，由并发的getTopologicalOrder重新建立
+            Supplier<Graph<Integer, ?, Object>> maintained = () -> {
+                AbstractGraph<Integer, ?, Object> graph = (AbstractGraph<Integer, ?, Object>) supplier.get();
+                graph.setTopologicalOrderMaintained(true);
+                graph.deleteVertex(0);
+                return graph;
+            };
+            assertConcurrentQueries(maintained, graph -> () -> {
+                int[] order = graph.getTopologicalOrder();
+                int[] position = new int[order.length];
+                for (int k = 0; k < order.length; k++)
+                    position[order[k]] = k;
+                for (int u = 0; u < graph.getVertexNum(); u++)
+                    for (int v : graph.getOutAdjacentVertexIndexes(u))
+                        if (position[u] >= position[v])
+                            return "<" + u + "," + v + ">违反拓扑顺序";
+                return order.length;
+            });
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package graph.graphImpl;
+
+import graph.GraphKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 连通性查询：在随机交替的增删顶点与弧/边之后，缓存的分量编号、并查集与强连通分量的判断都应与直接搜索的结果相同
+ */
+class ConnectivityTest {
+    /**
+     * 从index出发沿出弧（weak为true时同时沿入弧）可以到达的顶点
+     */
+    private static boolean[] reach(AbstractGraph<?, ?, ?> graph, int index, boolean weak) {
+        boolean[] visited = new boolean[graph.getVertexNum()];
+        Deque<Integer> queue = new ArrayDeque<>();
+        visited[index] = true;
+        queue.add(index);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            Set<Integer> next = new HashSet<>(graph.getOutAdjacentVertexIndexes(u));
+            if (weak)
+                next.addAll(graph.getInAdjacentVertexIndexes(u));
+            for (int v : next)
+                if (!visited[v]) {
+                    visited[v] = true;
+                    queue.add(v);
+                }
+        }
+        return visited;
+    }
+
+    private static void assertConnectivity(AbstractGraph<?, ?, ?> graph) {
+        String name = graph.getClass().getSimpleName();
+        int vertexNum = graph.getVertexNum();
+        int[] labels = graph.getComponentLabels();
+        int componentNum = 0;
+        for (int i = 0; i < vertexNum; i++) {
+            boolean[] weak = reach(graph, i, true), strong = reach(graph, i, false);
+            for (int j = 0; j < vertexNum; j++) {
+                assertEquals(weak[j], labels[i] == labels[j], name + "：" + i + "与" + j + "的分量编号");
+                boolean expected = i == j ? graph.hasEdge(i, i) : graph.isDirectedGraph() ? strong[j] : weak[j];
+                assertEquals(expected, graph.isConnected(i, j), name + "：isConnected(" + i + "," + j + ")");
+            }
+            componentNum = Math.max(componentNum, labels[i] + 1);
+        }
+        assertEquals(componentNum, graph.getComponentNum(), name);
+        labels[0] = -1;
+        assertEquals(0, graph.getComponentLabels()[0], name + "：修改返回的编号不应影响缓存");
+    }
+
+    private static void randomChanges(GraphKind graphKind, long seed) {
+        Random random = new Random(seed);
+        for (AbstractGraph<Integer, Double, Object> graph : GraphFixtures.<Integer, Object>emptyGraphs(graphKind)) {
+            for (int i = 0; i < 12; i++)
+                graph.addVertex(i);
+            for (int step = 0; step < 150; step++) {
+                int vertexNum = graph.getVertexNum();
+                int x = random.nextInt(vertexNum), y = random.nextInt(vertexNum), op = random.nextInt(10);
+                if (op < 6)
+                    graph.addEdgeByIndex(x, y, 1.0, null);
+                else if (op < 8 && graph.hasEdge(x, y))
+                    graph.deleteEdge(x, y);
+                else if (op == 8)
+                    graph.addVertex(vertexNum);
+                else if (vertexNum > 4)
+                    graph.deleteVertex(x);
+                assertConnectivity(graph);
+            }
+        }
+    }
+
+    @Test
+    void directedAgreesWithSearch() {
+        randomChanges(GraphKind.DG, 1);
+        randomChanges(GraphKind.DN, 2);
+    }
+
+    @Test
+    void undirectedAgreesWithSearch() {
+        randomChanges(GraphKind.UDG, 3);
+        randomChanges(GraphKind.UDN, 4);
+    }
+
+    @Test
+    void forwardArcKeepsStrongComponents() {
+        GraphByAdjacencyList<Integer, Integer, Object> graph = new GraphByAdjacencyList<>(GraphKind.DG);
+        for (int i = 0; i < 4; i++)
+            graph.addVertex(i);
+        graph.addEdgeByIndex(0, 1);
+        graph.addEdgeByIndex(1, 0);
+        graph.addEdgeByIndex(2, 3);
+        assertFalse(graph.isConnected(0, 3));
+        assertFalse(graph.isConnected(3, 1));
+        //0、1所在分量排在2、3所在分量之前，<1,2>不改变强连通分量
+        graph.addEdgeByIndex(1, 2);
+        assertTrue(graph.isConnected(0, 3));
+        assertFalse(graph.isConnected(3, 0));
+        //<3,0>把全部顶点合并为一个强连通分量
+        graph.addEdgeByIndex(3, 0);
+        assertTrue(graph.isConnected(3, 1));
+        assertTrue(graph.isConnected(2, 0));
+    }
+}
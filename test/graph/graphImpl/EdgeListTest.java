@@ -0,0 +1,120 @@
+package graph.graphImpl;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 边表文件：EdgeListWriter写出后由EdgeListReader读回，弧/边、权值与信息都应与原图相同；
+ * 分段并行解析的结果与整个文件作为一段解析的结果相同
+ */
+class EdgeListTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * 随机图：顶点名为v0..v(n-1)，部分权值为null或小数，部分弧/边带有含空格的信息
+     */
+    private static Graph<String, Double, String> randomGraph(GraphKind graphKind, int vertexNum, int edgeNum, long seed) {
+        Random random = new Random(seed);
+        GraphBuilder<String, Double, String> builder = new GraphBuilder<>(graphKind);
+        for (int i = 0; i < vertexNum; i++)
+            builder.addVertex("v" + i);
+        for (int k = 0; k < edgeNum; k++) {
+            int r = random.nextInt(4);
+            Double weight = r == 0 ? null : r == 1 ? (double) random.nextInt(100) : random.nextInt(100000) / 100.0;
+            String info = random.nextInt(3) == 0 ? "info " + k + ", x" : null;
+            builder.addEdge(random.nextInt(vertexNum), random.nextInt(vertexNum), weight, info);
+        }
+        return builder.buildAdjacencyList();
+    }
+
+    /**
+     * 以顶点名描述每条弧/边（无向图的两个端点按名字排序），非网不比较权值
+     */
+    private static Map<String, Integer> describe(Graph<?, ?, ?> graph) {
+        Map<String, Integer> edges = new HashMap<>();
+        for (Edge<?, ?> edge : graph.getEdges()) {
+            String tail = String.valueOf(graph.getVertex(edge.getTailIndex())), head = String.valueOf(graph.getVertex(edge.getHeadIndex()));
+            if (!graph.isDirectedGraph() && tail.compareTo(head) > 0) {
+                String swap = tail;
+                tail = head;
+                head = swap;
+            }
+            Object weight = graph.isNetwork() ? edge.getWeight() : null;
+            edges.merge(tail + "|" + head + "|" + weight + "|" + edge.getInfo(), 1, Integer::sum);
+        }
+        return edges;
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        for (GraphKind graphKind : GraphKind.values()) {
+            Graph<String, Double, String> graph = randomGraph(graphKind, 150, 600, graphKind.ordinal());
+            Path path = dir.resolve(graphKind + ".txt");
+            EdgeListWriter.write(graph, path);
+            Graph<String, Double, String> read = new EdgeListReader<>(VertexInterner.strings()).read(path, graphKind).buildAdjacencyList();
+            assertEquals(graph.getEdgeNum(), read.getEdgeNum(), graphKind.toString());
+            assertEquals(describe(graph), describe(read), graphKind.toString());
+        }
+    }
+
+    @Test
+    void chunkedParseMatchesSingleChunk() throws IOException {
+        Graph<String, Double, String> graph = randomGraph(GraphKind.DN, 400, 3000, 9);
+        Path path = dir.resolve("chunked.txt");
+        EdgeListWriter.write(graph, path);
+        GraphByCSR<String, Double, String> whole = new EdgeListReader<>(VertexInterner.strings())
+                .setChunkSize(Integer.MAX_VALUE).read(path, GraphKind.DN).buildCSR();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[]{1, 64, 4096}) {
+                GraphByCSR<String, Double, String> chunked = new EdgeListReader<>(VertexInterner.strings())
+                        .setPool(pool, 3).setChunkSize(chunkSize).read(path, GraphKind.DN).buildCSR();
+                assertArrayEquals(whole.getVertexes(), chunked.getVertexes(), "chunkSize=" + chunkSize);
+                assertEquals(describe(whole), describe(chunked), "chunkSize=" + chunkSize);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void readsHandwrittenFile() throws IOException {
+        Path path = dir.resolve("handwritten.txt");
+        Files.write(path, Arrays.asList(
+                "# 注释",
+                "",
+                "a b 1.5",
+                "b,c,-,some info here",
+                "c\td\t2",
+                "a b 3"), StandardCharsets.UTF_8);
+        Graph<String, Double, String> graph = new EdgeListReader<>(VertexInterner.strings()).read(path, GraphKind.DN).buildAdjacencyList();
+        assertArrayEquals(new Object[]{"a", "b", "c", "d"}, graph.getVertexes());
+        assertEquals(3, graph.getEdgeNum());
+        assertEquals(3.0, graph.getWeightAsDouble(0, 1));
+        assertNull(graph.getEdge(1, 2).getWeight());
+        assertEquals("some info here", graph.getEdge(1, 2).getInfo());
+        assertEquals(2.0, graph.getWeightAsDouble(2, 3));
+    }
+
+    @Test
+    void reportsMalformedLines() throws IOException {
+        Path path = dir.resolve("malformed.txt");
+        Files.write(path, Arrays.asList("a b 1", "c"), StandardCharsets.UTF_8);
+        assertThrows(RuntimeException.class, () -> new EdgeListReader<>(VertexInterner.strings()).read(path, GraphKind.DG));
+        Files.write(path, Arrays.asList("a b x1"), StandardCharsets.UTF_8);
+        assertThrows(RuntimeException.class, () -> new EdgeListReader<>(VertexInterner.strings()).read(path, GraphKind.DN));
+    }
+}
@@ -0,0 +1,87 @@
+package graph.graphImpl;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 各测试共用的夹具：每种图类型下所有能存储它的实现，以及两张图结构相同的断言
+ * 位矩阵只能存储DG/UDG，权值为double的压缩稀疏行只能存储DN/UDN，其余实现（包括并发图）支持全部四种图
+ */
+final class GraphFixtures {
+    private GraphFixtures() {
+    }
+
+    static boolean isNetwork(GraphKind graphKind) {
+        return graphKind == GraphKind.DN || graphKind == GraphKind.UDN;
+    }
+
+    /**
+     * 各个实现的空图（权值类型为Double，以便包含GraphByDoubleWeightedCSR），每次调用都新建
+     */
+    static <E, V> List<AbstractGraph<E, Double, V>> emptyGraphs(GraphKind graphKind) {
+        List<AbstractGraph<E, Double, V>> graphs = new ArrayList<>();
+        graphs.add(new GraphByAdjacentMatrix<>(graphKind));
+        if (isNetwork(graphKind))
+            graphs.add(new GraphByDoubleWeightedCSR<>(graphKind));
+        else
+            graphs.add(new GraphByBitMatrix<>(graphKind));
+        graphs.add(new GraphByCSR<>(graphKind));
+        graphs.add(new GraphByAdjacencyList<>(graphKind));
+        graphs.add(new ConcurrentGraph<>(graphKind, 4));
+        return graphs;
+    }
+
+    /**
+     * 由builder中登记的顶点与弧/边生成各个实现，每次调用supplier都生成一张新图
+     */
+    static <E, V> List<Supplier<Graph<E, ?, V>>> implementations(GraphBuilder<E, ?, V> builder) {
+        List<Supplier<Graph<E, ?, V>>> implementations = new ArrayList<>();
+        implementations.add(builder::buildAdjacentMatrix);
+        if (isNetwork(builder.getKind()))
+            implementations.add(builder::buildDoubleWeightedCSR);
+        else
+            implementations.add(builder::buildBitMatrix);
+        implementations.add(builder::buildCSR);
+        implementations.add(builder::buildAdjacencyList);
+        implementations.add(() -> concurrent(builder.buildAdjacencyList()));
+        return implementations;
+    }
+
+    /**
+     * 两张图的结构相同：图类型、顶点数、弧/边数、各顶点的出入邻接点与自环、网的权值，以及连通分量
+     * 顶点值的类型可能不同（如映射回来的字符串顶点），由调用者另行比较
+     */
+    static void assertSameGraph(Graph<?, ?, ?> expected, Graph<?, ?, ?> actual) {
+        assertEquals(expected.getKind(), actual.getKind());
+        assertEquals(expected.getVertexNum(), actual.getVertexNum());
+        assertEquals(expected.getEdgeNum(), actual.getEdgeNum());
+        for (int i = 0; i < expected.getVertexNum(); i++) {
+            assertEquals(expected.getOutAdjacentVertexIndexes(i), actual.getOutAdjacentVertexIndexes(i), "顶点" + i + "的出邻接点");
+            assertEquals(expected.getInAdjacentVertexIndexes(i), actual.getInAdjacentVertexIndexes(i), "顶点" + i + "的入邻接点");
+            assertEquals(expected.hasEdge(i, i), actual.hasEdge(i, i), "顶点" + i + "的自环");
+            if (expected.isNetwork())
+                for (int j : expected.getOutAdjacentVertexIndexes(i))
+                    assertEquals(expected.getWeightAsDouble(i, j), actual.getWeightAsDouble(i, j), "<" + i + "," + j + ">的权值");
+        }
+        assertArrayEquals(expected.getComponentLabels(), actual.getComponentLabels());
+        assertEquals(expected.getComponentNum(), actual.getComponentNum());
+        assertEquals(expected.isConnectedGraph(), actual.isConnectedGraph());
+    }
+
+    /**
+     * GraphBuilder不生成并发图，逐条复制邻接表中的弧/边
+     */
+    private static <E, T, V> ConcurrentGraph<E, T, V> concurrent(Graph<E, T, V> source) {
+        List<E> vertexes = new ArrayList<>();
+        for (int i = 0; i < source.getVertexNum(); i++)
+            vertexes.add(source.getVertex(i));
+        List<Edge<T, V>> edges = new ArrayList<>(source.getEdges());
+        return new ConcurrentGraph<>(vertexes, edges, source.getKind());
+    }
+}
@@ -0,0 +1,92 @@
+package graph.graphImpl;
+
+import graph.Graph;
+import graph.GraphKind;
+import graph.benchmark.GraphGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import static graph.graphImpl.GraphFixtures.assertSameGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 图文件：write写出后由map映射回来，结构、权值与顶点都应与原图相同
+ */
+class MappedCSRTest {
+    /**
+     * 整数顶点以4字节存放
+     */
+    private static final GraphByMappedCSR.VertexCodec<Integer> INT = new GraphByMappedCSR.VertexCodec<Integer>() {
+        @Override
+        public byte[] encode(Integer vertex) {
+            return ByteBuffer.allocate(4).putInt(vertex).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripWithCodec() throws IOException {
+        for (GraphKind graphKind : GraphKind.values()) {
+            Graph<Integer, Integer, Object> graph = GraphGenerator.random(graphKind, 300, 4, 42).buildAdjacencyList();
+            Path path = dir.resolve(graphKind + ".graph");
+            GraphByMappedCSR.write(graph, path, INT);
+            GraphByMappedCSR<Integer> mapped = GraphByMappedCSR.map(path, INT);
+            assertSameGraph(graph, mapped);
+            for (int i = 0; i < graph.getVertexNum(); i++)
+                assertEquals(graph.getVertex(i), mapped.getVertex(i));
+        }
+    }
+
+    @Test
+    void roundTripAsString() throws IOException {
+        Graph<Integer, Integer, Object> graph = GraphGenerator.powerLaw(GraphKind.DN, 200, 3, 7).buildCSR();
+        Path path = dir.resolve("string.graph");
+        GraphByMappedCSR.write(graph, path);
+        GraphByMappedCSR<String> mapped = GraphByMappedCSR.map(path);
+        assertSameGraph(graph, mapped);
+        for (int i = 0; i < graph.getVertexNum(); i++)
+            assertEquals(String.valueOf(graph.getVertex(i)), mapped.getVertex(i));
+        assertArrayEquals(graph.getShortestDistances(0), mapped.getShortestDistances(0));
+    }
+
+    @Test
+    void rejectsCorruptHeader() throws IOException {
+        Graph<Integer, Integer, Object> graph = GraphGenerator.grid(GraphKind.UDG, 4, 1).buildCSR();
+        Path path = dir.resolve("corrupt.graph");
+        GraphByMappedCSR.write(graph, path, INT);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(8);
+            file.write(new byte[]{9, 0, 0, 0});
+        }
+        RuntimeException e = assertThrows(RuntimeException.class, () -> GraphByMappedCSR.map(path, INT));
+        assertTrue(e.getMessage().contains("图类型"), e.getMessage());
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(0);
+            file.writeInt(0);
+        }
+        assertThrows(RuntimeException.class, () -> GraphByMappedCSR.map(path, INT));
+    }
+
+    @Test
+    void isReadOnly() throws IOException {
+        Graph<Integer, Integer, Object> graph = GraphGenerator.random(GraphKind.DG, 20, 2, 3).buildAdjacentMatrix();
+        Path path = dir.resolve("readonly.graph");
+        GraphByMappedCSR.write(graph, path, INT);
+        GraphByMappedCSR<Integer> mapped = GraphByMappedCSR.map(path, INT);
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addVertex(20));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addEdgeByIndex(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.deleteVertex(0));
+    }
+}
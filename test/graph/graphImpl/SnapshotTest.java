@@ -0,0 +1,251 @@
+package graph.graphImpl;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 写时复制快照：快照与生成时的图相同，之后对图的修改不影响已发布的快照，没有修改时重复返回同一个快照
+ */
+class SnapshotTest {
+    /**
+     * 图的完整描述：顶点、各顶点的出弧/边（含权值与信息）、入邻接点与自环
+     */
+    private static String describe(Graph<?, ?, ?> graph) {
+        StringBuilder description = new StringBuilder();
+        description.append(graph.getVertexNum()).append(' ').append(graph.getEdgeNum()).append('\n');
+        for (int i = 0; i < graph.getVertexNum(); i++) {
+            description.append(graph.getVertex(i)).append(':');
+            List<Integer> out = new ArrayList<>(graph.getOutAdjacentVertexIndexes(i));
+            if (graph.hasEdge(i, i))
+                out.add(i);
+            Collections.sort(out);
+            for (int j : out) {
+                Edge<?, ?> edge = graph.getEdge(i, j);
+                description.append(' ').append(j).append('(').append(graph.isNetwork() ? edge.getWeight() : "")
+                        .append(',').append(edge.getInfo()).append(')');
+            }
+            description.append(" in").append(new TreeSet<>(graph.getInAdjacentVertexIndexes(i))).append('\n');
+        }
+        return description.toString();
+    }
+
+    private static void randomChange(AbstractGraph<Integer, Double, String> graph, Random random, int step) {
+        int vertexNum = graph.getVertexNum();
+        int x = random.nextInt(vertexNum), y = random.nextInt(vertexNum);
+        Double weight = (double) random.nextInt(50);
+        switch (random.nextInt(9)) {
+            case 0:
+            case 1:
+            case 2:
+                graph.addEdgeByIndex(x, y, weight, random.nextBoolean() ? "e" + step : null);
+                break;
+            case 3:
+                if (graph.hasEdge(x, y))
+                    graph.deleteEdge(x, y);
+                break;
+            case 4:
+                if (graph.hasEdge(x, y))
+                    graph.updateEdgeWeight(x, y, weight);
+                break;
+            case 5:
+                if (graph.hasEdge(x, y))
+                    graph.updateEdgeInfo(x, y, "u" + step);
+                break;
+            case 6:
+                graph.setVertex(x, -step);
+                break;
+            case 7:
+                if (random.nextBoolean())
+                    graph.addVertex(step);
+                else
+                    graph.addVertex(x, step);
+                break;
+            default:
+                if (vertexNum > 4)
+                    graph.deleteVertex(x);
+        }
+    }
+
+    @Test
+    void publishedSnapshotsNeverChange() {
+        for (GraphKind graphKind : GraphKind.values())
+            for (AbstractGraph<Integer, Double, String> graph : GraphFixtures.<Integer, String>emptyGraphs(graphKind)) {
+                String name = graph.getClass().getSimpleName() + " " + graphKind;
+                Random random = new Random(graphKind.ordinal());
+                for (int i = 0; i < 12; i++)
+                    graph.addVertex(i);
+                List<Graph<Integer, Double, String>> snapshots = new ArrayList<>();
+                List<String> descriptions = new ArrayList<>();
+                for (int step = 0; step < 300; step++) {
+                    randomChange(graph, random, step);
+                    if (step % 3 == 0) {
+                        Graph<Integer, Double, String> snapshot = graph.snapshot();
+                        String description = describe(graph);
+                        assertEquals(description, describe(snapshot), name + " step " + step);
+                        snapshots.add(snapshot);
+                        descriptions.add(description);
+                    }
+                }
+                for (int k = 0; k < snapshots.size(); k++)
+                    assertEquals(descriptions.get(k), describe(snapshots.get(k)), name + " snapshot " + k);
+            }
+    }
+
+    @Test
+    void unchangedGraphReturnsSameSnapshot() {
+        GraphByAdjacencyList<Integer, Double, String> graph = new GraphByAdjacencyList<>(GraphKind.DN);
+        graph.addVertex(0);
+        graph.addVertex(1);
+        graph.addEdgeByIndex(0, 1, 1.0, null);
+        Graph<Integer, Double, String> snapshot = graph.snapshot();
+        assertSame(snapshot, graph.snapshot());
+        graph.updateEdgeWeight(0, 1, 2.0);
+        Graph<Integer, Double, String> updated = graph.snapshot();
+        assertNotSame(snapshot, updated);
+        assertEquals(1.0, snapshot.getWeightAsDouble(0, 1));
+        assertEquals(2.0, updated.getWeightAsDouble(0, 1));
+    }
+
+    @Test
+    void snapshotIsReadOnly() {
+        GraphByCSR<Integer, Double, String> graph = new GraphByCSR<>(GraphKind.UDG);
+        graph.addVertex(0);
+        graph.addVertex(1);
+        graph.addEdgeByIndex(0, 1);
+        Graph<Integer, Double, String> snapshot = graph.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addVertex(2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setVertex(0, 5));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdgeByIndex(1, 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.deleteEdge(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.deleteVertex(0));
+    }
+
+    @Test
+    void largeGraphSharesUntouchedChunks() {
+        int vertexNum = 3 * SnapshotTracker.CHUNK_SIZE + 7;
+        GraphBuilder<Integer, Double, String> builder = new GraphBuilder<>(GraphKind.DG);
+        for (int i = 0; i < vertexNum; i++)
+            builder.addVertex(i);
+        for (int i = 0; i + 1 < vertexNum; i++)
+            builder.addEdge(i, i + 1);
+        GraphByCSR<Integer, Double, String> graph = builder.buildCSR();
+        Graph<Integer, Double, String> first = graph.snapshot();
+        graph.addEdgeByIndex(vertexNum - 1, 0);
+        graph.deleteEdge(SnapshotTracker.CHUNK_SIZE, SnapshotTracker.CHUNK_SIZE + 1);
+        Graph<Integer, Double, String> second = graph.snapshot();
+        assertEquals(describe(graph), describe(second));
+        assertFalse(first.hasEdge(vertexNum - 1, 0));
+        assertTrue(first.hasEdge(SnapshotTracker.CHUNK_SIZE, SnapshotTracker.CHUNK_SIZE + 1));
+        assertTrue(first.hasPath(0, vertexNum - 1));
+        assertFalse(second.hasPath(0, vertexNum - 1));
+    }
+
+    @Test
+    void readersQuerySnapshotWhileWriterChangesGraph() throws Exception {
+        GraphByAdjacencyList<Integer, Double, String> graph = new GraphByAdjacencyList<>(GraphKind.DN);
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++)
+            graph.addVertex(i);
+        for (int k = 0; k < 800; k++)
+            graph.addEdgeByIndex(random.nextInt(200), random.nextInt(200), (double) random.nextInt(10), null);
+        Graph<Integer, Double, String> snapshot = graph.snapshot();
+        String description = describe(snapshot);
+        double[] distances = snapshot.getShortestDistances(0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++)
+                futures.add(executor.submit(() -> {
+                    for (int k = 0; k < 20; k++)
+                        if (!Arrays.equals(distances, snapshot.getShortestDistances(0)) || !description.equals(describe(snapshot)))
+                            return false;
+                    return true;
+                }));
+            //快照发布之后，写线程继续修改图并生成新的快照
+            for (int step = 0; step < 2000; step++) {
+                int x = random.nextInt(200), y = random.nextInt(200);
+                if (graph.hasEdge(x, y))
+                    graph.deleteEdge(x, y);
+                else
+                    graph.addEdgeByIndex(x, y, (double) random.nextInt(10), null);
+                if (step % 100 == 0)
+                    graph.snapshot();
+            }
+            for (Future<Boolean> future : futures)
+                assertTrue(future.get(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void latestSnapshotSurvivesDiscardedTracker() {
+        GraphByCSR<Integer, Double, String> graph = new GraphByCSR<>(GraphKind.DG);
+        assertNull(graph.latestSnapshot());
+        graph.addVertex(0);
+        graph.addVertex(1);
+        graph.addEdgeByIndex(0, 1);
+        Graph<Integer, Double, String> snapshot = graph.snapshot();
+        assertSame(snapshot, graph.latestSnapshot());
+        //删除顶点丢弃版本跟踪，但已发布的快照仍是最新版本，直到下一次发布
+        graph.deleteVertex(0);
+        assertSame(snapshot, graph.latestSnapshot());
+        Graph<Integer, Double, String> next = graph.snapshot();
+        assertSame(next, graph.latestSnapshot());
+        assertEquals(1, next.getVertexNum());
+        assertSame(snapshot.latestSnapshot(), snapshot);
+    }
+
+    /**
+     * 写线程第r轮追加顶点r与弧<r-1,r>（权值r），并把<0,1>的权值改为r，然后发布；
+     * 读线程只通过latestSnapshot取得版本：每个版本都是某一轮结束时的完整状态，且版本不会倒退
+     */
+    @Test
+    void readersFetchLatestSnapshotWhileWriterPublishes() throws Exception {
+        int rounds = 400;
+        for (AbstractGraph<Integer, Double, String> graph : GraphFixtures.<Integer, String>emptyGraphs(GraphKind.DN)) {
+            String name = graph.getClass().getSimpleName();
+            graph.addVertex(0);
+            graph.snapshot();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++)
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        int last = 0;
+                        while (last < rounds) {
+                            Graph<Integer, Double, String> snapshot = graph.latestSnapshot();
+                            int r = snapshot.getVertexNum() - 1;
+                            if (r < last)
+                                return "版本从" + last + "倒退到" + r;
+                            if (snapshot.getEdgeNum() != r || (r > 0 && (snapshot.getWeightAsDouble(0, 1) != r
+                                    || snapshot.getWeightAsDouble(r - 1, r) != r || snapshot.getShortestDistance(1, r) != (r + 2.0) * (r - 1) / 2)))
+                                return "第" + r + "轮的版本不完整";
+                            last = r;
+                        }
+                        return null;
+                    }));
+                start.countDown();
+                for (int r = 1; r <= rounds; r++) {
+                    graph.addVertex(r);
+                    graph.addEdgeByIndex(r - 1, r, (double) r, null);
+                    graph.updateEdgeWeight(0, 1, (double) r);
+                    graph.snapshot();
+                }
+                for (Future<String> future : futures)
+                    assertNull(future.get(60, TimeUnit.SECONDS), name);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package graph.graphImpl;
+
+import graph.GraphKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 拓扑顺序的增量维护：每次新增弧（包括addEdgesByIndexes批量加入）之后，维护的顺序都必须是合法的拓扑顺序
+ */
+class TopologicalOrderTest {
+    /**
+     * DG与DN下各个支持维护拓扑顺序的实现（并发图不支持），顶点为0..vertexNum-1，均已开启维护
+     */
+    private static List<AbstractGraph<Integer, Double, Object>> graphs(int vertexNum) {
+        List<AbstractGraph<Integer, Double, Object>> graphs = new ArrayList<>();
+        for (GraphKind graphKind : new GraphKind[]{GraphKind.DG, GraphKind.DN})
+            for (AbstractGraph<Integer, Double, Object> graph : GraphFixtures.<Integer, Object>emptyGraphs(graphKind)) {
+                if (graph instanceof ConcurrentGraph)
+                    continue;
+                graph.addVertexes(vertexes(vertexNum));
+                graph.setTopologicalOrderMaintained(true);
+                graphs.add(graph);
+            }
+        return graphs;
+    }
+
+    private static List<Integer> vertexes(int vertexNum) {
+        List<Integer> vertexes = new ArrayList<>();
+        for (int i = 0; i < vertexNum; i++)
+            vertexes.add(i);
+        return vertexes;
+    }
+
+    /**
+     * 维护的顺序是全部顶点的一个排列，且每条弧<u,v>中u都排在v之前
+     */
+    private static void assertTopological(AbstractGraph<?, ?, ?> graph) {
+        int[] order = graph.getTopologicalOrder();
+        String name = graph.getClass().getSimpleName();
+        assertEquals(graph.getVertexNum(), order.length, name);
+        int[] position = new int[order.length];
+        Arrays.fill(position, -1);
+        for (int k = 0; k < order.length; k++) {
+            assertEquals(-1, position[order[k]], name + "：顶点重复出现");
+            position[order[k]] = k;
+        }
+        for (int u = 0; u < graph.getVertexNum(); u++)
+            for (int v : graph.getOutAdjacentVertexIndexes(u))
+                assertTrue(position[u] < position[v], name + "：<" + u + "," + v + ">违反拓扑顺序");
+    }
+
+    private static Set<int[]> batch(int[]... arcs) {
+        return new LinkedHashSet<>(Arrays.asList(arcs));
+    }
+
+    @Test
+    void batchSeesArcsAddedEarlierInTheSameBatch() {
+        for (AbstractGraph<Integer, Double, Object> graph : graphs(3)) {
+            graph.addEdgesByIndexes(batch(new int[]{2, 1}, new int[]{1, 0}));
+            assertArrayEquals(new int[]{2, 1, 0}, graph.getTopologicalOrder(), graph.getClass().getSimpleName());
+            assertArrayEquals(TopologicalOrder.kahn(graph), graph.getTopologicalOrder(), graph.getClass().getSimpleName());
+        }
+        for (AbstractGraph<Integer, Double, Object> graph : graphs(3)) {
+            graph.addEdgesByIndexes(batch(new int[]{1, 0}, new int[]{2, 1}));
+            assertArrayEquals(new int[]{2, 1, 0}, graph.getTopologicalOrder(), graph.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void rejectsArcThatClosesACycle() {
+        for (AbstractGraph<Integer, Double, Object> graph : graphs(3)) {
+            graph.addEdgeByIndex(0, 1);
+            graph.addEdgeByIndex(1, 2);
+            assertThrows(RuntimeException.class, () -> graph.addEdgeByIndex(2, 0), graph.getClass().getSimpleName());
+            assertThrows(RuntimeException.class, () -> graph.addEdgeByIndex(1, 1), graph.getClass().getSimpleName());
+            assertEquals(2, graph.getEdgeNum(), graph.getClass().getSimpleName());
+            assertFalse(graph.hasEdge(2, 0), graph.getClass().getSimpleName());
+            assertTopological(graph);
+        }
+    }
+
+    @Test
+    void randomArcsKeepOrderValid() {
+        Random random = new Random(42);
+        for (AbstractGraph<Integer, Double, Object> graph : graphs(40)) {
+            for (int step = 0; step < 400; step++) {
+                int x = random.nextInt(graph.getVertexNum()), y = random.nextInt(graph.getVertexNum());
+                if (graph.hasEdge(x, y))
+                    continue;
+                if (x == y || graph.hasPath(y, x)) {
+                    int edgeNum = graph.getEdgeNum();
+                    assertThrows(RuntimeException.class, () -> graph.addEdgeByIndex(x, y));
+                    assertEquals(edgeNum, graph.getEdgeNum());
+                } else
+                    graph.addEdgeByIndex(x, y);
+                assertTopological(graph);
+            }
+        }
+    }
+
+    @Test
+    void randomBatchesKeepOrderValid() {
+        Random random = new Random(7);
+        for (AbstractGraph<Integer, Double, Object> graph : graphs(60)) {
+            //按一个隐藏的排列只生成前向的弧，批量加入时不会被拒绝
+            List<Integer> rank = vertexes(60);
+            Collections.shuffle(rank, random);
+            for (int round = 0; round < 20; round++) {
+                Set<int[]> arcs = new LinkedHashSet<>();
+                for (int k = 0; k < 8; k++) {
+                    int x = random.nextInt(60), y = random.nextInt(60);
+                    if (rank.get(x) < rank.get(y) && !graph.hasEdge(x, y))
+                        arcs.add(new int[]{x, y});
+                }
+                graph.addEdgesByIndexes(arcs);
+                assertTopological(graph);
+            }
+            graph.addVertex(60);
+            graph.addEdgeByIndex(60, rank.indexOf(0));
+            assertTopological(graph);
+            graph.deleteVertex(random.nextInt(graph.getVertexNum()));
+            assertTopological(graph);
+        }
+    }
+}